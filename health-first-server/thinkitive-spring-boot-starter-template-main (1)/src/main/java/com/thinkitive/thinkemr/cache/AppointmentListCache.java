@@ -0,0 +1,145 @@
+package com.thinkitive.thinkemr.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinkitive.thinkemr.entity.AppointmentMode;
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import com.thinkitive.thinkemr.entity.AppointmentType;
+import com.thinkitive.thinkemr.event.AppointmentChangedEvent;
+import com.thinkitive.thinkemr.repository.AppointmentListRow;
+import com.thinkitive.thinkemr.repository.AppointmentSortField;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Query results of the appointment list, keyed by the normalized filter, sort and page. Only
+ * the database part of a page is kept: the rows and, in offset mode, the total count. Ages
+ * and the status summary are still derived per request.
+ * <p>
+ * An {@link AppointmentChangedEvent} removes only the entries whose provider, patient, date
+ * range and status filter the changed appointment can fall into; filters the event does not
+ * describe (type, mode, names) are treated as matching. Entries also expire after
+ * {@code thinkemr.appointments.list-cache.ttl}, which bounds how long changes made on other
+ * nodes go unseen. Hit, miss and eviction counts are published as {@code cache.*} metrics
+ * with the tag {@code cache=appointment-list}.
+ */
+@Component
+public class AppointmentListCache {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentListCache.class);
+    private static final String CACHE_NAME = "appointment-list";
+
+    private final Cache<Key, Page> pages;
+    private final Counter invalidations;
+    // Moves before every removal, so a load that overlapped one never stores its result
+    private final AtomicLong changeSequence = new AtomicLong();
+
+    public AppointmentListCache(
+            MeterRegistry meterRegistry,
+            @Value("${thinkemr.appointments.list-cache.maximum-size:10000}") long maximumSize,
+            @Value("${thinkemr.appointments.list-cache.ttl:PT1M}") Duration ttl
+    ) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+        this.invalidations = Counter.builder("appointment.list.cache.invalidations")
+                .description("Cached list pages removed because an appointment they could contain changed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached page for {@code key}, or the result of {@code loader}, which is stored unless an
+     * appointment changed while it ran.
+     */
+    public Page get(Key key, Supplier<Page> loader) {
+        Page cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long sequence = changeSequence.get();
+        Page loaded = loader.get();
+        pages.put(key, loaded);
+        // A change that committed after the load started may have been scanned before the
+        // put above; drop the entry rather than serve rows from before that change
+        if (changeSequence.get() != sequence) {
+            pages.invalidate(key);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        changeSequence.incrementAndGet();
+        LocalDate day = event.dateTime().toLocalDate();
+        // Linear in the number of entries, which maximum-size keeps small
+        long removed = pages.asMap().keySet().stream()
+                .filter(key -> key.canContain(event, day))
+                .filter(key -> pages.asMap().remove(key) != null)
+                .count();
+        if (removed > 0) {
+            invalidations.increment(removed);
+            logger.debug("Removed {} cached list pages after change of appointment {}", removed, event.appointmentId());
+        }
+    }
+
+    /**
+     * For bulk changes to appointments of any provider, such as archiving.
+     */
+    public void invalidateAll() {
+        changeSequence.incrementAndGet();
+        long removed = pages.estimatedSize();
+        pages.invalidateAll();
+        invalidations.increment(removed);
+    }
+
+    /**
+     * One list query. Names are lower-cased and trimmed by the caller so equivalent
+     * requests share an entry; {@code page} is 0 and {@code cursor} set in cursor mode.
+     */
+    public record Key(UUID providerId,
+                      UUID patientId,
+                      AppointmentStatus status,
+                      AppointmentType appointmentType,
+                      AppointmentMode mode,
+                      LocalDate startDate,
+                      LocalDate endDate,
+                      String patientName,
+                      String providerName,
+                      boolean includeArchived,
+                      AppointmentSortField sortField,
+                      Sort.Direction direction,
+                      int page,
+                      int size,
+                      String cursor) {
+
+        boolean canContain(AppointmentChangedEvent event, LocalDate day) {
+            return (providerId == null || providerId.equals(event.providerId()))
+                    && (patientId == null || patientId.equals(event.patientId()))
+                    && (startDate == null || !day.isBefore(startDate))
+                    && (endDate == null || !day.isAfter(endDate))
+                    && (status == null || status == event.status() || status == event.previousStatus());
+        }
+    }
+
+    /**
+     * @param totalItems {@code -1} in cursor mode, where no count is run
+     */
+    public record Page(long totalItems, List<AppointmentListRow> rows) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.thinkitive.thinkemr.cache;
+
+import com.thinkitive.thinkemr.dto.AppointmentListResponse;
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import com.thinkitive.thinkemr.event.AppointmentChangedEvent;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory per-status counts of active appointments, kept globally, per provider and per
+ * calendar day. Counts are moved on every booking and status change, so summaries are O(1)
+ * reads. A periodic reconciliation recounts from the database and replaces the counters,
+ * which corrects drift from changes made outside this JVM.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppointmentStatusCounters {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentStatusCounters.class);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    public AppointmentListResponse.SummaryInfo global() {
+        return snapshot.global.toSummary();
+    }
+
+    public AppointmentListResponse.SummaryInfo forProvider(UUID providerId) {
+        StatusCounts counts = snapshot.byProvider.get(providerId);
+        return counts == null ? StatusCounts.EMPTY_SUMMARY : counts.toSummary();
+    }
+
+    public AppointmentListResponse.SummaryInfo forDay(LocalDate day) {
+        StatusCounts counts = snapshot.byDay.get(day);
+        return counts == null ? StatusCounts.EMPTY_SUMMARY : counts.toSummary();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.previousStatus() == event.status()) {
+            return;
+        }
+        snapshot.apply(event.providerId(), event.dateTime().toLocalDate(), event.previousStatus(), event.status());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        snapshot = load();
+        logger.info("Appointment status counters loaded: {} active appointments", snapshot.global.total());
+    }
+
+    /**
+     * Recounts from the database and swaps in the fresh counters. Changes committed while
+     * the recount runs may be missed or counted twice until the next run.
+     */
+    @Scheduled(fixedDelayString = "${thinkemr.appointments.summary.reconcile-interval-ms:300000}",
+            initialDelayString = "${thinkemr.appointments.summary.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Snapshot fresh = load();
+        Snapshot current = snapshot;
+        long drift = current.global.distanceTo(fresh.global);
+        snapshot = fresh;
+        if (drift > 0) {
+            logger.warn("Appointment status counters drifted by {} and were corrected from the database", drift);
+        }
+    }
+
+    private Snapshot load() {
+        Snapshot loaded = new Snapshot();
+        for (Object[] row : appointmentRepository.getAppointmentStatusCounts()) {
+            loaded.global.add((AppointmentStatus) row[0], (Long) row[1]);
+        }
+        for (Object[] row : appointmentRepository.getAppointmentStatusCountsByProvider()) {
+            loaded.byProvider.computeIfAbsent((UUID) row[0], id -> new StatusCounts())
+                    .add((AppointmentStatus) row[1], (Long) row[2]);
+        }
+        for (Object[] row : appointmentRepository.getAppointmentStatusCountsByDay()) {
+            loaded.byDay.computeIfAbsent((LocalDate) row[0], day -> new StatusCounts())
+                    .add((AppointmentStatus) row[1], (Long) row[2]);
+        }
+        return loaded;
+    }
+
+    private static final class Snapshot {
+        private final StatusCounts global = new StatusCounts();
+        private final Map<UUID, StatusCounts> byProvider = new ConcurrentHashMap<>();
+        private final Map<LocalDate, StatusCounts> byDay = new ConcurrentHashMap<>();
+
+        void apply(UUID providerId, LocalDate day, AppointmentStatus from, AppointmentStatus to) {
+            for (StatusCounts counts : List.of(global,
+                    byProvider.computeIfAbsent(providerId, id -> new StatusCounts()),
+                    byDay.computeIfAbsent(day, d -> new StatusCounts()))) {
+                if (from != null) {
+                    counts.add(from, -1);
+                }
+                counts.add(to, 1);
+            }
+        }
+    }
+
+    private static final class StatusCounts {
+        private static final AppointmentListResponse.SummaryInfo EMPTY_SUMMARY =
+                new AppointmentListResponse.SummaryInfo(0, 0, 0, 0, 0);
+
+        private final AtomicLongArray counts = new AtomicLongArray(AppointmentStatus.values().length);
+
+        void add(AppointmentStatus status, long delta) {
+            counts.addAndGet(status.ordinal(), delta);
+        }
+
+        long get(AppointmentStatus status) {
+            return counts.get(status.ordinal());
+        }
+
+        long total() {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            return total;
+        }
+
+        long distanceTo(StatusCounts other) {
+            long distance = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                distance += Math.abs(counts.get(i) - other.counts.get(i));
+            }
+            return distance;
+        }
+
+        AppointmentListResponse.SummaryInfo toSummary() {
+            return new AppointmentListResponse.SummaryInfo(
+                    total(),
+                    get(AppointmentStatus.SCHEDULED),
+                    get(AppointmentStatus.CHECKED_IN),
+                    get(AppointmentStatus.IN_EXAM),
+                    get(AppointmentStatus.CANCELLED)
+            );
+        }
+    }
+}
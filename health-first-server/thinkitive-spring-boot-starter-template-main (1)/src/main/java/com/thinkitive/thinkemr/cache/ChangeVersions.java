@@ -0,0 +1,123 @@
+package com.thinkitive.thinkemr.cache;
+
+import com.thinkitive.thinkemr.event.AppointmentChangedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters from which read endpoints derive weak ETags, so an unchanged poll is
+ * answered with 304 before any repository call. There is a global appointment version, one
+ * per provider, and one each for the user and provider directories.
+ * <p>
+ * Versions only move after the changing transaction commits: a reader can then pair an old
+ * tag with new data (the next poll simply refetches), but never a new tag with old data.
+ * Each tag also carries this JVM's epoch and a generation that is bumped every
+ * {@code thinkemr.etag.revalidate-interval-ms}, so tags from another node or an earlier run
+ * never match, and changes made by other nodes are picked up within that interval.
+ */
+@Component
+public class ChangeVersions {
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    // Bumped by the revalidation schedule and by changes that touch many providers at once
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong appointments = new AtomicLong();
+    private final ConcurrentHashMap<UUID, AtomicLong> byProvider = new ConcurrentHashMap<>();
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong providers = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        appointments.incrementAndGet();
+        byProvider.computeIfAbsent(event.providerId(), id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * For bulk changes to appointments of any provider, such as archiving.
+     */
+    public void appointmentsChanged() {
+        afterCommit(generation::incrementAndGet);
+    }
+
+    public void usersChanged() {
+        afterCommit(users::incrementAndGet);
+    }
+
+    public void providersChanged() {
+        afterCommit(providers::incrementAndGet);
+    }
+
+    @Scheduled(fixedDelayString = "${thinkemr.etag.revalidate-interval-ms:300000}",
+            initialDelayString = "${thinkemr.etag.revalidate-interval-ms:300000}")
+    public void revalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Appointment list, scoped to one provider when {@code providerId} is set. Includes the
+     * date because patient ages in the list change with it.
+     */
+    public String appointmentListTag(UUID providerId) {
+        long version = providerId == null ? appointments.get() : providerVersion(providerId);
+        return tag("appointments", providerId == null ? "all" : providerId.toString(), version, LocalDate.now());
+    }
+
+    /**
+     * Open slots of one provider. Includes the current slot, because slots that have started
+     * drop out of the response as time passes.
+     */
+    public String providerAvailabilityTag(UUID providerId) {
+        return tag("availability", providerId.toString(), providerVersion(providerId), providers.get(), currentSlot());
+    }
+
+    /**
+     * Open slots of every provider with a specialization.
+     */
+    public String specializationAvailabilityTag() {
+        return tag("availability", "all", appointments.get(), providers.get(), currentSlot());
+    }
+
+    public String usersTag() {
+        return tag("users", users.get());
+    }
+
+    private long providerVersion(UUID providerId) {
+        AtomicLong version = byProvider.get(providerId);
+        return version == null ? 0 : version.get();
+    }
+
+    private static long currentSlot() {
+        return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / ProviderAvailabilityIndex.SLOT_LENGTH.toSeconds();
+    }
+
+    private String tag(Object... parts) {
+        StringBuilder tag = new StringBuilder("W/\"").append(epoch).append('.').append(generation.get());
+        for (Object part : parts) {
+            tag.append('.').append(part);
+        }
+        return tag.append('"').toString();
+    }
+
+    private static void afterCommit(Runnable bump) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump.run();
+            }
+        });
+    }
+}
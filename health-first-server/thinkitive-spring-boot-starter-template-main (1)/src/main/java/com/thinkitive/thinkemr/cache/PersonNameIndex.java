@@ -0,0 +1,235 @@
+package com.thinkitive.thinkemr.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Trigram index over "firstName lastName" for substring search. Each indexed name gets an
+ * ordinal; every three-character window of the lower-cased name maps to a posting list of
+ * ordinals, appended in ascending order. A fragment is looked up by intersecting the posting
+ * lists of its trigrams, smallest first, and confirming each candidate with a plain
+ * {@code contains}, so results match {@code lower(first || ' ' || last) LIKE '%fragment%'}.
+ * <p>
+ * Renaming or removing a person leaves a tombstone at the old ordinal, which is skipped by
+ * searches and costs only memory until the next {@link #reload}.
+ * <p>
+ * Searches return {@code null}, i.e. "use the database", until the first load has finished.
+ */
+public final class PersonNameIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock; replaced wholesale by a reload
+    private List<UUID> ids = new ArrayList<>();
+    private List<String> names = new ArrayList<>();
+    private Map<UUID, Integer> ordinals = new HashMap<>();
+    private Map<Long, Postings> postings = new HashMap<>();
+    private boolean loaded;
+    // Changes made while a reload reads the database, replayed onto its result
+    private List<Consumer<PersonNameIndex>> changesDuringReload;
+
+    public void put(UUID id, String firstName, String lastName) {
+        String name = normalize(firstName + " " + lastName);
+        lock.writeLock().lock();
+        try {
+            if (changesDuringReload != null) {
+                changesDuringReload.add(index -> index.put(id, firstName, lastName));
+            }
+            Integer existing = ordinals.get(id);
+            if (existing != null) {
+                if (name.equals(names.get(existing))) {
+                    return;
+                }
+                names.set(existing, null);
+            }
+            add(id, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringReload != null) {
+                changesDuringReload.add(index -> index.remove(id));
+            }
+            Integer existing = ordinals.remove(id);
+            if (existing != null) {
+                names.set(existing, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or updates many people at once; each entry is {@code {id, firstName, lastName}}.
+     */
+    public void putAll(List<Object[]> entries) {
+        for (Object[] entry : entries) {
+            put((UUID) entry[0], (String) entry[1], (String) entry[2]);
+        }
+    }
+
+    /**
+     * Replaces the contents with everyone {@code loader} reads, each entry being
+     * {@code {id, firstName, lastName}}. Changes made while it reads are applied on top, so
+     * none is lost; searches keep using the previous contents until the swap.
+     */
+    public void reload(Supplier<List<Object[]>> loader) {
+        lock.writeLock().lock();
+        try {
+            changesDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        PersonNameIndex fresh = new PersonNameIndex();
+        try {
+            fresh.putAll(loader.get());
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            changesDuringReload.forEach(change -> change.accept(fresh));
+            changesDuringReload = null;
+            ids = fresh.ids;
+            names = fresh.names;
+            ordinals = fresh.ordinals;
+            postings = fresh.postings;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of everyone whose full name contains the fragment, ignoring case. Returns
+     * {@code null} when more than {@code limit} people match, or before the first load, so
+     * the caller can fall back to a query that does not need the ids.
+     */
+    public Set<UUID> search(String fragment, int limit) {
+        String needle = normalize(fragment);
+        lock.readLock().lock();
+        try {
+            if (!loaded) {
+                return null;
+            }
+            Set<UUID> matches = new HashSet<>();
+            if (needle.length() < 3) {
+                // Too short for a trigram; scan the names, which is still cheap in memory
+                for (int ordinal = 0; ordinal < names.size(); ordinal++) {
+                    if (!collect(ordinal, needle, matches, limit)) {
+                        return null;
+                    }
+                }
+                return matches;
+            }
+
+            List<Postings> lists = new ArrayList<>();
+            for (int i = 0; i + 3 <= needle.length(); i++) {
+                Postings list = postings.get(trigram(needle, i));
+                if (list == null) {
+                    return matches;
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            Postings smallest = lists.get(0);
+            for (int i = 0; i < smallest.size; i++) {
+                int ordinal = smallest.ordinals[i];
+                if (inAll(lists, ordinal) && !collect(ordinal, needle, matches, limit)) {
+                    return null;
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean collect(int ordinal, String needle, Set<UUID> matches, int limit) {
+        String name = names.get(ordinal);
+        if (name != null && name.contains(needle)) {
+            matches.add(ids.get(ordinal));
+            return matches.size() <= limit;
+        }
+        return true;
+    }
+
+    private static boolean inAll(List<Postings> lists, int ordinal) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(ordinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(UUID id, String name) {
+        int ordinal = ids.size();
+        ids.add(id);
+        names.add(name);
+        ordinals.put(id, ordinal);
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            postings.computeIfAbsent(trigram(name, i), key -> new Postings()).append(ordinal);
+        }
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Ascending ordinals; a name repeating a trigram appends its ordinal only once.
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void append(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        boolean contains(int ordinal) {
+            return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+        }
+    }
+}
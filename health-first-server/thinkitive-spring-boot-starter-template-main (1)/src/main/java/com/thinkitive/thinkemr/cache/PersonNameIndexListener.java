@@ -0,0 +1,41 @@
+package com.thinkitive.thinkemr.cache;
+
+import com.thinkitive.thinkemr.entity.Patient;
+import com.thinkitive.thinkemr.entity.Provider;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that mirrors patient and provider names into {@link PersonNameIndexes}.
+ * It runs on flush, before commit, so a rolled-back insert can leave a stale entry behind;
+ * that only adds a candidate id with no appointments. The indexes are looked up lazily
+ * because Hibernate creates this listener while the repositories they need are still being built.
+ */
+public class PersonNameIndexListener {
+    private final ObjectProvider<PersonNameIndexes> indexes;
+
+    public PersonNameIndexListener(ObjectProvider<PersonNameIndexes> indexes) {
+        this.indexes = indexes;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void index(Object entity) {
+        if (entity instanceof Patient patient) {
+            indexes.getObject().patients().put(patient.getId(), patient.getFirstName(), patient.getLastName());
+        } else if (entity instanceof Provider provider) {
+            indexes.getObject().providers().put(provider.getId(), provider.getFirstName(), provider.getLastName());
+        }
+    }
+
+    @PostRemove
+    public void remove(Object entity) {
+        if (entity instanceof Patient patient) {
+            indexes.getObject().patients().remove(patient.getId());
+        } else if (entity instanceof Provider provider) {
+            indexes.getObject().providers().remove(provider.getId());
+        }
+    }
+}
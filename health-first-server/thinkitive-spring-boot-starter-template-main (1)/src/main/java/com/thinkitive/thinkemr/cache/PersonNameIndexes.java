@@ -0,0 +1,51 @@
+package com.thinkitive.thinkemr.cache;
+
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Name search indexes of patients and providers. Loaded at startup and kept current by
+ * {@link PersonNameIndexListener} on every insert, update and delete made through this
+ * node; reloaded every {@code thinkemr.appointments.name-index.reload-interval-ms} to pick
+ * up people registered on other nodes. Until the first load, name filters match in the
+ * database.
+ */
+@Component
+@RequiredArgsConstructor
+public class PersonNameIndexes {
+    private static final Logger logger = LoggerFactory.getLogger(PersonNameIndexes.class);
+
+    private final PatientRepository patientRepository;
+    private final ProviderRepository providerRepository;
+
+    private final PersonNameIndex patients = new PersonNameIndex();
+    private final PersonNameIndex providers = new PersonNameIndex();
+
+    public PersonNameIndex patients() {
+        return patients;
+    }
+
+    public PersonNameIndex providers() {
+        return providers;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+        logger.info("Name search indexes loaded: {} patients, {} providers", patients.size(), providers.size());
+    }
+
+    @Scheduled(fixedDelayString = "${thinkemr.appointments.name-index.reload-interval-ms:600000}",
+            initialDelayString = "${thinkemr.appointments.name-index.reload-interval-ms:600000}")
+    public void reload() {
+        patients.reload(patientRepository::findAllNames);
+        providers.reload(providerRepository::findAllNames);
+    }
+}
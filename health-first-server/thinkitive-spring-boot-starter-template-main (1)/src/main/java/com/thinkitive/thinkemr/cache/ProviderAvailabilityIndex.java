@@ -0,0 +1,168 @@
+package com.thinkitive.thinkemr.cache;
+
+import com.thinkitive.thinkemr.event.AppointmentChangedEvent;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Occupancy bitmaps per provider and calendar day. Bit {@code i} of a day's bitmap is set
+ * when the slot starting {@code i * 30} minutes after midnight cannot be booked, i.e. an
+ * active appointment starts within 30 minutes of it (the booking conflict rule, bounds
+ * inclusive). A day fits in one {@code long}, so free slots are a mask and a few bit scans.
+ * <p>
+ * Missing days are loaded in bulk with one query for all requested providers. Bookings set
+ * bits in cached days after commit; days are reloaded after
+ * {@code thinkemr.availability.ttl} to pick up bookings made by other nodes.
+ */
+@Component
+public class ProviderAvailabilityIndex {
+    public static final Duration SLOT_LENGTH = Duration.ofMinutes(30);
+    public static final int SLOTS_PER_DAY = 48;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderAvailabilityIndex.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final Duration ttl;
+    private final ConcurrentHashMap<Key, DayBitmap> days = new ConcurrentHashMap<>();
+    // When each provider last had a booking applied; guards against caching a load that raced it
+    private final ConcurrentHashMap<UUID, Long> lastBookedAtNanos = new ConcurrentHashMap<>();
+
+    public ProviderAvailabilityIndex(
+            AppointmentRepository appointmentRepository,
+            @Value("${thinkemr.availability.ttl:PT10M}") Duration ttl
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Occupancy bitmaps of each provider for {@code dayCount} days starting at {@code from},
+     * indexed by day offset.
+     */
+    public Map<UUID, long[]> occupancy(Collection<UUID> providerIds, LocalDate from, int dayCount) {
+        long now = System.nanoTime();
+        Map<UUID, long[]> result = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID providerId : providerIds) {
+            long[] bitmaps = new long[dayCount];
+            for (int d = 0; d < dayCount; d++) {
+                DayBitmap cached = days.get(new Key(providerId, from.plusDays(d)));
+                if (cached == null || now - cached.loadedAtNanos() >= ttl.toNanos()) {
+                    missing.add(providerId);
+                    break;
+                }
+                bitmaps[d] = cached.bits();
+            }
+            result.put(providerId, bitmaps);
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(load(missing, from, dayCount));
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (!event.isBooking()) {
+            // Status changes keep the appointment active, so it still blocks its slots
+            return;
+        }
+        lastBookedAtNanos.put(event.providerId(), System.nanoTime());
+        LocalDateTime time = event.dateTime();
+        for (LocalDate day = time.minus(SLOT_LENGTH).toLocalDate();
+             !day.isAfter(time.plus(SLOT_LENGTH).toLocalDate()); day = day.plusDays(1)) {
+            long mask = blockedSlots(day, time);
+            if (mask != 0) {
+                days.computeIfPresent(new Key(event.providerId(), day),
+                        (key, cached) -> new DayBitmap(cached.bits() | mask, cached.loadedAtNanos()));
+            }
+        }
+    }
+
+    /**
+     * Drops past and expired days so the map only holds what queries can still hit.
+     */
+    @Scheduled(fixedDelayString = "${thinkemr.availability.ttl:PT10M}",
+            initialDelayString = "${thinkemr.availability.ttl:PT10M}")
+    public void purge() {
+        LocalDate today = LocalDate.now();
+        long now = System.nanoTime();
+        days.entrySet().removeIf(entry -> entry.getKey().day().isBefore(today)
+                || now - entry.getValue().loadedAtNanos() >= ttl.toNanos());
+        lastBookedAtNanos.values().removeIf(bookedAt -> now - bookedAt >= ttl.toNanos());
+    }
+
+    private Map<UUID, long[]> load(List<UUID> providerIds, LocalDate from, int dayCount) {
+        long loadStartedAt = System.nanoTime();
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = from.plusDays(dayCount).atStartOfDay();
+        // Appointments just outside the range still block the slots at its edges
+        List<Object[]> rows = appointmentRepository.findActiveAppointmentTimesForProviders(
+                providerIds, start.minus(SLOT_LENGTH), end.plus(SLOT_LENGTH));
+
+        Map<UUID, long[]> loaded = new HashMap<>();
+        providerIds.forEach(providerId -> loaded.put(providerId, new long[dayCount]));
+        for (Object[] row : rows) {
+            long[] bitmaps = loaded.get((UUID) row[0]);
+            LocalDateTime time = (LocalDateTime) row[1];
+            // An appointment can only block slots on its own day and the days either side
+            int dayIndex = (int) ChronoUnit.DAYS.between(from, time.toLocalDate());
+            for (int d = Math.max(dayIndex - 1, 0); d <= Math.min(dayIndex + 1, dayCount - 1); d++) {
+                bitmaps[d] |= blockedSlots(from.plusDays(d), time);
+            }
+        }
+
+        loaded.forEach((providerId, bitmaps) -> {
+            Long bookedAt = lastBookedAtNanos.get(providerId);
+            if (bookedAt != null && bookedAt - loadStartedAt >= 0) {
+                // A booking committed while loading and may be missing; serve but do not cache
+                return;
+            }
+            for (int d = 0; d < dayCount; d++) {
+                days.put(new Key(providerId, from.plusDays(d)), new DayBitmap(bitmaps[d], loadStartedAt));
+            }
+        });
+        logger.debug("Loaded availability of {} providers for {} days from {} appointments",
+                providerIds.size(), dayCount, rows.size());
+        return loaded;
+    }
+
+    /**
+     * Slots of {@code day} that an appointment starting at {@code time} blocks: those
+     * starting within one slot length of it, bounds inclusive.
+     */
+    static long blockedSlots(LocalDate day, LocalDateTime time) {
+        long offset = Duration.between(day.atStartOfDay(), time).toNanos();
+        long slot = SLOT_LENGTH.toNanos();
+        // ceil((offset - slot) / slot) .. floor((offset + slot) / slot)
+        long first = Math.max(-Math.floorDiv(slot - offset, slot), 0);
+        long last = Math.min(Math.floorDiv(offset + slot, slot), SLOTS_PER_DAY - 1);
+        if (first > last) {
+            return 0;
+        }
+        return ((1L << (last - first + 1)) - 1) << first;
+    }
+
+    private record Key(UUID providerId, LocalDate day) {
+    }
+
+    private record DayBitmap(long bits, long loadedAtNanos) {
+    }
+}
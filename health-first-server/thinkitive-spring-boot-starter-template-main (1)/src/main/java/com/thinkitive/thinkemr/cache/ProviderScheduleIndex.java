@@ -0,0 +1,162 @@
+package com.thinkitive.thinkemr.cache;
+
+import com.thinkitive.thinkemr.event.AppointmentChangedEvent;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-provider index of upcoming appointment start times, used to answer booking conflict
+ * checks without a database round trip. Each provider's times are a sorted primitive array
+ * of epoch microseconds (the precision the database stores), so a conflict check is one
+ * binary search.
+ * <p>
+ * A provider is loaded lazily on first use and kept current from {@link AppointmentChangedEvent}s
+ * after commit. Entries are reloaded after {@code thinkemr.booking.conflict-index.ttl} so that
+ * bookings written by other nodes are eventually picked up.
+ */
+@Component
+public class ProviderScheduleIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ProviderScheduleIndex.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final Duration ttl;
+    private final ConcurrentHashMap<UUID, ProviderTimes> providers = new ConcurrentHashMap<>();
+
+    public ProviderScheduleIndex(
+            AppointmentRepository appointmentRepository,
+            @Value("${thinkemr.booking.conflict-index.ttl:PT10M}") Duration ttl
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Same rule as {@link AppointmentRepository#existsConflictingAppointment}: an active
+     * appointment starting within {@code buffer} of {@code time}, bounds inclusive.
+     */
+    public boolean hasConflict(UUID providerId, LocalDateTime time, Duration buffer) {
+        return loaded(providerId).anyWithin(toMicros(time.minus(buffer)), toMicros(time.plus(buffer)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (!event.isBooking()) {
+            // Status changes keep the appointment active, so it still blocks its slot
+            return;
+        }
+        ProviderTimes times = providers.get(event.providerId());
+        if (times != null) {
+            times.add(toMicros(event.dateTime()));
+        }
+    }
+
+    public void evict(UUID providerId) {
+        providers.remove(providerId);
+    }
+
+    private ProviderTimes loaded(UUID providerId) {
+        ProviderTimes times = providers.computeIfAbsent(providerId, id -> new ProviderTimes());
+        times.ensureLoaded(providerId);
+        return times;
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    /**
+     * Sorted start times of one provider. All access is guarded by {@code lock}; contention
+     * is limited to requests for the same provider. A lock rather than the monitor, because
+     * loading holds it across a query and a virtual thread blocked inside {@code synchronized}
+     * pins its carrier thread.
+     */
+    private final class ProviderTimes {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] times = new long[0];
+        private int size;
+        private long loadedAtNanos;
+        private boolean loaded;
+
+        void ensureLoaded(UUID providerId) {
+            lock.lock();
+            try {
+                if (loaded && System.nanoTime() - loadedAtNanos < ttl.toNanos()) {
+                    return;
+                }
+                // Bookings are always in the future, so older appointments can never conflict
+                LocalDateTime from = LocalDateTime.now().minusDays(1);
+                List<LocalDateTime> dateTimes = appointmentRepository.findActiveAppointmentTimes(providerId, from);
+                long[] fresh = new long[Math.max(16, dateTimes.size() * 2)];
+                for (int i = 0; i < dateTimes.size(); i++) {
+                    fresh[i] = toMicros(dateTimes.get(i));
+                }
+                Arrays.sort(fresh, 0, dateTimes.size());
+                times = fresh;
+                size = dateTimes.size();
+                loaded = true;
+                loadedAtNanos = System.nanoTime();
+                logger.debug("Loaded {} upcoming appointment times for provider {}", size, providerId);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean anyWithin(long from, long to) {
+            lock.lock();
+            try {
+                int index = lowerBound(from);
+                return index < size && times[index] <= to;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(long time) {
+            lock.lock();
+            try {
+                if (!loaded) {
+                    return;
+                }
+                if (size == times.length) {
+                    times = Arrays.copyOf(times, Math.max(16, size * 2));
+                }
+                int index = lowerBound(time);
+                System.arraycopy(times, index, times, index + 1, size - index);
+                times[index] = time;
+                size++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Index of the first time {@code >= value}, or {@code size} if there is none.
+         */
+        private int lowerBound(long value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
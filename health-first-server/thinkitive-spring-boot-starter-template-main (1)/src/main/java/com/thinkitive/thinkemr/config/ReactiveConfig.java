@@ -0,0 +1,43 @@
+package com.thinkitive.thinkemr.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * The {@code reactive} profile serves {@code /api/v1/appointments/book} and
+ * {@code /api/v1/appointments/list} from {@code ReactiveAppointmentController} on Netty, with
+ * database access over R2DBC; the servlet controllers are not registered. Flyway, the
+ * scheduled jobs and the in-memory caches keep using JDBC and JPA.
+ * <p>
+ * The R2DBC transaction manager is only reachable through the {@link TransactionalOperator}
+ * defined here, not registered as a bean, so {@code @Transactional} still resolves to the
+ * JPA transaction manager.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfig {
+
+    /**
+     * Boot skips its JDBC pool once an R2DBC connection factory exists, so it is declared
+     * here from the same {@code spring.datasource} settings.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
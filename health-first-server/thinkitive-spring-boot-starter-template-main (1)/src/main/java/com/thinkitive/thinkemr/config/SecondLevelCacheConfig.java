@@ -0,0 +1,116 @@
+package com.thinkitive.thinkemr.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate second-level cache for {@code Patient} and {@code Provider}, held in-process by
+ * Caffeine through JCache. Lookups by id ({@code findById}, lazy associations) are served from
+ * the {@code patients} and {@code providers} regions, and lookups by email from the natural-id
+ * regions {@code patient-emails} and {@code provider-emails}.
+ * <p>
+ * Regions are read-write: a change made through JPA replaces the cached entry when its
+ * transaction commits, and JPQL bulk updates clear the whole region. Writes made behind
+ * Hibernate (plain JDBC, R2DBC, another node) are only picked up once the entry expires after
+ * {@code thinkemr.second-level-cache.ttl}. Per region, {@code cache.gets} counts hits and
+ * misses, {@code cache.puts} counts stores and {@code cache.hit.ratio} is the share of hits,
+ * all tagged with {@code cache=<region>}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "thinkemr.second-level-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+    static final List<String> REGIONS = List.of("patients", "patient-emails", "providers", "provider-emails");
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(
+            @Value("${thinkemr.second-level-cache.maximum-size:10000}") long maximumSize,
+            @Value("${thinkemr.second-level-cache.ttl:PT10M}") Duration ttl
+    ) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            // Closed by Hibernate together with the session factory
+            properties.put(ConfigSettings.CACHE_MANAGER, createCacheManager(maximumSize, ttl));
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONS) {
+                FunctionCounter.builder("cache.gets", statistics, regionCount(region, CacheRegionStatistics::getHitCount))
+                        .tags("cache", region, "result", "hit")
+                        .description("Second-level cache lookups that found an entry")
+                        .register(registry);
+                FunctionCounter.builder("cache.gets", statistics, regionCount(region, CacheRegionStatistics::getMissCount))
+                        .tags("cache", region, "result", "miss")
+                        .description("Second-level cache lookups that went to the database")
+                        .register(registry);
+                FunctionCounter.builder("cache.puts", statistics, regionCount(region, CacheRegionStatistics::getPutCount))
+                        .tags("cache", region)
+                        .description("Entries stored in the second-level cache")
+                        .register(registry);
+                Gauge.builder("cache.hit.ratio", statistics, s -> hitRatio(s.getDomainDataRegionStatistics(region)))
+                        .tags("cache", region)
+                        .description("Share of second-level cache lookups that found an entry")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * A cache manager of its own, so several application contexts in one JVM do not share
+     * cached rows.
+     */
+    private static CacheManager createCacheManager(long maximumSize, Duration ttl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("thinkemr:second-level-cache:" + UUID.randomUUID()),
+                SecondLevelCacheConfig.class.getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            // Hibernate caches disassembled state, never handed out directly, so no copies are needed
+            configuration.setStoreByValue(false);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    private static ToDoubleFunction<Statistics> regionCount(String region, ToDoubleFunction<CacheRegionStatistics> count) {
+        return statistics -> count.applyAsDouble(statistics.getDomainDataRegionStatistics(region));
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long lookups = region.getHitCount() + region.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) region.getHitCount() / lookups;
+    }
+}
@@ -1,22 +1,126 @@
 package com.thinkitive.thinkemr.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Configuration
 public class SecurityConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+    // Cheap enough to time quickly, costly enough that timer resolution does not matter
+    private static final int PROBE_STRENGTH = 8;
+
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
         return http.build();
     }
 
+    // Same rules for the reactive profile
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public SecurityWebFilterChain reactiveFilterChain(ServerHttpSecurity http) {
+        http.csrf(csrf -> csrf.disable())
+            .authorizeExchange(exchange -> exchange.anyExchange().permitAll());
+        return http.build();
+    }
+
+    /**
+     * New hashes are written in the configured encoding with an {@code {id}} prefix; hashes in
+     * any supported encoding still match, including the unprefixed BCrypt hashes stored before.
+     * Hashes in another encoding, or in BCrypt outside the tolerated strengths, report
+     * {@code upgradeEncoding} and are replaced on the next successful login.
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            @Value("${thinkemr.password-encoding.encode-with:bcrypt}") String encodeWith,
+            @Value("${thinkemr.password-encoding.bcrypt.strength:0}") int strength,
+            @Value("${thinkemr.password-encoding.bcrypt.target-duration:PT0.25S}") Duration targetDuration,
+            @Value("${thinkemr.password-encoding.bcrypt.min-strength:10}") int minStrength,
+            @Value("${thinkemr.password-encoding.bcrypt.max-strength:14}") int maxStrength,
+            @Value("${thinkemr.password-encoding.bcrypt.rehash-tolerance:1}") int rehashTolerance
+    ) {
+        int bcryptStrength = strength > 0 ? strength : calibrateBCryptStrength(targetDuration, minStrength, maxStrength);
+        // A strength pinned below the minimum is the floor itself
+        int floor = Math.min(minStrength, bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encodeWith, Map.of(
+                "bcrypt", new ToleranceBCryptPasswordEncoder(bcryptStrength, floor, rehashTolerance),
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * Each BCrypt strength step doubles the work, so the strength that takes about the target
+     * time is extrapolated from timing a cheap one. Clamped, so a slow or busy host at startup
+     * cannot drop below the minimum.
+     */
+    static int calibrateBCryptStrength(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+        String hash = probe.encode("calibration");
+        // Warm up, then keep the fastest run: slower ones only measure interference
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long started = System.nanoTime();
+            probe.matches("calibration", hash);
+            long elapsed = System.nanoTime() - started;
+            if (i >= 2) {
+                fastest = Math.min(fastest, elapsed);
+            }
+        }
+        double steps = Math.log((double) target.toNanos() / fastest) / Math.log(2);
+        int strength = Math.max(minStrength, Math.min(maxStrength, PROBE_STRENGTH + (int) Math.round(steps)));
+        logger.info("BCrypt strength {} (about {} ms per hash, target {} ms)", strength,
+                Math.round(fastest * Math.pow(2, strength - PROBE_STRENGTH) / 1_000_000), target.toMillis());
+        return strength;
+    }
+
+    /**
+     * Reports hashes for upgrade when they are weaker than {@code floor} or more than
+     * {@code tolerance} steps from the current strength, weaker or stronger, so lowering
+     * the strength takes effect on login as raising it does. The band keeps nodes whose
+     * calibration lands a step apart, or a node landing on a neighbouring strength after
+     * a restart, from rewriting every hash back and forth.
+     */
+    static class ToleranceBCryptPasswordEncoder extends BCryptPasswordEncoder {
+        private static final Pattern STRENGTH = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+        private final int strength;
+        private final int floor;
+        private final int tolerance;
+
+        ToleranceBCryptPasswordEncoder(int strength, int floor, int tolerance) {
+            super(strength);
+            this.strength = strength;
+            this.floor = floor;
+            this.tolerance = tolerance;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            Matcher matcher = STRENGTH.matcher(encodedPassword == null ? "" : encodedPassword);
+            if (!matcher.matches()) {
+                return false;
+            }
+            int cost = Integer.parseInt(matcher.group(1));
+            return cost < floor || Math.abs(cost - strength) > tolerance;
+        }
     }
-} 
\ No newline at end of file
+}
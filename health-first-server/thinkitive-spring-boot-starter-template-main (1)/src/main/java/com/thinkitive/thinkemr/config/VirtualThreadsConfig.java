@@ -0,0 +1,124 @@
+package com.thinkitive.thinkemr.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code virtual-threads} profile runs Tomcat request handling, async requests (exports
+ * and schedule streams) and scheduled jobs on virtual threads, through Spring Boot's
+ * {@code spring.threads.virtual.enabled}. Boot ignores that setting before Java 21, so the
+ * mode actually in effect is logged at startup.
+ * <p>
+ * Without Tomcat's 200 threads capping concurrency, every request would be admitted and
+ * queue for a database connection. {@link RequestConcurrencyLimitFilter} admits as many
+ * requests at a time as the connection pool holds instead; the rest wait briefly and are
+ * then answered 503.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            logger.warn("Profile virtual-threads is active but Java {} has no virtual threads; "
+                    + "requests run on the platform thread pool", javaVersion);
+        } else {
+            logger.info("Requests, async requests and scheduled jobs run on virtual threads");
+        }
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${thinkemr.virtual-threads.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRequests,
+            @Value("${thinkemr.virtual-threads.max-queue-wait:PT1S}") Duration maxQueueWait
+    ) {
+        logger.info("Admitting at most {} concurrent requests", maxConcurrentRequests);
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestConcurrencyLimitFilter(maxConcurrentRequests, maxQueueWait, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Admits at most {@code maxConcurrentRequests} requests into the application at a time;
+     * a request that finds no room within {@code maxQueueWait} gets a 503 with Retry-After.
+     * The permit is held while the request runs on its request thread, so the work an async
+     * request does afterwards (an export, a schedule stream) is not counted. Actuator
+     * endpoints are always admitted, so health checks keep answering under load.
+     */
+    static class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+        private static final String REJECTED_BODY = "{\"error\":\"Too many requests, please retry shortly\"}";
+
+        private final Semaphore permits;
+        private final long maxQueueWaitNanos;
+        private final Counter rejected;
+
+        RequestConcurrencyLimitFilter(int maxConcurrentRequests, Duration maxQueueWait, MeterRegistry meterRegistry) {
+            // Fair, so a request waiting for a permit is not overtaken by later arrivals
+            this.permits = new Semaphore(maxConcurrentRequests, true);
+            this.maxQueueWaitNanos = maxQueueWait.toNanos();
+            this.rejected = Counter.builder("http.server.requests.rejected")
+                    .description("Requests answered 503 because the concurrency limit stayed reached")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            boolean admitted;
+            try {
+                admitted = permits.tryAcquire(maxQueueWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                admitted = false;
+            }
+            if (!admitted) {
+                rejected.increment();
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write(REJECTED_BODY);
+                return;
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
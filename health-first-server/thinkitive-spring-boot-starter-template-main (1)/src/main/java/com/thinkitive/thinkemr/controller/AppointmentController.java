@@ -1,12 +1,18 @@
 package com.thinkitive.thinkemr.controller;
 
+import com.thinkitive.thinkemr.cache.ChangeVersions;
+import com.thinkitive.thinkemr.dto.AppointmentBatchBookingRequest;
+import com.thinkitive.thinkemr.dto.AppointmentBatchBookingResponse;
 import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
 import com.thinkitive.thinkemr.dto.AppointmentBookingResponse;
 import com.thinkitive.thinkemr.dto.AppointmentListRequest;
 import com.thinkitive.thinkemr.dto.AppointmentListResponse;
+import com.thinkitive.thinkemr.dto.AppointmentStatusUpdateRequest;
+import com.thinkitive.thinkemr.dto.AppointmentStatusUpdateResponse;
 import com.thinkitive.thinkemr.entity.Appointment;
 import com.thinkitive.thinkemr.repository.AppointmentRepository;
 import com.thinkitive.thinkemr.service.AppointmentService;
+import com.thinkitive.thinkemr.util.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -17,15 +23,22 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/appointments")
 @RequiredArgsConstructor
 @Tag(name = "Appointment Booking", description = "APIs for appointment booking")
@@ -33,6 +46,7 @@ public class AppointmentController {
     private static final Logger logger = LoggerFactory.getLogger(AppointmentController.class);
     private final AppointmentService appointmentService;
     private final AppointmentRepository appointmentRepository;
+    private final ChangeVersions changeVersions;
 
     @PostMapping("/book")
     @Operation(
@@ -68,6 +82,69 @@ public class AppointmentController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/book/batch")
+    @Operation(
+        summary = "Book appointments in bulk", 
+        description = "Books up to 500 appointments in one transaction, either all or nothing or as many as pass validation"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201", 
+            description = "All appointments booked successfully",
+            content = @Content(schema = @Schema(implementation = AppointmentBatchBookingResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "207", 
+            description = "Partial success - some appointments booked, see per-item results",
+            content = @Content(schema = @Schema(implementation = AppointmentBatchBookingResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Bad Request - Invalid input or format"
+        ),
+        @ApiResponse(
+            responseCode = "422", 
+            description = "Unprocessable Entity - No appointments booked, see per-item results",
+            content = @Content(schema = @Schema(implementation = AppointmentBatchBookingResponse.class))
+        )
+    })
+    public ResponseEntity<AppointmentBatchBookingResponse> bookAppointments(
+            @Valid @RequestBody AppointmentBatchBookingRequest request) {
+        AppointmentBatchBookingResponse response = appointmentService.bookAppointments(request);
+        HttpStatus status;
+        if (response.getData().getFailed() == 0) {
+            status = HttpStatus.CREATED;
+        } else if (response.getData().getBooked() > 0) {
+            status = HttpStatus.MULTI_STATUS;
+        } else {
+            status = HttpStatus.UNPROCESSABLE_ENTITY;
+        }
+        return new ResponseEntity<>(response, status);
+    }
+
+    @PatchMapping("/{appointmentId}/status")
+    @Operation(
+        summary = "Update appointment status", 
+        description = "Moves an appointment to a new status (check-in, exam, cancellation)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Appointment status updated successfully",
+            content = @Content(schema = @Schema(implementation = AppointmentStatusUpdateResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Bad Request - Unknown appointment or invalid transition"
+        )
+    })
+    public ResponseEntity<AppointmentStatusUpdateResponse> updateAppointmentStatus(
+            @PathVariable UUID appointmentId,
+            @Valid @RequestBody AppointmentStatusUpdateRequest request) {
+        AppointmentStatusUpdateResponse response = appointmentService.updateAppointmentStatus(appointmentId, request.getStatus());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/list")
     @Operation(
         summary = "List appointments", 
@@ -79,6 +156,10 @@ public class AppointmentController {
             description = "Appointments retrieved successfully",
             content = @Content(schema = @Schema(implementation = AppointmentListResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "304", 
+            description = "Not Modified - Nothing changed since the ETag sent in If-None-Match"
+        ),
         @ApiResponse(
             responseCode = "400", 
             description = "Bad Request - Invalid parameters"
@@ -89,14 +170,45 @@ public class AppointmentController {
         )
     })
     public ResponseEntity<AppointmentListResponse> listAppointments(
-            @ModelAttribute AppointmentListRequest request) {
-        try {
-            AppointmentListResponse response = appointmentService.listAppointments(request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Error listing appointments: ", e);
-            throw e;
-        }
+            @ModelAttribute AppointmentListRequest request,
+            WebRequest webRequest) {
+        return ConditionalGet.okUnlessNotModified(webRequest, changeVersions.appointmentListTag(request.getProviderId()), () -> {
+            try {
+                return appointmentService.listAppointments(request);
+            } catch (Exception e) {
+                logger.error("Error listing appointments: ", e);
+                throw e;
+            }
+        });
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export appointments", 
+        description = "Streams every appointment matching the list filters as NDJSON or CSV, without paging"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Export streamed successfully"
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Bad Request - Invalid parameters"
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @ModelAttribute AppointmentListRequest request,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.fromRequestName(format);
+        // Bad parameters get a 400 here, before the response is committed
+        appointmentService.checkExportRequest(request);
+        StreamingResponseBody body = output -> appointmentService.exportAppointments(request, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"appointments." + exportFormat.getFileExtension() + "\"")
+                .body(body);
     }
 
     @GetMapping("/test")
@@ -0,0 +1,25 @@
+package com.thinkitive.thinkemr.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for read endpoints tagged by {@link com.thinkitive.thinkemr.cache.ChangeVersions}.
+ * If the client's If-None-Match still matches the tag, the request is answered 304 before the
+ * body is computed, so an unchanged poll never touches the database.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> okUnlessNotModified(WebRequest webRequest, String etag, Supplier<T> body) {
+        if (webRequest.checkNotModified(etag)) {
+            // The 304 and its ETag are already set on the response; null tells MVC it is handled
+            return null;
+        }
+        return ResponseEntity.ok(body.get());
+    }
+}
@@ -1,26 +1,46 @@
 package com.thinkitive.thinkemr.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinkitive.thinkemr.dto.PatientImportResult;
 import com.thinkitive.thinkemr.dto.PatientRegistrationRequest;
 import com.thinkitive.thinkemr.dto.PatientRegistrationResponse;
 import com.thinkitive.thinkemr.dto.PatientLoginRequest;
 import com.thinkitive.thinkemr.dto.PatientLoginResponse;
+import com.thinkitive.thinkemr.service.PatientImportService;
 import com.thinkitive.thinkemr.service.PatientService;
 import com.thinkitive.thinkemr.service.PatientAuthService;
+import com.thinkitive.thinkemr.util.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/patient")
 @RequiredArgsConstructor
 @Tag(name = "Patient Registration", description = "APIs for patient registration")
 public class PatientController {
     private final PatientService patientService;
     private final PatientAuthService patientAuthService;
+    private final PatientImportService patientImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/register")
     @Operation(summary = "Register a new patient", description = "Registers a patient and returns patient ID, email, phone, and verification status.")
@@ -30,6 +50,32 @@ public class PatientController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    @Operation(summary = "Bulk import patients", description = "Registers every patient of an NDJSON or CSV upload and streams back one NDJSON result per row. CSV columns are matched by header name: firstName, lastName, email, phoneNumber, password, dateOfBirth, gender, street, city, state, zip, and optionally confirmPassword, emergencyContactName, emergencyContactPhone, emergencyContactRelationship, insuranceProvider, policyNumber and medicalHistory (entries separated by |).")
+    public ResponseEntity<StreamingResponseBody> importPatients(HttpServletRequest request) throws IOException {
+        ExportFormat format = ExportFormat.fromContentType(request.getContentType());
+        Stream<List<PatientImportResult>> results = patientImportService.importPatients(request.getInputStream(), format);
+        StreamingResponseBody body = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            try (results) {
+                for (List<PatientImportResult> batch : (Iterable<List<PatientImportResult>>) results::iterator) {
+                    for (PatientImportResult result : batch) {
+                        writer.write(objectMapper.writeValueAsString(result));
+                        writer.write('\n');
+                    }
+                    // Results of a batch go out as soon as it is committed
+                    writer.flush();
+                }
+            } catch (UncheckedIOException e) {
+                // The upload could not be read
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportFormat.NDJSON.getContentType()))
+                .body(body);
+    }
+
     @PostMapping("/login")
     @Operation(summary = "Patient login", description = "Authenticate patient and return JWT access token.")
     public ResponseEntity<PatientLoginResponse> login(@Valid @RequestBody PatientLoginRequest request) {
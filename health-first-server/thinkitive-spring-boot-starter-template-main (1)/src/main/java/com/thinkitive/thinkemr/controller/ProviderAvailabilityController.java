@@ -0,0 +1,81 @@
+package com.thinkitive.thinkemr.controller;
+
+import com.thinkitive.thinkemr.cache.ChangeVersions;
+import com.thinkitive.thinkemr.dto.ProviderAvailabilityResponse;
+import com.thinkitive.thinkemr.entity.Specialization;
+import com.thinkitive.thinkemr.service.ProviderAvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/providers")
+@RequiredArgsConstructor
+@Tag(name = "Provider Availability", description = "APIs for finding open appointment slots")
+public class ProviderAvailabilityController {
+    private final ProviderAvailabilityService availabilityService;
+    private final ChangeVersions changeVersions;
+
+    @GetMapping("/{providerId}/availability")
+    @Operation(
+        summary = "Get provider availability", 
+        description = "Lists the open 30-minute slots of a provider between two dates (inclusive, at most 31 days)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Availability retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ProviderAvailabilityResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Bad Request - Unknown provider or invalid date range"
+        )
+    })
+    public ResponseEntity<ProviderAvailabilityResponse> getProviderAvailability(
+            @PathVariable UUID providerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
+        return ConditionalGet.okUnlessNotModified(webRequest, changeVersions.providerAvailabilityTag(providerId),
+                () -> availabilityService.getProviderAvailability(providerId, from, to));
+    }
+
+    @GetMapping("/availability")
+    @Operation(
+        summary = "Get availability by specialization", 
+        description = "Lists the open 30-minute slots of every active provider with the given specialization"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Availability retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ProviderAvailabilityResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Bad Request - Invalid specialization or date range"
+        )
+    })
+    public ResponseEntity<ProviderAvailabilityResponse> getSpecializationAvailability(
+            @RequestParam Specialization specialization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest webRequest) {
+        return ConditionalGet.okUnlessNotModified(webRequest, changeVersions.specializationAvailabilityTag(),
+                () -> availabilityService.getSpecializationAvailability(specialization, from, to));
+    }
+}
@@ -0,0 +1,52 @@
+package com.thinkitive.thinkemr.controller;
+
+import com.thinkitive.thinkemr.dto.ProviderScheduleAgenda;
+import com.thinkitive.thinkemr.service.ProviderScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1/providers")
+@RequiredArgsConstructor
+@Tag(name = "Provider Schedule", description = "Live provider schedule feed")
+public class ProviderScheduleController {
+    private final ProviderScheduleService scheduleService;
+
+    @GetMapping(value = "/{providerId}/schedule/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream provider schedule", 
+        description = "Server-Sent Events feed of one day of a provider's schedule: an 'agenda' event with every " +
+                      "appointment of the day, then 'booked', 'status_changed' and 'cancelled' events as they happen"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Stream opened",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = ProviderScheduleAgenda.class))
+        ),
+        @ApiResponse(
+            responseCode = "400", 
+            description = "Bad Request - Unknown provider"
+        )
+    })
+    public SseEmitter streamSchedule(
+            @PathVariable UUID providerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return scheduleService.openScheduleStream(providerId, date);
+    }
+}
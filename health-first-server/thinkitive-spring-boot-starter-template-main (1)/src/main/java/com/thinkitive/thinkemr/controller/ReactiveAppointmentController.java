@@ -0,0 +1,44 @@
+package com.thinkitive.thinkemr.controller;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.dto.AppointmentBookingResponse;
+import com.thinkitive.thinkemr.dto.AppointmentListRequest;
+import com.thinkitive.thinkemr.dto.AppointmentListResponse;
+import com.thinkitive.thinkemr.service.ReactiveAppointmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Booking and listing for the {@code reactive} profile, on the paths of
+ * {@link AppointmentController}. The list is streamed as NDJSON, one appointment per line,
+ * and is read from the database only as fast as the client consumes it.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/appointments")
+@RequiredArgsConstructor
+@Tag(name = "Appointment Booking (reactive)", description = "Non-blocking appointment booking and listing")
+public class ReactiveAppointmentController {
+    private final ReactiveAppointmentService appointmentService;
+
+    @PostMapping("/book")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Book an appointment", description = "Books an appointment with the same rules as the blocking endpoint")
+    public Mono<AppointmentBookingResponse> bookAppointment(@Valid @RequestBody AppointmentBookingRequest request) {
+        return appointmentService.bookAppointment(request);
+    }
+
+    @GetMapping(value = "/list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream appointments", description = "Streams every appointment matching the list filters as NDJSON")
+    public Flux<AppointmentListResponse.AppointmentItem> listAppointments(@ModelAttribute AppointmentListRequest request) {
+        return appointmentService.streamAppointments(request);
+    }
+}
@@ -1,20 +1,25 @@
 package com.thinkitive.thinkemr.controller;
 
+import com.thinkitive.thinkemr.cache.ChangeVersions;
 import com.thinkitive.thinkemr.entity.User;
 import com.thinkitive.thinkemr.service.UserService;
 import com.thinkitive.thinkemr.dto.UserCreateRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ChangeVersions changeVersions;
 
     @PostMapping
     public ResponseEntity<User> createUser(@Valid @RequestBody UserCreateRequest request) {
@@ -22,12 +27,12 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<User> getUserById(@PathVariable Long id, WebRequest webRequest) {
+        return ConditionalGet.okUnlessNotModified(webRequest, changeVersions.usersTag(), () -> userService.getUserById(id));
     }
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<User>> getAllUsers(WebRequest webRequest) {
+        return ConditionalGet.okUnlessNotModified(webRequest, changeVersions.usersTag(), userService::getAllUsers);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.thinkitive.thinkemr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class AppointmentBatchBookingRequest {
+    @Schema(required = true, description = "Appointments to book, at most 500 per request")
+    @NotEmpty(message = "Appointments list cannot be empty")
+    @Size(max = 500, message = "A batch can contain at most 500 appointments")
+    private List<@Valid @NotNull AppointmentBookingRequest> appointments;
+
+    @Schema(example = "true", description = "Book every appointment or none (true), or book those that pass validation (false)")
+    private Boolean allOrNothing = true;
+}
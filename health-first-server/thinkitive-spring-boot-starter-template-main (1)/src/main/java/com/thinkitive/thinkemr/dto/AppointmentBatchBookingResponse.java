@@ -0,0 +1,68 @@
+package com.thinkitive.thinkemr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class AppointmentBatchBookingResponse {
+    @Schema(example = "true")
+    private boolean success;
+
+    @Schema(example = "Booked 2 of 2 appointments")
+    private String message;
+
+    @Schema(example = "2024-01-15T10:00:00")
+    private LocalDateTime timestamp;
+
+    private Data data;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Data {
+        @Schema(example = "2")
+        private int requested;
+
+        @Schema(example = "2")
+        private int booked;
+
+        @Schema(example = "0")
+        private int failed;
+
+        private List<ItemResult> results;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class ItemResult {
+        @Schema(example = "0", description = "Position of the appointment in the request")
+        private int index;
+
+        @Schema(example = "true")
+        private boolean success;
+
+        @Schema(example = "789e0123-e89b-12d3-a456-426614174002")
+        private UUID appointmentId;
+
+        @Schema(example = "123e4567-e89b-12d3-a456-426614174000")
+        private UUID patientId;
+
+        @Schema(example = "456e7890-e89b-12d3-a456-426614174001")
+        private UUID providerId;
+
+        @Schema(example = "scheduled", description = "Status of the booked appointment, or \"failed\"")
+        private String status;
+
+        @Schema(example = "Appointment time conflicts with existing appointment for this provider")
+        private String error;
+    }
+}
@@ -19,6 +19,12 @@ public class AppointmentListRequest {
     @Schema(example = "10", description = "Number of items per page")
     private Integer size = 10;
 
+    @Schema(example = "offset", description = "Pagination mode: offset (page/size) or cursor (keyset seek from a cursor)")
+    private String paginationMode = "offset";
+
+    @Schema(description = "Opaque cursor returned as nextCursor/prevCursor by a previous cursor-mode page; implies cursor mode")
+    private String cursor;
+
     @Schema(example = "dateTime", description = "Sort field: dateTime, patientName, providerName, status")
     private String sortBy = "dateTime";
 
@@ -51,4 +57,7 @@ public class AppointmentListRequest {
 
     @Schema(example = "96b027ba-bb30-4cff-a22b-4f878ec493e2", description = "Filter by specific patient ID")
     private UUID patientId;
+
+    @Schema(example = "false", description = "Also return past visits that have been moved to the archive")
+    private Boolean includeArchived = false;
 } 
\ No newline at end of file
@@ -95,16 +95,16 @@ public class AppointmentListResponse {
     @Setter
     @AllArgsConstructor
     public static class PaginationInfo {
-        @Schema(example = "1")
+        @Schema(example = "1", description = "Current page (1-based); 0 in cursor mode")
         private int currentPage;
 
         @Schema(example = "10")
         private int pageSize;
 
-        @Schema(example = "100")
+        @Schema(example = "100", description = "Total matching items; -1 in cursor mode")
         private long totalItems;
 
-        @Schema(example = "10")
+        @Schema(example = "10", description = "Total pages; -1 in cursor mode")
         private int totalPages;
 
         @Schema(example = "true")
@@ -112,6 +112,12 @@ public class AppointmentListResponse {
 
         @Schema(example = "false")
         private boolean hasPrevious;
+
+        @Schema(description = "Cursor for the following page in cursor mode, null when there is none")
+        private String nextCursor;
+
+        @Schema(description = "Cursor for the preceding page in cursor mode, null when there is none")
+        private String prevCursor;
     }
 
     @Getter
@@ -0,0 +1,15 @@
+package com.thinkitive.thinkemr.dto;
+
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class AppointmentStatusUpdateRequest {
+    @Schema(example = "CHECKED_IN", required = true)
+    @NotNull
+    private AppointmentStatus status;
+}
@@ -0,0 +1,39 @@
+package com.thinkitive.thinkemr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one row of a bulk patient import, streamed back as one NDJSON line per row.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class PatientImportResult {
+    @Schema(example = "1", description = "Position of the row in the input, counting from 1 and skipping the CSV header and blank lines")
+    private long row;
+
+    @Schema(example = "true")
+    private boolean success;
+
+    @Schema(example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID patientId;
+
+    @Schema(example = "jane.smith@email.com")
+    private String email;
+
+    @Schema(example = "Email is already registered")
+    private String error;
+
+    public static PatientImportResult imported(long row, UUID patientId, String email) {
+        return new PatientImportResult(row, true, patientId, email, null);
+    }
+
+    public static PatientImportResult failed(long row, String email, String error) {
+        return new PatientImportResult(row, false, null, email, error);
+    }
+}
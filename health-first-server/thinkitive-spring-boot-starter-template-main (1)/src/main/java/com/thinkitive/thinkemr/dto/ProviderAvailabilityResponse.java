@@ -0,0 +1,60 @@
+package com.thinkitive.thinkemr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class ProviderAvailabilityResponse {
+    @Schema(example = "true")
+    private boolean success;
+
+    @Schema(example = "Availability retrieved successfully")
+    private String message;
+
+    @Schema(example = "2024-01-15T10:00:00")
+    private LocalDateTime timestamp;
+
+    private Data data;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Data {
+        @Schema(example = "2024-01-15")
+        private LocalDate from;
+
+        @Schema(example = "2024-01-21")
+        private LocalDate to;
+
+        @Schema(example = "30", description = "Length of each slot in minutes")
+        private long slotMinutes;
+
+        private List<ProviderSlots> providers;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class ProviderSlots {
+        @Schema(example = "456e7890-e89b-12d3-a456-426614174001")
+        private UUID providerId;
+
+        @Schema(example = "Dr. Jennifer Martinez")
+        private String providerName;
+
+        @Schema(example = "CARDIOLOGY")
+        private String specialization;
+
+        @Schema(example = "[\"2024-01-15T09:00:00\", \"2024-01-15T09:30:00\"]", description = "Start times of open slots")
+        private List<LocalDateTime> availableSlots;
+    }
+}
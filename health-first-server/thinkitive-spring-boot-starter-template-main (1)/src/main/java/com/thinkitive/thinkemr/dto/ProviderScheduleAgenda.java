@@ -0,0 +1,31 @@
+package com.thinkitive.thinkemr.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * First event of a provider schedule stream ({@code event: agenda}): every appointment of
+ * the provider on the streamed day, in time order.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class ProviderScheduleAgenda {
+    @Schema(example = "456e7890-e89b-12d3-a456-426614174001")
+    private UUID providerId;
+
+    @Schema(example = "2024-01-15")
+    private LocalDate date;
+
+    @Schema(example = "2024-01-15T08:00:00")
+    private LocalDateTime timestamp;
+
+    private List<AppointmentListResponse.AppointmentItem> appointments;
+}
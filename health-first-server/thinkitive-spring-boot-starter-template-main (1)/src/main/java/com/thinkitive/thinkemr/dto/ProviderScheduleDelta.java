@@ -0,0 +1,36 @@
+package com.thinkitive.thinkemr.dto;
+
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A change to one appointment on the streamed day, sent after the agenda as
+ * {@code event: booked}, {@code event: status_changed} or {@code event: cancelled}.
+ * Deltas are keyed by appointment id and carry the full current item, so applying one
+ * twice is harmless.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class ProviderScheduleDelta {
+    @Schema(example = "booked", description = "booked, status_changed or cancelled")
+    private String type;
+
+    @Schema(example = "789e0123-e89b-12d3-a456-426614174002")
+    private UUID appointmentId;
+
+    @Schema(example = "SCHEDULED", description = "Status before the change; absent for a booking")
+    private AppointmentStatus previousStatus;
+
+    @Schema(example = "2024-01-15T10:00:00")
+    private LocalDateTime timestamp;
+
+    @Schema(description = "The appointment as it is after the change")
+    private AppointmentListResponse.AppointmentItem appointment;
+}
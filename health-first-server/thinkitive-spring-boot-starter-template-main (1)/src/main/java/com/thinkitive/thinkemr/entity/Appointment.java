@@ -1,79 +1,21 @@
 package com.thinkitive.thinkemr.entity;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
-
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.UUID;
+import lombok.experimental.SuperBuilder;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", uniqueConstraints = {
+    // One appointment per provider and start time; also serves (provider_id, date_time) lookups
+    @UniqueConstraint(name = "uk_appointments_provider_date_time", columnNames = {"provider_id", "date_time"})
+}, indexes = {
+    @Index(name = "idx_appointments_patient_date_time", columnList = "patient_id, date_time"),
+    @Index(name = "idx_appointments_status_date_time", columnList = "status, date_time"),
+    @Index(name = "idx_appointments_date_time_id", columnList = "date_time, id")
+})
 @Getter
 @Setter
-@Builder
+@SuperBuilder
 @NoArgsConstructor
-@AllArgsConstructor
-public class Appointment {
-    @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
-    private UUID id;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "patient_id", nullable = false)
-    @NotNull
-    private Patient patient;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "provider_id", nullable = false)
-    @NotNull
-    private Provider provider;
-
-    @Enumerated(EnumType.STRING)
-    @Column(name = "appointment_type", nullable = false, length = 20)
-    @NotNull
-    private AppointmentType appointmentType;
-
-    @Enumerated(EnumType.STRING)
-    @Column(name = "mode", nullable = false, length = 20)
-    @NotNull
-    private AppointmentMode mode;
-
-    @Column(name = "date_time", nullable = false)
-    @NotNull
-    private LocalDateTime dateTime;
-
-    @Column(name = "reason_for_visit", nullable = false, length = 250)
-    @NotBlank
-    @Size(min = 5, max = 250)
-    private String reasonForVisit;
-
-    @Column(name = "estimated_amount", nullable = false, precision = 10, scale = 2)
-    @NotNull
-    @DecimalMin(value = "0.01", message = "Estimated amount must be positive")
-    @DecimalMax(value = "10000.00", message = "Estimated amount cannot exceed $10,000")
-    private BigDecimal estimatedAmount;
-
-    @Embedded
-    @NotNull
-    private ClinicAddress clinicAddress;
-
-    @Enumerated(EnumType.STRING)
-    @Column(name = "status", nullable = false, length = 20)
-    @NotNull
-    private AppointmentStatus status = AppointmentStatus.SCHEDULED;
-
-    @Column(name = "is_active", nullable = false)
-    private Boolean isActive = true;
-
-    @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
-    private LocalDateTime createdAt;
-
-    @UpdateTimestamp
-    @Column(name = "updated_at")
-    private LocalDateTime updatedAt;
-} 
\ No newline at end of file
+public class Appointment extends AppointmentRecord {
+}
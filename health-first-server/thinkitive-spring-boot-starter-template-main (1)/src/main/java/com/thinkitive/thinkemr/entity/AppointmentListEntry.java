@@ -0,0 +1,110 @@
+package com.thinkitive.thinkemr.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read model of the appointment list: one row per live appointment, with the patient and
+ * provider columns and the display values the list shows copied in, so list reads scan a
+ * single table without joins. Written in the same transaction as the {@link Appointment}
+ * it mirrors; archived appointments are removed. Attribute paths match
+ * {@link AppointmentRecord}, so the list specifications apply to this type as well.
+ */
+@Entity
+@Table(name = "appointment_list_entries", indexes = {
+    @Index(name = "idx_appointment_list_entries_provider_date_time", columnList = "provider_id, date_time"),
+    @Index(name = "idx_appointment_list_entries_patient_date_time", columnList = "patient_id, date_time"),
+    @Index(name = "idx_appointment_list_entries_date_time_id", columnList = "date_time, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class AppointmentListEntry implements Persistable<UUID> {
+    // Same id as the appointment
+    @Id
+    private UUID id;
+
+    @Embedded
+    private ListedPatient patient;
+
+    @Embedded
+    private ListedProvider provider;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "appointment_type", nullable = false, length = 20)
+    private AppointmentType appointmentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 20)
+    private AppointmentMode mode;
+
+    @Column(name = "date_time", nullable = false)
+    private LocalDateTime dateTime;
+
+    @Column(name = "reason_for_visit", nullable = false, length = 250)
+    private String reasonForVisit;
+
+    @Column(name = "estimated_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal estimatedAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private AppointmentStatus status;
+
+    @Column(name = "can_start", nullable = false)
+    private boolean canStart;
+
+    @Column(name = "can_edit", nullable = false)
+    private boolean canEdit;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive;
+
+    // The id is assigned, so save() would otherwise merge, selecting the row before inserting it
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    /**
+     * Entry for a newly saved appointment; its patient and provider must be loaded.
+     */
+    public AppointmentListEntry(Appointment appointment) {
+        this(appointment, new ListedPatient(appointment.getPatient()), new ListedProvider(appointment.getProvider()));
+    }
+
+    /**
+     * Entry for a newly saved appointment whose patient and provider columns were read
+     * separately, so its patient and provider may be unloaded references.
+     */
+    public AppointmentListEntry(Appointment appointment, ListedPatient patient, ListedProvider provider) {
+        this.id = appointment.getId();
+        this.patient = patient;
+        this.provider = provider;
+        this.appointmentType = appointment.getAppointmentType();
+        this.mode = appointment.getMode();
+        this.dateTime = appointment.getDateTime();
+        this.reasonForVisit = appointment.getReasonForVisit();
+        this.estimatedAmount = appointment.getEstimatedAmount();
+        this.status = appointment.getStatus();
+        this.canStart = status.canStart();
+        this.canEdit = status.canEdit();
+        this.isActive = appointment.getIsActive();
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -0,0 +1,86 @@
+package com.thinkitive.thinkemr.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Columns shared by live appointments ({@link Appointment}, table {@code appointments}) and
+ * archived past visits ({@link ArchivedAppointment}, table {@code appointments_archive}).
+ * Each subclass has its own table; a query against this type reads both through a
+ * {@code UNION ALL}, which is how the "include archived" read path is served.
+ */
+@Entity
+@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+public abstract class AppointmentRecord {
+    @Id
+    // Time-ordered, so new appointments append to the primary key and list entry indexes
+    @TimeOrderedUuid
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patient_id", nullable = false)
+    @NotNull
+    private Patient patient;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "provider_id", nullable = false)
+    @NotNull
+    private Provider provider;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "appointment_type", nullable = false, length = 20)
+    @NotNull
+    private AppointmentType appointmentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 20)
+    @NotNull
+    private AppointmentMode mode;
+
+    @Column(name = "date_time", nullable = false)
+    @NotNull
+    private LocalDateTime dateTime;
+
+    @Column(name = "reason_for_visit", nullable = false, length = 250)
+    @NotBlank
+    @Size(min = 5, max = 250)
+    private String reasonForVisit;
+
+    @Column(name = "estimated_amount", nullable = false, precision = 10, scale = 2)
+    @NotNull
+    @DecimalMin(value = "0.01", message = "Estimated amount must be positive")
+    @DecimalMax(value = "10000.00", message = "Estimated amount cannot exceed $10,000")
+    private BigDecimal estimatedAmount;
+
+    @Embedded
+    @NotNull
+    private ClinicAddress clinicAddress;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @NotNull
+    private AppointmentStatus status = AppointmentStatus.SCHEDULED;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+} 
\ No newline at end of file
@@ -4,5 +4,16 @@ public enum AppointmentStatus {
     SCHEDULED,
     CHECKED_IN,
     IN_EXAM,
-    CANCELLED
-} 
\ No newline at end of file
+    CANCELLED;
+
+    /**
+     * Whether the visit can still be started from the appointment list.
+     */
+    public boolean canStart() {
+        return this == SCHEDULED || this == CHECKED_IN;
+    }
+
+    public boolean canEdit() {
+        return this != CANCELLED;
+    }
+}
@@ -0,0 +1,26 @@
+package com.thinkitive.thinkemr.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * A past visit moved out of {@code appointments} by the archive job. Rows keep the id,
+ * timestamps and status they had when they were archived and are never updated again.
+ */
+@Entity
+@Table(name = "appointments_archive", indexes = {
+    @Index(name = "idx_appointments_archive_patient_date_time", columnList = "patient_id, date_time"),
+    @Index(name = "idx_appointments_archive_provider_date_time", columnList = "provider_id, date_time"),
+    @Index(name = "idx_appointments_archive_date_time_id", columnList = "date_time, id")
+})
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+public class ArchivedAppointment extends AppointmentRecord {
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,62 @@
+package com.thinkitive.thinkemr.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Copy of the patient columns an {@link AppointmentListEntry} shows. Attribute names match
+ * {@link Patient}, so list filters and sort keys such as {@code patient.id} and
+ * {@code patient.firstName} resolve on either.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+public class ListedPatient {
+    @Column(name = "patient_id", nullable = false)
+    private UUID id;
+
+    @Column(name = "patient_first_name", nullable = false, length = 50)
+    private String firstName;
+
+    @Column(name = "patient_last_name", nullable = false, length = 50)
+    private String lastName;
+
+    // "firstName lastName", as the list shows it
+    @Column(name = "patient_name", nullable = false, length = 101)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "patient_gender", nullable = false, length = 20)
+    private Gender gender;
+
+    @Column(name = "patient_date_of_birth", nullable = false)
+    private LocalDate dateOfBirth;
+
+    @Column(name = "patient_phone", nullable = false)
+    private String phoneNumber;
+
+    public ListedPatient(Patient patient) {
+        this(patient.getId(), patient.getFirstName(), patient.getLastName(), patient.getGender(),
+                patient.getDateOfBirth(), patient.getPhoneNumber());
+    }
+
+    public ListedPatient(UUID id, String firstName, String lastName, Gender gender,
+                         LocalDate dateOfBirth, String phoneNumber) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.name = firstName + " " + lastName;
+        this.gender = gender;
+        this.dateOfBirth = dateOfBirth;
+        this.phoneNumber = phoneNumber;
+    }
+}
@@ -0,0 +1,50 @@
+package com.thinkitive.thinkemr.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Copy of the provider columns an {@link AppointmentListEntry} shows. Attribute names match
+ * {@link Provider}, so list filters and sort keys resolve on either.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+public class ListedProvider {
+    @Column(name = "provider_id", nullable = false)
+    private UUID id;
+
+    @Column(name = "provider_first_name", nullable = false, length = 50)
+    private String firstName;
+
+    @Column(name = "provider_last_name", nullable = false, length = 50)
+    private String lastName;
+
+    // "Dr. firstName lastName", as the list shows it
+    @Column(name = "provider_name", nullable = false, length = 105)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provider_specialization", nullable = false, length = 50)
+    private Specialization specialization;
+
+    public ListedProvider(Provider provider) {
+        this(provider.getId(), provider.getFirstName(), provider.getLastName(), provider.getSpecialization());
+    }
+
+    public ListedProvider(UUID id, String firstName, String lastName, Specialization specialization) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.name = "Dr. " + firstName + " " + lastName;
+        this.specialization = specialization;
+    }
+}
@@ -0,0 +1,69 @@
+package com.thinkitive.thinkemr.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A notification recorded in the same transaction as the change it announces, and delivered
+ * later by the outbox dispatcher. A message is due while it is {@link OutboxStatus#PENDING}
+ * and {@code availableAt} has passed; claiming it moves {@code availableAt} to the end of a
+ * lease, so a message whose dispatcher died is picked up again once the lease runs out.
+ */
+@Entity
+@Table(name = "outbox_messages", indexes = {
+    @Index(name = "idx_outbox_messages_status_available_at", columnList = "status, available_at"),
+    @Index(name = "idx_outbox_messages_claim_token", columnList = "claim_token")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+    @Id
+    // Generated in the JVM, so a batch booking's messages are inserted in JDBC batches
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 40)
+    private OutboxMessageType type;
+
+    // The patient or appointment the message is about
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    // JSON object with the values the sender renders
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
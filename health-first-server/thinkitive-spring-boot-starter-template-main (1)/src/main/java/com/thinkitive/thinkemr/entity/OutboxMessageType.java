@@ -0,0 +1,6 @@
+package com.thinkitive.thinkemr.entity;
+
+public enum OutboxMessageType {
+    PATIENT_VERIFICATION_EMAIL,
+    APPOINTMENT_CONFIRMATION
+}
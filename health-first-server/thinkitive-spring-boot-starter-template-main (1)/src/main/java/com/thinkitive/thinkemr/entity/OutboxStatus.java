@@ -0,0 +1,8 @@
+package com.thinkitive.thinkemr.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    // Gave up after the configured number of attempts
+    FAILED
+}
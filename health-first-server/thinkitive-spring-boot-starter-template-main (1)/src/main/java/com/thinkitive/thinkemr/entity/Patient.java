@@ -1,9 +1,14 @@
 package com.thinkitive.thinkemr.entity;
 
+import com.thinkitive.thinkemr.cache.PersonNameIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -11,6 +16,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(PersonNameIndexListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "patients")
+@NaturalIdCache(region = "patient-emails")
 @Table(name = "patients", uniqueConstraints = {
     @UniqueConstraint(columnNames = "email"),
     @UniqueConstraint(columnNames = "phone_number")
@@ -22,7 +30,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Patient {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // Time-ordered, so new patients append to the primary key and patient_id indexes
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "first_name", nullable = false, length = 50)
@@ -35,6 +44,8 @@ public class Patient {
     @NotBlank
     private String lastName;
 
+    // Login looks patients up by email through the natural-id cache
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     @Email
     @NotBlank
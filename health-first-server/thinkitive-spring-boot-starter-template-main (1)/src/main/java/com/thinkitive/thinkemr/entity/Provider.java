@@ -1,14 +1,22 @@
 package com.thinkitive.thinkemr.entity;
 
+import com.thinkitive.thinkemr.cache.PersonNameIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(PersonNameIndexListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "providers")
+@NaturalIdCache(region = "provider-emails")
 @Table(name = "providers", uniqueConstraints = {
     @UniqueConstraint(columnNames = "email"),
     @UniqueConstraint(columnNames = "phone_number"),
@@ -21,7 +29,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Provider {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // Time-ordered, so new providers append to the primary key and provider_id indexes
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "first_name", nullable = false, length = 50)
@@ -34,6 +43,8 @@ public class Provider {
     @NotBlank
     private String lastName;
 
+    // Login looks providers up by email through the natural-id cache
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     @Email
     @NotBlank
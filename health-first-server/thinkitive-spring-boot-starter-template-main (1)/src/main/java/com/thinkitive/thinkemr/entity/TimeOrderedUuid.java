@@ -0,0 +1,19 @@
+package com.thinkitive.thinkemr.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a {@code UUID} id with {@link com.thinkitive.thinkemr.util.TimeOrderedUuids} when
+ * the entity is persisted. Ids come from the JVM, so inserts need no round trip for them and
+ * can be sent as JDBC batches.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
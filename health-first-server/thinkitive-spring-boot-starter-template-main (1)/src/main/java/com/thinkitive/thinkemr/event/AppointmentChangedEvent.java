@@ -0,0 +1,31 @@
+package com.thinkitive.thinkemr.event;
+
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by the appointment service whenever an appointment is booked or its status
+ * changes. Listeners that maintain derived in-memory state subscribe after commit so they
+ * never observe a change that was rolled back.
+ *
+ * @param previousStatus {@code null} for a new booking
+ */
+public record AppointmentChangedEvent(UUID appointmentId,
+                                      UUID providerId,
+                                      UUID patientId,
+                                      LocalDateTime dateTime,
+                                      AppointmentStatus previousStatus,
+                                      AppointmentStatus status) {
+
+    public static AppointmentChangedEvent booked(UUID appointmentId, UUID providerId, UUID patientId,
+                                                 LocalDateTime dateTime) {
+        return new AppointmentChangedEvent(appointmentId, providerId, patientId, dateTime, null,
+                AppointmentStatus.SCHEDULED);
+    }
+
+    public boolean isBooking() {
+        return previousStatus == null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.thinkitive.thinkemr.exception;
+
+/**
+ * Work was turned away because the resource it needs is saturated; answered with 503 and a
+ * Retry-After header, so clients back off instead of piling up behind the backlog.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
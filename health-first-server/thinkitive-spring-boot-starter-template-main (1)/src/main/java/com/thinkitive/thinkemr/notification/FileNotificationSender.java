@@ -0,0 +1,62 @@
+package com.thinkitive.thinkemr.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.thinkitive.thinkemr.entity.OutboxMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local stand-in for a mail gateway: appends each message as one JSON line to
+ * {@code thinkemr.outbox.file.path}.
+ */
+@Component
+@ConditionalOnProperty(name = "thinkemr.outbox.sender", havingValue = "file", matchIfMissing = true)
+public class FileNotificationSender implements NotificationSender {
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    // Not the monitor: a virtual thread writing inside synchronized would pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileNotificationSender(
+            ObjectMapper objectMapper,
+            @Value("${thinkemr.outbox.file.path:${java.io.tmpdir}/thinkemr/outbox-notifications.ndjson}") Path path
+    ) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+
+    @Override
+    public void send(OutboxMessage message) {
+        lock.lock();
+        try {
+            ObjectNode line = objectMapper.createObjectNode()
+                    .put("id", message.getId().toString())
+                    .put("type", message.getType().name())
+                    .put("recipient", message.getRecipient())
+                    .put("createdAt", message.getCreatedAt().toString());
+            line.set("payload", objectMapper.readTree(message.getPayload()));
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, objectMapper.writeValueAsString(line) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid payload in outbox message " + message.getId(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
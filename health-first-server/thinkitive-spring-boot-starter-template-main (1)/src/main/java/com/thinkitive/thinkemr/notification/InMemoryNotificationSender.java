@@ -0,0 +1,33 @@
+package com.thinkitive.thinkemr.notification;
+
+import com.thinkitive.thinkemr.entity.OutboxMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recently delivered messages in memory instead of sending them; for tests
+ * and demos.
+ */
+@Component
+@ConditionalOnProperty(name = "thinkemr.outbox.sender", havingValue = "memory")
+public class InMemoryNotificationSender implements NotificationSender {
+    private static final int CAPACITY = 1000;
+
+    private final Deque<OutboxMessage> delivered = new ArrayDeque<>();
+
+    @Override
+    public synchronized void send(OutboxMessage message) {
+        if (delivered.size() == CAPACITY) {
+            delivered.removeFirst();
+        }
+        delivered.addLast(message);
+    }
+
+    public synchronized List<OutboxMessage> delivered() {
+        return List.copyOf(delivered);
+    }
+}
@@ -0,0 +1,16 @@
+package com.thinkitive.thinkemr.notification;
+
+import com.thinkitive.thinkemr.entity.OutboxMessage;
+
+/**
+ * Delivers outbox messages, e.g. over SMTP. Called by the outbox dispatcher outside any
+ * transaction; a message may be delivered more than once if the dispatcher dies between
+ * sending it and recording the result, so senders should tolerate repeats of the same id.
+ * Select the implementation with {@code thinkemr.outbox.sender}.
+ */
+public interface NotificationSender {
+    /**
+     * Throws when the message could not be delivered; it is then retried with backoff.
+     */
+    void send(OutboxMessage message);
+}
@@ -0,0 +1,53 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.AppointmentListEntry;
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Writes to the appointment list read model. Reads go through {@link AppointmentRepositoryCustom},
+ * which serves live-only lists from it.
+ */
+@Repository
+public interface AppointmentListEntryRepository extends JpaRepository<AppointmentListEntry, UUID> {
+
+    @Modifying
+    @Query("UPDATE AppointmentListEntry e SET e.status = :status, e.canStart = :canStart, e.canEdit = :canEdit " +
+           "WHERE e.id = :id")
+    int updateStatus(
+            @Param("id") UUID id,
+            @Param("status") AppointmentStatus status,
+            @Param("canStart") boolean canStart,
+            @Param("canEdit") boolean canEdit
+    );
+
+    /**
+     * Fills the read model from the live tables; the rules for the derived columns must
+     * match {@link AppointmentListEntry#AppointmentListEntry(com.thinkitive.thinkemr.entity.Appointment)}.
+     * Appointments that already have an entry are skipped: a booking commits its appointment
+     * and entry together, so one committed since the rebuild's delete is seen with both.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO appointment_list_entries (id, patient_id, patient_first_name, patient_last_name, " +
+                   "patient_name, patient_gender, patient_date_of_birth, patient_phone, provider_id, " +
+                   "provider_first_name, provider_last_name, provider_name, provider_specialization, " +
+                   "appointment_type, mode, date_time, reason_for_visit, estimated_amount, status, can_start, " +
+                   "can_edit, is_active) " +
+                   "SELECT a.id, p.id, p.first_name, p.last_name, p.first_name || ' ' || p.last_name, p.gender, " +
+                   "p.date_of_birth, p.phone_number, pr.id, pr.first_name, pr.last_name, " +
+                   "'Dr. ' || pr.first_name || ' ' || pr.last_name, pr.specialization, " +
+                   "a.appointment_type, a.mode, a.date_time, a.reason_for_visit, a.estimated_amount, a.status, " +
+                   "a.status IN ('SCHEDULED', 'CHECKED_IN'), a.status <> 'CANCELLED', a.is_active " +
+                   "FROM appointments a " +
+                   "JOIN patients p ON p.id = a.patient_id " +
+                   "JOIN providers pr ON pr.id = a.provider_id " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM appointment_list_entries e WHERE e.id = a.id)",
+           nativeQuery = true)
+    int insertFromAppointments();
+}
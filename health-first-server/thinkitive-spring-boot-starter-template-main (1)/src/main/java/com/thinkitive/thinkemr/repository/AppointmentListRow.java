@@ -0,0 +1,65 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.AppointmentMode;
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import com.thinkitive.thinkemr.entity.AppointmentType;
+import com.thinkitive.thinkemr.entity.Gender;
+import com.thinkitive.thinkemr.entity.Specialization;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns the appointment list shows, selected with a constructor projection. Rows are
+ * plain values: no {@code Appointment}, {@code Patient} or {@code Provider} entity is loaded,
+ * tracked or snapshotted to produce them. The display names and action flags are read as
+ * stored in the list read model; rows that include archived visits derive them instead.
+ */
+public record AppointmentListRow(UUID id,
+                                 LocalDateTime dateTime,
+                                 AppointmentType appointmentType,
+                                 AppointmentMode mode,
+                                 String patientFirstName,
+                                 String patientLastName,
+                                 String patientName,
+                                 Gender patientGender,
+                                 LocalDate patientDateOfBirth,
+                                 String patientPhone,
+                                 String providerFirstName,
+                                 String providerLastName,
+                                 String providerName,
+                                 Specialization providerSpecialization,
+                                 String reasonForVisit,
+                                 BigDecimal estimatedAmount,
+                                 AppointmentStatus status,
+                                 boolean canStart,
+                                 boolean canEdit) {
+
+    /**
+     * Row read from the appointment tables, which do not store the display values.
+     */
+    public AppointmentListRow(UUID id,
+                              LocalDateTime dateTime,
+                              AppointmentType appointmentType,
+                              AppointmentMode mode,
+                              String patientFirstName,
+                              String patientLastName,
+                              Gender patientGender,
+                              LocalDate patientDateOfBirth,
+                              String patientPhone,
+                              String providerFirstName,
+                              String providerLastName,
+                              Specialization providerSpecialization,
+                              String reasonForVisit,
+                              BigDecimal estimatedAmount,
+                              AppointmentStatus status) {
+        this(id, dateTime, appointmentType, mode,
+                patientFirstName, patientLastName, patientFirstName + " " + patientLastName,
+                patientGender, patientDateOfBirth, patientPhone,
+                providerFirstName, providerLastName, "Dr. " + providerFirstName + " " + providerLastName,
+                providerSpecialization, reasonForVisit, estimatedAmount, status,
+                status.canStart(), status.canEdit());
+    }
+}
@@ -4,18 +4,23 @@ import com.thinkitive.thinkemr.entity.Appointment;
 import com.thinkitive.thinkemr.entity.AppointmentStatus;
 import com.thinkitive.thinkemr.entity.AppointmentType;
 import com.thinkitive.thinkemr.entity.AppointmentMode;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, UUID> {
+public interface AppointmentRepository extends JpaRepository<Appointment, UUID>, JpaSpecificationExecutor<Appointment>,
+        AppointmentRepositoryCustom {
     
     @Query("SELECT a FROM Appointment a WHERE a.provider.id = :providerId " +
            "AND a.dateTime BETWEEN :startTime AND :endTime " +
@@ -35,6 +40,33 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
             @Param("endTime") LocalDateTime endTime
     );
 
+    @Query("SELECT a.dateTime FROM Appointment a WHERE a.provider.id = :providerId " +
+           "AND a.dateTime >= :from " +
+           "AND a.isActive = true " +
+           "ORDER BY a.dateTime")
+    List<LocalDateTime> findActiveAppointmentTimes(
+            @Param("providerId") UUID providerId,
+            @Param("from") LocalDateTime from
+    );
+
+    @Query("SELECT a.dateTime FROM Appointment a WHERE a.provider.id = :providerId " +
+           "AND a.dateTime BETWEEN :startTime AND :endTime " +
+           "AND a.isActive = true")
+    List<LocalDateTime> findActiveAppointmentTimesBetween(
+            @Param("providerId") UUID providerId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    @Query("SELECT a.provider.id, a.dateTime FROM Appointment a WHERE a.provider.id IN :providerIds " +
+           "AND a.dateTime BETWEEN :startTime AND :endTime " +
+           "AND a.isActive = true")
+    List<Object[]> findActiveAppointmentTimesForProviders(
+            @Param("providerIds") Collection<UUID> providerIds,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
     @Query("SELECT a FROM Appointment a " +
            "JOIN FETCH a.patient p " +
            "JOIN FETCH a.provider pr " +
@@ -46,4 +78,43 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
 
     @Query("SELECT a.status, COUNT(a) FROM Appointment a WHERE a.isActive = true GROUP BY a.status")
     List<Object[]> getAppointmentStatusCounts();
-} 
\ No newline at end of file
+
+    @Query("SELECT a.provider.id, a.status, COUNT(a) FROM Appointment a WHERE a.isActive = true " +
+           "GROUP BY a.provider.id, a.status")
+    List<Object[]> getAppointmentStatusCountsByProvider();
+
+    @Query("SELECT CAST(a.dateTime AS LocalDate), a.status, COUNT(a) FROM Appointment a WHERE a.isActive = true " +
+           "GROUP BY CAST(a.dateTime AS LocalDate), a.status")
+    List<Object[]> getAppointmentStatusCountsByDay();
+
+    @Query("SELECT a.id FROM Appointment a WHERE a.dateTime < :cutoff AND a.status IN :statuses " +
+           "ORDER BY a.dateTime")
+    List<UUID> findArchivableIds(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("statuses") Collection<AppointmentStatus> statuses,
+            Pageable pageable
+    );
+
+    // The date_time bound is redundant with the ids but lets PostgreSQL prune partitions
+    @Modifying
+    @Query(value = "INSERT INTO appointments_archive (id, patient_id, provider_id, appointment_type, mode, " +
+                   "date_time, reason_for_visit, estimated_amount, street, city, state, zip, status, is_active, " +
+                   "created_at, updated_at, archived_at) " +
+                   "SELECT id, patient_id, provider_id, appointment_type, mode, " +
+                   "date_time, reason_for_visit, estimated_amount, street, city, state, zip, status, is_active, " +
+                   "created_at, updated_at, :archivedAt " +
+                   "FROM appointments WHERE id IN (:ids) AND date_time < :cutoff",
+           nativeQuery = true)
+    int copyToArchive(
+            @Param("ids") Collection<UUID> ids,
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("archivedAt") LocalDateTime archivedAt
+    );
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids AND a.dateTime < :cutoff")
+    int deleteArchived(
+            @Param("ids") Collection<UUID> ids,
+            @Param("cutoff") LocalDateTime cutoff
+    );
+}
@@ -0,0 +1,47 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.AppointmentRecord;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read queries over appointments. Each takes an {@code includeArchived} flag: {@code false}
+ * reads only live appointments, from the list read model {@code appointment_list_entries};
+ * {@code true} reads the {@code appointments} table together with past visits moved to
+ * {@code appointments_archive} (see {@link AppointmentRecord}).
+ */
+public interface AppointmentRepositoryCustom {
+
+    /**
+     * Number of rows matching the specification.
+     */
+    long countRows(Specification<AppointmentRecord> specification, boolean includeArchived);
+
+    /**
+     * List rows matching the specification in the given order, projected straight into
+     * {@link AppointmentListRow}. With {@code after} set this is a keyset (seek) query that
+     * returns only rows sorting strictly after it; {@code after} holds one value per
+     * {@link AppointmentSortField#getKeys() key}. Otherwise {@code offset} rows are skipped.
+     */
+    List<AppointmentListRow> findRows(Specification<AppointmentRecord> specification,
+                                      boolean includeArchived,
+                                      AppointmentSortField sortField,
+                                      Sort.Direction direction,
+                                      Object[] after,
+                                      long offset,
+                                      int limit);
+
+    /**
+     * Forward-only stream of every matching row, in the given order, fetched from a database
+     * cursor {@code fetchSize} rows at a time. Rows are projections, so nothing accumulates
+     * in the persistence context. Must be consumed inside a transaction and closed afterwards.
+     */
+    Stream<AppointmentListRow> streamRows(Specification<AppointmentRecord> specification,
+                                          boolean includeArchived,
+                                          AppointmentSortField sortField,
+                                          Sort.Direction direction,
+                                          int fetchSize);
+}
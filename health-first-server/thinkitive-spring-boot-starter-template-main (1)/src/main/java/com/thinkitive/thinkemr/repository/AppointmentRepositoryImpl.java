@@ -0,0 +1,208 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.AppointmentListEntry;
+import com.thinkitive.thinkemr.entity.AppointmentRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class AppointmentRepositoryImpl implements AppointmentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long countRows(Specification<AppointmentRecord> specification, boolean includeArchived) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<AppointmentRecord> root = from(query, includeArchived);
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        query.select(cb.count(root));
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public List<AppointmentListRow> findRows(Specification<AppointmentRecord> specification,
+                                             boolean includeArchived,
+                                             AppointmentSortField sortField,
+                                             Sort.Direction direction,
+                                             Object[] after,
+                                             long offset,
+                                             int limit) {
+        return entityManager.createQuery(rowQuery(specification, includeArchived, sortField, direction, after))
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<AppointmentListRow> streamRows(Specification<AppointmentRecord> specification,
+                                                 boolean includeArchived,
+                                                 AppointmentSortField sortField,
+                                                 Sort.Direction direction,
+                                                 int fetchSize) {
+        return entityManager.createQuery(rowQuery(specification, includeArchived, sortField, direction, null))
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<AppointmentListRow> rowQuery(Specification<AppointmentRecord> specification,
+                                                       boolean includeArchived,
+                                                       AppointmentSortField sortField,
+                                                       Sort.Direction direction,
+                                                       Object[] after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AppointmentListRow> query = cb.createQuery(AppointmentListRow.class);
+        Root<AppointmentRecord> root = from(query, includeArchived);
+        // Joined up front (when not embedded) so that name filters and sort keys reuse these joins
+        Path<?> patient = AppointmentSpecifications.joinOf(root, "patient");
+        Path<?> provider = AppointmentSpecifications.joinOf(root, "provider");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+
+        List<Expression<? extends Comparable<Object>>> keys = new ArrayList<>();
+        for (AppointmentSortField.Key key : sortField.getKeys()) {
+            keys.add(resolve(root, key.path()));
+        }
+        if (after != null) {
+            predicates.add(seekPredicate(cb, keys, after, direction));
+        }
+
+        return query.select(includeArchived ? derivedRow(cb, root, patient, provider) : storedRow(cb, root, patient, provider))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(orders(cb, keys, direction));
+    }
+
+    private CompoundSelection<AppointmentListRow> storedRow(CriteriaBuilder cb, Root<AppointmentRecord> root,
+                                                            Path<?> patient, Path<?> provider) {
+        return cb.construct(AppointmentListRow.class,
+                root.get("id"),
+                root.get("dateTime"),
+                root.get("appointmentType"),
+                root.get("mode"),
+                patient.get("firstName"),
+                patient.get("lastName"),
+                patient.get("name"),
+                patient.get("gender"),
+                patient.get("dateOfBirth"),
+                patient.get("phoneNumber"),
+                provider.get("firstName"),
+                provider.get("lastName"),
+                provider.get("name"),
+                provider.get("specialization"),
+                root.get("reasonForVisit"),
+                root.get("estimatedAmount"),
+                root.get("status"),
+                root.get("canStart"),
+                root.get("canEdit"));
+    }
+
+    private CompoundSelection<AppointmentListRow> derivedRow(CriteriaBuilder cb, Root<AppointmentRecord> root,
+                                                             Path<?> patient, Path<?> provider) {
+        return cb.construct(AppointmentListRow.class,
+                root.get("id"),
+                root.get("dateTime"),
+                root.get("appointmentType"),
+                root.get("mode"),
+                patient.get("firstName"),
+                patient.get("lastName"),
+                patient.get("gender"),
+                patient.get("dateOfBirth"),
+                patient.get("phoneNumber"),
+                provider.get("firstName"),
+                provider.get("lastName"),
+                provider.get("specialization"),
+                root.get("reasonForVisit"),
+                root.get("estimatedAmount"),
+                root.get("status"));
+    }
+
+    /**
+     * Live-only reads come from the single-table read model {@link AppointmentListEntry};
+     * with archived visits, from the abstract {@link AppointmentRecord} type, which Hibernate
+     * reads as a {@code UNION ALL} of the live and archive tables. Specifications only touch
+     * attribute paths that both declare, so they apply to either root.
+     */
+    @SuppressWarnings("unchecked")
+    private Root<AppointmentRecord> from(CriteriaQuery<?> query, boolean includeArchived) {
+        return includeArchived
+                ? query.from(AppointmentRecord.class)
+                : (Root<AppointmentRecord>) (Root<?>) query.from(AppointmentListEntry.class);
+    }
+
+    private List<Order> orders(CriteriaBuilder cb, List<Expression<? extends Comparable<Object>>> keys,
+                               Sort.Direction direction) {
+        List<Order> orders = new ArrayList<>();
+        for (Expression<?> key : keys) {
+            orders.add(direction.isAscending() ? cb.asc(key) : cb.desc(key));
+        }
+        return orders;
+    }
+
+    /**
+     * Expands the row comparison {@code (k1, ..., kn) > (v1, ..., vn)} into
+     * {@code k1 >= v1 AND (k1 > v1 OR (k1 = v1 AND k2 > v2) OR ...)}. The redundant leading
+     * bound lets the database start an index range scan on the first key.
+     */
+    private Predicate seekPredicate(CriteriaBuilder cb,
+                                    List<Expression<? extends Comparable<Object>>> keys,
+                                    Object[] after,
+                                    Sort.Direction direction) {
+        if (after.length != keys.size()) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        List<Predicate> alternatives = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            List<Predicate> conjunction = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                conjunction.add(cb.equal(keys.get(j), after[j]));
+            }
+            conjunction.add(beyond(cb, keys.get(i), after[i], direction, false));
+            alternatives.add(cb.and(conjunction.toArray(new Predicate[0])));
+        }
+        return cb.and(
+                beyond(cb, keys.get(0), after[0], direction, true),
+                cb.or(alternatives.toArray(new Predicate[0])));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate beyond(CriteriaBuilder cb, Expression<? extends Comparable<Object>> key, Object value,
+                             Sort.Direction direction, boolean inclusive) {
+        Comparable<Object> bound = (Comparable<Object>) value;
+        if (direction.isAscending()) {
+            return inclusive ? cb.greaterThanOrEqualTo(key, bound) : cb.greaterThan(key, bound);
+        }
+        return inclusive ? cb.lessThanOrEqualTo(key, bound) : cb.lessThan(key, bound);
+    }
+
+    private Expression<? extends Comparable<Object>> resolve(Root<AppointmentRecord> root, String path) {
+        int dot = path.indexOf('.');
+        Path<Comparable<Object>> expression = dot < 0
+                ? root.get(path)
+                : AppointmentSpecifications.joinOf(root, path.substring(0, dot)).get(path.substring(dot + 1));
+        return expression;
+    }
+}
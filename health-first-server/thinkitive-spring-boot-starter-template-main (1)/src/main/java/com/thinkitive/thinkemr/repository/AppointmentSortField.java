@@ -0,0 +1,63 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sort orders supported by the appointment list. Each order ends with {@code dateTime}
+ * and {@code id} so that it is total, which both stable offset pages and keyset seeks rely on.
+ */
+public enum AppointmentSortField {
+    DATE_TIME("dateTime", List.of(
+            new Key("dateTime", LocalDateTime.class),
+            new Key("id", UUID.class))),
+    PATIENT_NAME("patientName", List.of(
+            new Key("patient.firstName", String.class),
+            new Key("patient.lastName", String.class),
+            new Key("dateTime", LocalDateTime.class),
+            new Key("id", UUID.class))),
+    PROVIDER_NAME("providerName", List.of(
+            new Key("provider.firstName", String.class),
+            new Key("provider.lastName", String.class),
+            new Key("dateTime", LocalDateTime.class),
+            new Key("id", UUID.class))),
+    STATUS("status", List.of(
+            new Key("status", AppointmentStatus.class),
+            new Key("dateTime", LocalDateTime.class),
+            new Key("id", UUID.class)));
+
+    private final String requestName;
+    private final List<Key> keys;
+
+    AppointmentSortField(String requestName, List<Key> keys) {
+        this.requestName = requestName;
+        this.keys = keys;
+    }
+
+    public String getRequestName() {
+        return requestName;
+    }
+
+    public List<Key> getKeys() {
+        return keys;
+    }
+
+    public static AppointmentSortField fromRequestName(String name) {
+        for (AppointmentSortField field : values()) {
+            if (field.requestName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Invalid sort field: " + name);
+    }
+
+    /**
+     * One column of the sort order: an attribute path relative to {@code Appointment}
+     * and the Java type of its value.
+     */
+    public record Key(String path, Class<?> type) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.Appointment;
+import com.thinkitive.thinkemr.entity.AppointmentRecord;
+import com.thinkitive.thinkemr.entity.AppointmentMode;
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import com.thinkitive.thinkemr.entity.AppointmentType;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Reusable filter building blocks for {@link Appointment} queries. Every specification
+ * returns {@code null} when its argument is empty so they can be combined freely with
+ * {@link Specification#and(Specification)}. They only use attribute paths declared on
+ * {@link AppointmentRecord}, so the same filter applies when archived visits are included,
+ * and to the list read model {@code AppointmentListEntry}, which mirrors those paths.
+ */
+public final class AppointmentSpecifications {
+
+    private AppointmentSpecifications() {
+    }
+
+    public static Specification<AppointmentRecord> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("isActive"));
+    }
+
+    public static Specification<AppointmentRecord> hasId(UUID appointmentId) {
+        return appointmentId == null ? null : (root, query, cb) -> cb.equal(root.get("id"), appointmentId);
+    }
+
+    public static Specification<AppointmentRecord> hasStatus(AppointmentStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<AppointmentRecord> hasType(AppointmentType appointmentType) {
+        return appointmentType == null ? null : (root, query, cb) -> cb.equal(root.get("appointmentType"), appointmentType);
+    }
+
+    public static Specification<AppointmentRecord> hasMode(AppointmentMode mode) {
+        return mode == null ? null : (root, query, cb) -> cb.equal(root.get("mode"), mode);
+    }
+
+    public static Specification<AppointmentRecord> hasProvider(UUID providerId) {
+        return providerId == null ? null : (root, query, cb) -> cb.equal(root.get("provider").get("id"), providerId);
+    }
+
+    public static Specification<AppointmentRecord> hasPatient(UUID patientId) {
+        return patientId == null ? null : (root, query, cb) -> cb.equal(root.get("patient").get("id"), patientId);
+    }
+
+    /**
+     * Appointments of any of the given patients; matches nothing for an empty set.
+     */
+    public static Specification<AppointmentRecord> hasPatientIn(Collection<UUID> patientIds) {
+        return (root, query, cb) -> patientIds.isEmpty() ? cb.disjunction() : root.get("patient").get("id").in(patientIds);
+    }
+
+    /**
+     * Appointments with any of the given providers; matches nothing for an empty set.
+     */
+    public static Specification<AppointmentRecord> hasProviderIn(Collection<UUID> providerIds) {
+        return (root, query, cb) -> providerIds.isEmpty() ? cb.disjunction() : root.get("provider").get("id").in(providerIds);
+    }
+
+    /**
+     * Inclusive lower bound on the appointment time.
+     */
+    public static Specification<AppointmentRecord> startsAtOrAfter(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dateTime"), from);
+    }
+
+    /**
+     * Exclusive upper bound on the appointment time.
+     */
+    public static Specification<AppointmentRecord> startsBefore(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("dateTime"), to);
+    }
+
+    /**
+     * Case-insensitive substring match on "firstName lastName" of the patient.
+     */
+    public static Specification<AppointmentRecord> patientNameContains(String fragment) {
+        return nameContains("patient", fragment);
+    }
+
+    /**
+     * Case-insensitive substring match on "firstName lastName" of the provider.
+     */
+    public static Specification<AppointmentRecord> providerNameContains(String fragment) {
+        return nameContains("provider", fragment);
+    }
+
+    private static Specification<AppointmentRecord> nameContains(String association, String fragment) {
+        if (fragment == null || fragment.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(fragment.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> {
+            Path<?> person = joinOf(root, association);
+            Expression<String> fullName = cb.lower(cb.concat(
+                    cb.concat(person.get("firstName"), " "), person.get("lastName")));
+            return cb.like(fullName, pattern, '\\');
+        };
+    }
+
+    /**
+     * Reuses an existing fetch or join of the association so a name filter combined with
+     * a sort on the same association, or a query that already joins it, does not join the
+     * same table twice. On the read model the person is embedded, so there is nothing to join.
+     */
+    static Path<?> joinOf(Root<? extends AppointmentRecord> root, String association) {
+        if (root.getModel().getAttribute(association).getPersistentAttributeType()
+                == Attribute.PersistentAttributeType.EMBEDDED) {
+            return root.get(association);
+        }
+        for (Fetch<?, ?> fetch : root.getFetches()) {
+            if (fetch instanceof Join<?, ?> join && association.equals(fetch.getAttribute().getName())) {
+                return join;
+            }
+        }
+        for (Join<?, ?> join : root.getJoins()) {
+            if (association.equals(join.getAttribute().getName())) {
+                return join;
+            }
+        }
+        return root.join(association, JoinType.INNER);
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
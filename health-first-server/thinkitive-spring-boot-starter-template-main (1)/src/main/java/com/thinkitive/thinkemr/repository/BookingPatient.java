@@ -0,0 +1,32 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.Gender;
+import com.thinkitive.thinkemr.entity.ListedPatient;
+import com.thinkitive.thinkemr.entity.Patient;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The patient values a booking needs: the active flag, the confirmation recipient and the
+ * columns copied into the list read model. Booking keeps these instead of the {@code Patient},
+ * which it only links to by reference.
+ */
+public record BookingPatient(UUID id,
+                             boolean active,
+                             String email,
+                             String firstName,
+                             String lastName,
+                             Gender gender,
+                             LocalDate dateOfBirth,
+                             String phoneNumber) {
+
+    public static BookingPatient of(Patient patient) {
+        return new BookingPatient(patient.getId(), patient.isActive(), patient.getEmail(), patient.getFirstName(),
+                patient.getLastName(), patient.getGender(), patient.getDateOfBirth(), patient.getPhoneNumber());
+    }
+
+    public ListedPatient toListed() {
+        return new ListedPatient(id, firstName, lastName, gender, dateOfBirth, phoneNumber);
+    }
+}
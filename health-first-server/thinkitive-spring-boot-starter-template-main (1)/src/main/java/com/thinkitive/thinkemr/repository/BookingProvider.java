@@ -0,0 +1,27 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.ListedProvider;
+import com.thinkitive.thinkemr.entity.Provider;
+import com.thinkitive.thinkemr.entity.Specialization;
+
+import java.util.UUID;
+
+/**
+ * The provider values a booking needs: the active flag and the columns copied into the list
+ * read model.
+ */
+public record BookingProvider(UUID id,
+                              boolean active,
+                              String firstName,
+                              String lastName,
+                              Specialization specialization) {
+
+    public static BookingProvider of(Provider provider) {
+        return new BookingProvider(provider.getId(), provider.isActive(), provider.getFirstName(),
+                provider.getLastName(), provider.getSpecialization());
+    }
+
+    public ListedProvider toListed() {
+        return new ListedProvider(id, firstName, lastName, specialization);
+    }
+}
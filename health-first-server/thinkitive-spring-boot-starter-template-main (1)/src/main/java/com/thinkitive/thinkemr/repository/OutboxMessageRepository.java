@@ -0,0 +1,77 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.OutboxMessage;
+import com.thinkitive.thinkemr.entity.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    @Query("SELECT m.id FROM OutboxMessage m WHERE m.status = :status AND m.availableAt <= :now " +
+           "ORDER BY m.availableAt")
+    List<UUID> findDueIds(
+            @Param("status") OutboxStatus status,
+            @Param("now") LocalDateTime now,
+            Pageable pageable
+    );
+
+    /**
+     * Leases the given messages to {@code token} until {@code leaseUntil}. Messages another
+     * dispatcher claimed in the meantime no longer match the due condition and are skipped,
+     * so each message is claimed by one dispatcher at a time.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.claimToken = :token, m.availableAt = :leaseUntil " +
+           "WHERE m.id IN :ids AND m.status = :status AND m.availableAt <= :now")
+    int claim(
+            @Param("ids") Collection<UUID> ids,
+            @Param("status") OutboxStatus status,
+            @Param("now") LocalDateTime now,
+            @Param("token") UUID token,
+            @Param("leaseUntil") LocalDateTime leaseUntil
+    );
+
+    List<OutboxMessage> findByClaimToken(UUID claimToken);
+
+    // Guarded by the token, so a dispatcher whose lease ran out cannot overwrite the new holder
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :status, m.sentAt = :sentAt, m.claimToken = null, " +
+           "m.attempts = m.attempts + 1 WHERE m.id IN :ids AND m.claimToken = :token")
+    int markSent(
+            @Param("ids") Collection<UUID> ids,
+            @Param("token") UUID token,
+            @Param("status") OutboxStatus status,
+            @Param("sentAt") LocalDateTime sentAt
+    );
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :status, m.availableAt = :availableAt, m.claimToken = null, " +
+           "m.attempts = m.attempts + 1, m.lastError = :error WHERE m.id = :id AND m.claimToken = :token")
+    int markFailedAttempt(
+            @Param("id") UUID id,
+            @Param("token") UUID token,
+            @Param("status") OutboxStatus status,
+            @Param("availableAt") LocalDateTime availableAt,
+            @Param("error") String error
+    );
+
+    @Query("SELECT MIN(m.createdAt) FROM OutboxMessage m WHERE m.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") OutboxStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = :status AND m.sentAt < :cutoff")
+    int deleteSentBefore(
+            @Param("status") OutboxStatus status,
+            @Param("cutoff") LocalDateTime cutoff
+    );
+}
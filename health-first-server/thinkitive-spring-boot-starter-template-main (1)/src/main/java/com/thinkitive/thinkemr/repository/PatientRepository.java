@@ -2,12 +2,24 @@ package com.thinkitive.thinkemr.repository;
 
 import com.thinkitive.thinkemr.entity.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
-public interface PatientRepository extends JpaRepository<Patient, UUID> {
+public interface PatientRepository extends JpaRepository<Patient, UUID>, PatientRepositoryCustom {
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
-    Optional<Patient> findByEmail(String email);
+
+    // Set-based uniqueness checks of the bulk import, one query per batch of rows
+    @Query("SELECT p.email FROM Patient p WHERE p.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT p.phoneNumber FROM Patient p WHERE p.phoneNumber IN :phoneNumbers")
+    List<String> findExistingPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
+    @Query("SELECT p.id, p.firstName, p.lastName FROM Patient p")
+    List<Object[]> findAllNames();
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.Patient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PatientRepositoryCustom {
+
+    /**
+     * Patient with exactly this email. Resolved through the natural-id cache, so repeated
+     * lookups of the same email (logins) are answered without a query.
+     */
+    Optional<Patient> findByEmail(String email);
+
+    /**
+     * Booking values of the patient with this id. Loaded read-only, so the entity gets no
+     * dirty-checking snapshot, and answered from the second-level cache when it holds the
+     * row; only a miss selects it by primary key.
+     */
+    Optional<BookingPatient> findForBooking(UUID id);
+
+    /**
+     * Booking values of the patients with these ids that exist, like {@link #findForBooking}:
+     * cached rows are not read again, the rest are selected with one {@code IN} query.
+     */
+    List<BookingPatient> findAllForBooking(Collection<UUID> ids);
+
+    /**
+     * Inserts new patients in JDBC batches of {@code batchSize} and flushes them. They are not
+     * put into the second-level cache, which bulk-imported rows would only crowd. Must be
+     * called inside a transaction.
+     */
+    void insertAll(List<Patient> patients, int batchSize);
+
+    /**
+     * Replaces the password hash with {@code newHash} only while it is still
+     * {@code previousHash}, in one conditional {@code UPDATE}; returns whether it did. After
+     * commit only this patient is evicted from the second-level cache, where a JPQL bulk
+     * update would evict every cached patient.
+     */
+    boolean updatePasswordHash(UUID id, String previousHash, String newHash);
+}
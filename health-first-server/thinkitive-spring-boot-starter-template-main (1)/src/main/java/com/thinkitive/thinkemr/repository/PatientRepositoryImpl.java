@@ -0,0 +1,103 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+class PatientRepositoryImpl implements PatientRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Loads through the Session need a transaction to keep it open
+    @Override
+    @Transactional
+    public Optional<Patient> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Patient.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    @Transactional
+    public Optional<BookingPatient> findForBooking(UUID id) {
+        return entityManager.unwrap(Session.class)
+                .byId(Patient.class)
+                .withReadOnly(true)
+                .loadOptional(id)
+                .map(BookingPatient::of);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingPatient> findAllForBooking(Collection<UUID> ids) {
+        Session session = entityManager.unwrap(Session.class);
+        boolean defaultReadOnly = session.isDefaultReadOnly();
+        // Multi-id loads have no read-only option of their own
+        session.setDefaultReadOnly(true);
+        try {
+            return session.byMultipleIds(Patient.class)
+                    .multiLoad(List.copyOf(ids))
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .map(BookingPatient::of)
+                    .toList();
+        } finally {
+            session.setDefaultReadOnly(defaultReadOnly);
+        }
+    }
+
+    @Override
+    public void insertAll(List<Patient> patients, int batchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer jdbcBatchSize = session.getJdbcBatchSize();
+        CacheMode cacheMode = session.getCacheMode();
+        session.setJdbcBatchSize(batchSize);
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            patients.forEach(entityManager::persist);
+            entityManager.flush();
+        } finally {
+            session.setJdbcBatchSize(jdbcBatchSize);
+            session.setCacheMode(cacheMode);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean updatePasswordHash(UUID id, String previousHash, String newHash) {
+        int updated = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE patients SET password_hash = ?, updated_at = ? WHERE id = ? AND password_hash = ?")) {
+                statement.setString(1, newHash);
+                statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setObject(3, id);
+                statement.setString(4, previousHash);
+                return statement.executeUpdate();
+            }
+        });
+        if (updated > 0) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityManager.getEntityManagerFactory().getCache().evict(Patient.class, id);
+                }
+            });
+        }
+        return updated > 0;
+    }
+}
@@ -1,14 +1,31 @@
 package com.thinkitive.thinkemr.repository;
 
 import com.thinkitive.thinkemr.entity.Provider;
+import com.thinkitive.thinkemr.entity.Specialization;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface ProviderRepository extends JpaRepository<Provider, UUID> {
+public interface ProviderRepository extends JpaRepository<Provider, UUID>, ProviderRepositoryCustom {
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
     boolean existsByLicenseNumber(String licenseNumber);
-    Optional<Provider> findByEmail(String email);
+
+    @Query("SELECT p.id, p.firstName, p.lastName FROM Provider p")
+    List<Object[]> findAllNames();
+
+    @Query("SELECT p FROM Provider p WHERE p.specialization = :specialization AND p.isActive = true " +
+           "ORDER BY p.lastName, p.firstName, p.id")
+    List<Provider> findActiveBySpecialization(@Param("specialization") Specialization specialization);
+
+    // SELECT ... FOR UPDATE on the provider row; serialises bookings for one provider across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Provider p WHERE p.id = :id")
+    Optional<UUID> lockById(@Param("id") UUID id);
 } 
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.Provider;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProviderRepositoryCustom {
+
+    /**
+     * Provider with exactly this email. Resolved through the natural-id cache, so repeated
+     * lookups of the same email (logins) are answered without a query.
+     */
+    Optional<Provider> findByEmail(String email);
+
+    /**
+     * Booking values of the provider with this id. Loaded read-only, so the entity gets no
+     * dirty-checking snapshot, and answered from the second-level cache when it holds the
+     * row; only a miss selects it by primary key.
+     */
+    Optional<BookingProvider> findForBooking(UUID id);
+
+    /**
+     * Booking values of the providers with these ids that exist, like {@link #findForBooking}:
+     * cached rows are not read again, the rest are selected with one {@code IN} query.
+     */
+    List<BookingProvider> findAllForBooking(Collection<UUID> ids);
+
+    /**
+     * Replaces the password hash with {@code newHash} only while it is still
+     * {@code previousHash}, in one conditional {@code UPDATE}; returns whether it did. After
+     * commit only this provider is evicted from the second-level cache, where a JPQL bulk
+     * update would evict every cached provider.
+     */
+    boolean updatePasswordHash(UUID id, String previousHash, String newHash);
+}
@@ -0,0 +1,86 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.Provider;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+class ProviderRepositoryImpl implements ProviderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Loads through the Session need a transaction to keep it open
+    @Override
+    @Transactional
+    public Optional<Provider> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Provider.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    @Transactional
+    public Optional<BookingProvider> findForBooking(UUID id) {
+        return entityManager.unwrap(Session.class)
+                .byId(Provider.class)
+                .withReadOnly(true)
+                .loadOptional(id)
+                .map(BookingProvider::of);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingProvider> findAllForBooking(Collection<UUID> ids) {
+        Session session = entityManager.unwrap(Session.class);
+        boolean defaultReadOnly = session.isDefaultReadOnly();
+        // Multi-id loads have no read-only option of their own
+        session.setDefaultReadOnly(true);
+        try {
+            return session.byMultipleIds(Provider.class)
+                    .multiLoad(List.copyOf(ids))
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .map(BookingProvider::of)
+                    .toList();
+        } finally {
+            session.setDefaultReadOnly(defaultReadOnly);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean updatePasswordHash(UUID id, String previousHash, String newHash) {
+        int updated = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE providers SET password_hash = ?, updated_at = ? WHERE id = ? AND password_hash = ?")) {
+                statement.setString(1, newHash);
+                statement.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                statement.setObject(3, id);
+                statement.setString(4, previousHash);
+                return statement.executeUpdate();
+            }
+        });
+        if (updated > 0) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityManager.getEntityManagerFactory().getCache().evict(Provider.class, id);
+                }
+            });
+        }
+        return updated > 0;
+    }
+}
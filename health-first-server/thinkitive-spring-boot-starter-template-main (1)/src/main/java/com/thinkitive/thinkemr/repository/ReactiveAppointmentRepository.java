@@ -0,0 +1,278 @@
+package com.thinkitive.thinkemr.repository;
+
+import com.thinkitive.thinkemr.entity.Appointment;
+import com.thinkitive.thinkemr.entity.AppointmentListEntry;
+import com.thinkitive.thinkemr.entity.AppointmentMode;
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import com.thinkitive.thinkemr.entity.AppointmentType;
+import com.thinkitive.thinkemr.entity.Gender;
+import com.thinkitive.thinkemr.entity.OutboxMessage;
+import com.thinkitive.thinkemr.entity.Patient;
+import com.thinkitive.thinkemr.entity.Provider;
+import com.thinkitive.thinkemr.entity.Specialization;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Appointment reads and writes of the reactive profile, as SQL over R2DBC. Writes cover the
+ * same rows the JPA booking path produces: the appointment, its list read model entry and the
+ * confirmation in the outbox. The list reads the read model, which needs no joins.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveAppointmentRepository {
+    private static final Map<AppointmentSortField, List<String>> SORT_COLUMNS = Map.of(
+            AppointmentSortField.DATE_TIME, List.of("date_time", "id"),
+            AppointmentSortField.PATIENT_NAME, List.of("patient_first_name", "patient_last_name", "date_time", "id"),
+            AppointmentSortField.PROVIDER_NAME, List.of("provider_first_name", "provider_last_name", "date_time", "id"),
+            AppointmentSortField.STATUS, List.of("status", "date_time", "id"));
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveAppointmentRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Patient> findPatient(UUID id) {
+        return databaseClient.sql("SELECT id, first_name, last_name, email, phone_number, date_of_birth, gender, is_active "
+                        + "FROM patients WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Patient.builder()
+                        .id(row.get("id", UUID.class))
+                        .firstName(row.get("first_name", String.class))
+                        .lastName(row.get("last_name", String.class))
+                        .email(row.get("email", String.class))
+                        .phoneNumber(row.get("phone_number", String.class))
+                        .dateOfBirth(row.get("date_of_birth", LocalDate.class))
+                        .gender(Gender.valueOf(row.get("gender", String.class)))
+                        .isActive(Boolean.TRUE.equals(row.get("is_active", Boolean.class)))
+                        .build())
+                .one();
+    }
+
+    /**
+     * Loads the provider with {@code SELECT ... FOR UPDATE}, which serialises bookings for one
+     * provider until the surrounding transaction ends, the same way as
+     * {@link ProviderRepository#lockById}.
+     */
+    public Mono<Provider> lockProvider(UUID id) {
+        return databaseClient.sql("SELECT id, first_name, last_name, specialization, is_active "
+                        + "FROM providers WHERE id = :id FOR UPDATE")
+                .bind("id", id)
+                .map(row -> Provider.builder()
+                        .id(row.get("id", UUID.class))
+                        .firstName(row.get("first_name", String.class))
+                        .lastName(row.get("last_name", String.class))
+                        .specialization(Specialization.valueOf(row.get("specialization", String.class)))
+                        .isActive(Boolean.TRUE.equals(row.get("is_active", Boolean.class)))
+                        .build())
+                .one();
+    }
+
+    public Mono<Boolean> existsConflictingAppointment(UUID providerId, LocalDateTime startTime, LocalDateTime endTime) {
+        return databaseClient.sql("SELECT COUNT(*) FROM appointments WHERE provider_id = :providerId "
+                        + "AND date_time BETWEEN :startTime AND :endTime AND is_active = TRUE")
+                .bind("providerId", providerId)
+                .bind("startTime", startTime)
+                .bind("endTime", endTime)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+    /**
+     * Inserts a new appointment, its read model entry and its outbox message; the appointment's
+     * patient and provider must carry the columns the entry copies.
+     */
+    public Mono<Void> insert(Appointment appointment, OutboxMessage confirmation) {
+        return insertAppointment(appointment)
+                .then(insertListEntry(new AppointmentListEntry(appointment)))
+                .then(insertOutboxMessage(confirmation));
+    }
+
+    private Mono<Void> insertAppointment(Appointment appointment) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", appointment.getId());
+        values.put("patient_id", appointment.getPatient().getId());
+        values.put("provider_id", appointment.getProvider().getId());
+        values.put("appointment_type", appointment.getAppointmentType().name());
+        values.put("mode", appointment.getMode().name());
+        values.put("date_time", appointment.getDateTime());
+        values.put("reason_for_visit", appointment.getReasonForVisit());
+        values.put("estimated_amount", appointment.getEstimatedAmount());
+        values.put("street", appointment.getClinicAddress().getStreet());
+        values.put("city", appointment.getClinicAddress().getCity());
+        values.put("state", appointment.getClinicAddress().getState());
+        values.put("zip", appointment.getClinicAddress().getZip());
+        values.put("status", appointment.getStatus().name());
+        values.put("is_active", appointment.getIsActive());
+        values.put("created_at", now);
+        values.put("updated_at", now);
+        return insert("appointments", values);
+    }
+
+    private Mono<Void> insertListEntry(AppointmentListEntry entry) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", entry.getId());
+        values.put("patient_id", entry.getPatient().getId());
+        values.put("patient_first_name", entry.getPatient().getFirstName());
+        values.put("patient_last_name", entry.getPatient().getLastName());
+        values.put("patient_name", entry.getPatient().getName());
+        values.put("patient_gender", entry.getPatient().getGender().name());
+        values.put("patient_date_of_birth", entry.getPatient().getDateOfBirth());
+        values.put("patient_phone", entry.getPatient().getPhoneNumber());
+        values.put("provider_id", entry.getProvider().getId());
+        values.put("provider_first_name", entry.getProvider().getFirstName());
+        values.put("provider_last_name", entry.getProvider().getLastName());
+        values.put("provider_name", entry.getProvider().getName());
+        values.put("provider_specialization", entry.getProvider().getSpecialization().name());
+        values.put("appointment_type", entry.getAppointmentType().name());
+        values.put("mode", entry.getMode().name());
+        values.put("date_time", entry.getDateTime());
+        values.put("reason_for_visit", entry.getReasonForVisit());
+        values.put("estimated_amount", entry.getEstimatedAmount());
+        values.put("status", entry.getStatus().name());
+        values.put("can_start", entry.isCanStart());
+        values.put("can_edit", entry.isCanEdit());
+        values.put("is_active", entry.getIsActive());
+        return insert("appointment_list_entries", values);
+    }
+
+    private Mono<Void> insertOutboxMessage(OutboxMessage message) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", message.getId());
+        values.put("type", message.getType().name());
+        values.put("aggregate_id", message.getAggregateId());
+        values.put("recipient", message.getRecipient());
+        values.put("payload", message.getPayload());
+        values.put("status", message.getStatus().name());
+        values.put("attempts", message.getAttempts());
+        values.put("available_at", message.getAvailableAt());
+        values.put("created_at", message.getCreatedAt());
+        return insert("outbox_messages", values);
+    }
+
+    /**
+     * {@code INSERT} of one row. Null values are bound as text, the type of every nullable
+     * column written here.
+     */
+    private Mono<Void> insert(String table, Map<String, Object> values) {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", values.keySet()) + ") VALUES ("
+                + String.join(", ", values.keySet().stream().map(column -> ":" + column).toList()) + ")";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            spec = value.getValue() == null
+                    ? spec.bindNull(value.getKey(), String.class)
+                    : spec.bind(value.getKey(), value.getValue());
+        }
+        return spec.then();
+    }
+
+    /**
+     * Live appointments matching the filter, from the list read model, in the given order.
+     * Rows are emitted as the driver reads them, at the pace the subscriber requests.
+     */
+    public Flux<AppointmentListRow> streamRows(ListFilter filter, AppointmentSortField sortField, Sort.Direction direction) {
+        List<String> conditions = new ArrayList<>(List.of("is_active = TRUE"));
+        Map<String, Object> binds = new LinkedHashMap<>();
+        addCondition(conditions, binds, "status = :status", "status", filter.status() == null ? null : filter.status().name());
+        addCondition(conditions, binds, "appointment_type = :appointmentType", "appointmentType",
+                filter.appointmentType() == null ? null : filter.appointmentType().name());
+        addCondition(conditions, binds, "mode = :mode", "mode", filter.mode() == null ? null : filter.mode().name());
+        addCondition(conditions, binds, "provider_id = :providerId", "providerId", filter.providerId());
+        addCondition(conditions, binds, "patient_id = :patientId", "patientId", filter.patientId());
+        addCondition(conditions, binds, "date_time >= :startTime", "startTime",
+                filter.startDate() == null ? null : filter.startDate().atStartOfDay());
+        addCondition(conditions, binds, "date_time < :endTime", "endTime",
+                filter.endDate() == null ? null : filter.endDate().plusDays(1).atStartOfDay());
+        addCondition(conditions, binds, "LOWER(patient_first_name || ' ' || patient_last_name) LIKE :patientName ESCAPE '\\'",
+                "patientName", containsPattern(filter.patientName()));
+        addCondition(conditions, binds, "LOWER(provider_first_name || ' ' || provider_last_name) LIKE :providerName ESCAPE '\\'",
+                "providerName", containsPattern(filter.providerName()));
+
+        String order = SORT_COLUMNS.get(sortField).stream()
+                .map(column -> column + " " + direction.name())
+                .reduce((left, right) -> left + ", " + right)
+                .orElseThrow();
+        String sql = "SELECT id, date_time, appointment_type, mode, patient_first_name, patient_last_name, patient_name, "
+                + "patient_gender, patient_date_of_birth, patient_phone, provider_first_name, provider_last_name, "
+                + "provider_name, provider_specialization, reason_for_visit, estimated_amount, status, can_start, can_edit "
+                + "FROM appointment_list_entries WHERE " + String.join(" AND ", conditions) + " ORDER BY " + order;
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Map.Entry<String, Object> bind : binds.entrySet()) {
+            spec = spec.bind(bind.getKey(), bind.getValue());
+        }
+        return spec.map(ReactiveAppointmentRepository::toRow).all();
+    }
+
+    private static void addCondition(List<String> conditions, Map<String, Object> binds,
+                                     String condition, String name, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            binds.put(name, value);
+        }
+    }
+
+    // Same case-insensitive substring match as AppointmentSpecifications.patientNameContains
+    private static String containsPattern(String fragment) {
+        if (fragment == null || fragment.isBlank()) {
+            return null;
+        }
+        return "%" + AppointmentSpecifications.escapeLike(fragment.trim().toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    private static AppointmentListRow toRow(Readable row) {
+        return new AppointmentListRow(
+                row.get("id", UUID.class),
+                row.get("date_time", LocalDateTime.class),
+                AppointmentType.valueOf(row.get("appointment_type", String.class)),
+                AppointmentMode.valueOf(row.get("mode", String.class)),
+                row.get("patient_first_name", String.class),
+                row.get("patient_last_name", String.class),
+                row.get("patient_name", String.class),
+                Gender.valueOf(row.get("patient_gender", String.class)),
+                row.get("patient_date_of_birth", LocalDate.class),
+                row.get("patient_phone", String.class),
+                row.get("provider_first_name", String.class),
+                row.get("provider_last_name", String.class),
+                row.get("provider_name", String.class),
+                Specialization.valueOf(row.get("provider_specialization", String.class)),
+                row.get("reason_for_visit", String.class),
+                row.get("estimated_amount", BigDecimal.class),
+                AppointmentStatus.valueOf(row.get("status", String.class)),
+                Boolean.TRUE.equals(row.get("can_start", Boolean.class)),
+                Boolean.TRUE.equals(row.get("can_edit", Boolean.class)));
+    }
+
+    /**
+     * The list filters the reactive list supports; {@code null} means no restriction. Names
+     * are fragments of "firstName lastName", without the provider's title.
+     */
+    public record ListFilter(UUID providerId,
+                             UUID patientId,
+                             AppointmentStatus status,
+                             AppointmentType appointmentType,
+                             AppointmentMode mode,
+                             LocalDate startDate,
+                             LocalDate endDate,
+                             String patientName,
+                             String providerName) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.thinkitive.thinkemr.service;
+
+import java.time.LocalDateTime;
+
+public interface AppointmentArchiveService {
+    /**
+     * Moves finished and cancelled visits that started before {@code cutoff} from
+     * {@code appointments} to {@code appointments_archive}. Returns how many were moved.
+     */
+    int archiveVisitsBefore(LocalDateTime cutoff);
+
+    /**
+     * Creates any missing monthly partitions of {@code appointments} up to the configured
+     * number of months ahead. Does nothing on databases that are not partitioned.
+     */
+    void ensurePartitions();
+}
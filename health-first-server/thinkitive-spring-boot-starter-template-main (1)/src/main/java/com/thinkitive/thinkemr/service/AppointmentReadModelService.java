@@ -0,0 +1,11 @@
+package com.thinkitive.thinkemr.service;
+
+public interface AppointmentReadModelService {
+    /**
+     * Replaces the appointment list read model with a fresh copy of the live appointments,
+     * in one transaction. For recovery and after rows were written behind the service;
+     * bookings committed while it runs can make it fail, in which case it is rolled back.
+     * Returns how many entries were written.
+     */
+    int rebuild();
+}
@@ -1,11 +1,34 @@
 package com.thinkitive.thinkemr.service;
 
+import com.thinkitive.thinkemr.dto.AppointmentBatchBookingRequest;
+import com.thinkitive.thinkemr.dto.AppointmentBatchBookingResponse;
 import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
 import com.thinkitive.thinkemr.dto.AppointmentBookingResponse;
 import com.thinkitive.thinkemr.dto.AppointmentListRequest;
 import com.thinkitive.thinkemr.dto.AppointmentListResponse;
+import com.thinkitive.thinkemr.dto.AppointmentStatusUpdateResponse;
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import com.thinkitive.thinkemr.util.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
 
 public interface AppointmentService {
     AppointmentBookingResponse bookAppointment(AppointmentBookingRequest request);
+    AppointmentBatchBookingResponse bookAppointments(AppointmentBatchBookingRequest request);
+    AppointmentStatusUpdateResponse updateAppointmentStatus(UUID appointmentId, AppointmentStatus status);
     AppointmentListResponse listAppointments(AppointmentListRequest request);
+
+    /**
+     * Checks the filters and sort of an export without running it, so bad ones can be
+     * reported before a streamed response starts.
+     */
+    void checkExportRequest(AppointmentListRequest request);
+
+    /**
+     * Writes every appointment matching the list filters to {@code output}, as NDJSON or CSV,
+     * reading them in fetch-size chunks inside one read-only transaction.
+     */
+    void exportAppointments(AppointmentListRequest request, ExportFormat format, OutputStream output) throws IOException;
 } 
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.thinkitive.thinkemr.service;
+
+import com.thinkitive.thinkemr.entity.OutboxMessageType;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface OutboxService {
+    /**
+     * Records a notification in the caller's transaction, so it is sent if and only if that
+     * transaction commits. Must be called inside a transaction.
+     */
+    void enqueue(OutboxMessageType type, UUID aggregateId, String recipient, Map<String, ?> payload);
+
+    /**
+     * Claims due messages in batches and hands them to the notification sender until none
+     * are left. Failed messages are retried with exponential backoff and marked failed after
+     * the configured number of attempts. Returns how many messages were sent.
+     */
+    int dispatch();
+}
@@ -0,0 +1,36 @@
+package com.thinkitive.thinkemr.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Runs password hashing and verification on a dedicated executor sized to the CPU count, so
+ * a burst of logins or registrations cannot occupy the request threads other endpoints need.
+ */
+public interface PasswordHashingService {
+    /**
+     * Hashes a password and waits for the result. Throws
+     * {@link com.thinkitive.thinkemr.exception.ServiceOverloadedException} at once when the
+     * executor's queue is full, or when the hash has not finished within the configured wait.
+     */
+    String encode(CharSequence rawPassword);
+
+    /**
+     * Checks a password against a stored hash, with the same admission rules as {@link #encode}.
+     */
+    boolean matches(CharSequence rawPassword, String encodedPassword);
+
+    /**
+     * Hashes many passwords for a bulk job. Never rejected: it keeps at most one hash per
+     * executor thread in flight, so interactive requests still find room in the queue, and
+     * hashes on the calling thread when the queue is full.
+     */
+    List<String> encodeAll(List<? extends CharSequence> rawPasswords);
+
+    /**
+     * After a successful login: when the stored hash is not in the current encoding and work
+     * factor, hashes the password again in the background and hands the new hash to
+     * {@code store}. Skipped while the executor is busy; the next login tries again.
+     */
+    void rehashIfOutdated(CharSequence rawPassword, String encodedPassword, Consumer<String> store);
+}
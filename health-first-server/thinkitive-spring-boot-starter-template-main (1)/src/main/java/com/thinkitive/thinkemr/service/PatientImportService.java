@@ -0,0 +1,20 @@
+package com.thinkitive.thinkemr.service;
+
+import com.thinkitive.thinkemr.dto.PatientImportResult;
+import com.thinkitive.thinkemr.util.ExportFormat;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PatientImportService {
+    /**
+     * Registers every patient of an NDJSON or CSV upload, with the rules of a single
+     * registration, and returns one {@link PatientImportResult} per row. The stream is lazy:
+     * each element is the results of one batch, read, checked, hashed and inserted in its own
+     * transaction as it is pulled, so rows imported before a failure stay imported. Reading
+     * the upload fails with an {@link java.io.UncheckedIOException}. The CSV header is read
+     * before returning, so a missing column is reported as a 400. Close the stream when done.
+     */
+    Stream<List<PatientImportResult>> importPatients(InputStream input, ExportFormat format);
+}
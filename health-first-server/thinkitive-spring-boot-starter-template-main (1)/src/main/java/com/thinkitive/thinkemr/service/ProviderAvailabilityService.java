@@ -0,0 +1,12 @@
+package com.thinkitive.thinkemr.service;
+
+import com.thinkitive.thinkemr.dto.ProviderAvailabilityResponse;
+import com.thinkitive.thinkemr.entity.Specialization;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface ProviderAvailabilityService {
+    ProviderAvailabilityResponse getProviderAvailability(UUID providerId, LocalDate from, LocalDate to);
+    ProviderAvailabilityResponse getSpecializationAvailability(Specialization specialization, LocalDate from, LocalDate to);
+}
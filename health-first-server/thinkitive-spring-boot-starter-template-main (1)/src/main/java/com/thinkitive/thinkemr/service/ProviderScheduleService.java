@@ -0,0 +1,14 @@
+package com.thinkitive.thinkemr.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface ProviderScheduleService {
+    /**
+     * Opens a live feed of the provider's schedule for {@code date} (today when {@code null}):
+     * the day's agenda first, then a delta for every booking and status change on that day.
+     */
+    SseEmitter openScheduleStream(UUID providerId, LocalDate date);
+}
@@ -0,0 +1,28 @@
+package com.thinkitive.thinkemr.service;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.dto.AppointmentBookingResponse;
+import com.thinkitive.thinkemr.dto.AppointmentListRequest;
+import com.thinkitive.thinkemr.dto.AppointmentListResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the booking and list operations of {@link AppointmentService},
+ * served by the {@code reactive} profile.
+ */
+public interface ReactiveAppointmentService {
+    /**
+     * Same validation, conflict rule and side effects as
+     * {@link AppointmentService#bookAppointment}; fails with {@link IllegalArgumentException}
+     * where that method throws it.
+     */
+    Mono<AppointmentBookingResponse> bookAppointment(AppointmentBookingRequest request);
+
+    /**
+     * Every live appointment matching the list filters, in the requested order, without
+     * paging; the page, cursor and archive parameters are not supported. Rows are read as
+     * the subscriber requests them.
+     */
+    Flux<AppointmentListResponse.AppointmentItem> streamAppointments(AppointmentListRequest request);
+}
@@ -0,0 +1,137 @@
+package com.thinkitive.thinkemr.service.impl;
+
+import com.thinkitive.thinkemr.cache.AppointmentListCache;
+import com.thinkitive.thinkemr.cache.AppointmentStatusCounters;
+import com.thinkitive.thinkemr.cache.ChangeVersions;
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import com.thinkitive.thinkemr.repository.AppointmentListEntryRepository;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.service.AppointmentArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class AppointmentArchiveServiceImpl implements AppointmentArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentArchiveServiceImpl.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentListEntryRepository listEntryRepository;
+    private final AppointmentStatusCounters statusCounters;
+    private final AppointmentListCache listCache;
+    private final ChangeVersions changeVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration horizon;
+    private final Set<AppointmentStatus> archivedStatuses;
+    private final int batchSize;
+    private final int partitionMonthsAhead;
+    private volatile Boolean partitioned;
+
+    public AppointmentArchiveServiceImpl(
+            AppointmentRepository appointmentRepository,
+            AppointmentListEntryRepository listEntryRepository,
+            AppointmentStatusCounters statusCounters,
+            AppointmentListCache listCache,
+            ChangeVersions changeVersions,
+            TransactionTemplate transactionTemplate,
+            JdbcTemplate jdbcTemplate,
+            @Value("${thinkemr.appointments.archive.horizon:P365D}") Duration horizon,
+            @Value("${thinkemr.appointments.archive.statuses:IN_EXAM,CANCELLED}") Set<AppointmentStatus> archivedStatuses,
+            @Value("${thinkemr.appointments.archive.batch-size:500}") int batchSize,
+            @Value("${thinkemr.appointments.partitions.months-ahead:12}") int partitionMonthsAhead
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.listEntryRepository = listEntryRepository;
+        this.statusCounters = statusCounters;
+        this.listCache = listCache;
+        this.changeVersions = changeVersions;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.horizon = horizon;
+        this.archivedStatuses = archivedStatuses;
+        this.batchSize = batchSize;
+        this.partitionMonthsAhead = partitionMonthsAhead;
+    }
+
+    @Scheduled(cron = "${thinkemr.appointments.archive.cron:0 30 2 * * *}")
+    public void archivePastVisits() {
+        archiveVisitsBefore(LocalDate.now().atStartOfDay().minus(horizon));
+    }
+
+    @Override
+    public int archiveVisitsBefore(LocalDateTime cutoff) {
+        logger.info("Archiving {} appointments before {}", archivedStatuses, cutoff);
+        LocalDateTime archivedAt = LocalDateTime.now();
+        int archived = 0;
+        int moved;
+        // Short transactions of one batch each, so the job never holds many row locks at once
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff, archivedAt));
+            archived += moved;
+        } while (moved == batchSize);
+
+        if (archived > 0) {
+            // Archived rows no longer count as active appointments, and leave live-only lists
+            statusCounters.initialize();
+            listCache.invalidateAll();
+            changeVersions.appointmentsChanged();
+        }
+        logger.info("Archived {} appointments", archived);
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff, LocalDateTime archivedAt) {
+        List<UUID> ids = appointmentRepository.findArchivableIds(cutoff, archivedStatuses, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = appointmentRepository.copyToArchive(ids, cutoff, archivedAt);
+        int deleted = appointmentRepository.deleteArchived(ids, cutoff);
+        if (copied != ids.size() || deleted != ids.size()) {
+            // Rolls the batch back; another node is archiving the same rows
+            throw new IllegalStateException("Appointments changed while being archived");
+        }
+        // The read model only lists live appointments
+        listEntryRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${thinkemr.appointments.partitions.cron:0 0 2 * * *}")
+    @Override
+    public void ensurePartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        jdbcTemplate.query("SELECT ensure_appointment_partitions(CURRENT_DATE, ?)", resultSet -> null,
+                partitionMonthsAhead);
+        logger.info("Appointment partitions ensured {} months ahead", partitionMonthsAhead);
+    }
+
+    /**
+     * Only the PostgreSQL schema partitions appointments; H2 keeps a single table.
+     */
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            partitioned = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return partitioned;
+    }
+}
@@ -0,0 +1,59 @@
+package com.thinkitive.thinkemr.service.impl;
+
+import com.thinkitive.thinkemr.cache.AppointmentListCache;
+import com.thinkitive.thinkemr.cache.ChangeVersions;
+import com.thinkitive.thinkemr.repository.AppointmentListEntryRepository;
+import com.thinkitive.thinkemr.service.AppointmentReadModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class AppointmentReadModelServiceImpl implements AppointmentReadModelService {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentReadModelServiceImpl.class);
+
+    private final AppointmentListEntryRepository listEntryRepository;
+    private final AppointmentListCache listCache;
+    private final ChangeVersions changeVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean rebuildOnStartup;
+
+    public AppointmentReadModelServiceImpl(
+            AppointmentListEntryRepository listEntryRepository,
+            AppointmentListCache listCache,
+            ChangeVersions changeVersions,
+            TransactionTemplate transactionTemplate,
+            @Value("${thinkemr.appointments.read-model.rebuild-on-startup:false}") boolean rebuildOnStartup
+    ) {
+        this.listEntryRepository = listEntryRepository;
+        this.listCache = listCache;
+        this.changeVersions = changeVersions;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfConfigured() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public int rebuild() {
+        logger.info("Rebuilding appointment list read model");
+        int written = transactionTemplate.execute(status -> {
+            listEntryRepository.deleteAllInBatch();
+            return listEntryRepository.insertFromAppointments();
+        });
+        // Pages and tags served from the old copy may not match the new one
+        listCache.invalidateAll();
+        changeVersions.appointmentsChanged();
+        logger.info("Appointment list read model rebuilt with {} entries", written);
+        return written;
+    }
+}
@@ -1,74 +1,151 @@
 package com.thinkitive.thinkemr.service.impl;
 
+import com.thinkitive.thinkemr.cache.AppointmentListCache;
+import com.thinkitive.thinkemr.cache.AppointmentStatusCounters;
+import com.thinkitive.thinkemr.cache.PersonNameIndexes;
+import com.thinkitive.thinkemr.cache.ProviderScheduleIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinkitive.thinkemr.dto.AppointmentBatchBookingRequest;
+import com.thinkitive.thinkemr.dto.AppointmentBatchBookingResponse;
 import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
 import com.thinkitive.thinkemr.dto.AppointmentBookingResponse;
 import com.thinkitive.thinkemr.dto.AppointmentListRequest;
 import com.thinkitive.thinkemr.dto.AppointmentListResponse;
+import com.thinkitive.thinkemr.dto.AppointmentStatusUpdateResponse;
 import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.event.AppointmentChangedEvent;
+import com.thinkitive.thinkemr.repository.AppointmentListEntryRepository;
+import com.thinkitive.thinkemr.repository.AppointmentListRow;
 import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.AppointmentSortField;
+import com.thinkitive.thinkemr.repository.AppointmentSpecifications;
+import com.thinkitive.thinkemr.repository.BookingPatient;
+import com.thinkitive.thinkemr.repository.BookingProvider;
 import com.thinkitive.thinkemr.repository.PatientRepository;
 import com.thinkitive.thinkemr.repository.ProviderRepository;
 import com.thinkitive.thinkemr.service.AppointmentService;
+import com.thinkitive.thinkemr.service.OutboxService;
+import com.thinkitive.thinkemr.util.AppointmentCursor;
+import com.thinkitive.thinkemr.util.ExportFormat;
+import com.thinkitive.thinkemr.util.ProviderBookingLocks;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AppointmentServiceImpl implements AppointmentService {
     private static final Logger logger = LoggerFactory.getLogger(AppointmentServiceImpl.class);
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_FETCH_SIZE = 500;
+    // Largest id list a name filter turns into an IN predicate
+    private static final int NAME_CANDIDATE_LIMIT = 500;
+    private static final String CSV_HEADER = "appointmentId,dateTime,appointmentType,mode,patientName,patientGender,"
+            + "patientDateOfBirth,patientAge,patientPhone,providerName,providerSpecialization,reasonForVisit,"
+            + "estimatedAmount,status,canStart,canEdit";
+    // Appointment duration; bookings for a provider must start at least this far apart
+    static final Duration APPOINTMENT_BUFFER = Duration.ofMinutes(30);
+    static final String CONFLICT_MESSAGE = "Appointment time conflicts with existing appointment for this provider";
     
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentListEntryRepository listEntryRepository;
     private final PatientRepository patientRepository;
     private final ProviderRepository providerRepository;
+    private final AppointmentStatusCounters statusCounters;
+    private final AppointmentListCache listCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProviderScheduleIndex scheduleIndex;
+    private final PersonNameIndexes nameIndexes;
+    private final ProviderBookingLocks bookingLocks;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${thinkemr.booking.conflict-index.verify-with-database:false}")
+    private boolean verifyConflictsWithDatabase;
 
     @Override
-    @Transactional
     public AppointmentBookingResponse bookAppointment(AppointmentBookingRequest request) {
         logger.info("Booking appointment for patient: {} and provider: {}", request.getPatientId(), request.getProviderId());
+        requireId(request.getPatientId(), "Patient ID cannot be null");
+        requireId(request.getProviderId(), "Provider ID cannot be null");
         
+        // Check-then-insert must not interleave for one provider: hold the provider's lock
+        // across the whole transaction, including commit and the after-commit index update
+        return bookingLocks.withLock(request.getProviderId(),
+                () -> transactionTemplate.execute(status -> bookWithinTransaction(request)));
+    }
+    
+    private AppointmentBookingResponse bookWithinTransaction(AppointmentBookingRequest request) {
         // Validate patient exists and is active
-        Patient patient = validateAndGetPatient(request.getPatientId());
+        BookingPatient patient = validateAndGetPatient(request.getPatientId());
         
         // Validate provider exists and is active
-        Provider provider = validateAndGetProvider(request.getProviderId());
+        BookingProvider provider = validateAndGetProvider(request.getProviderId());
         
         // Validate appointment time is in the future
         validateAppointmentTime(request.getDateTime());
         
         // Check for appointment conflicts (30-minute buffer)
-        validateNoConflicts(provider.getId(), request.getDateTime());
-        
-        // Create clinic address
-        ClinicAddress clinicAddress = createClinicAddress(request.getClinicAddress());
+        validateNoConflicts(provider.id(), request.getDateTime());
         
-        // Build and save appointment
-        Appointment appointment = Appointment.builder()
-                .patient(patient)
-                .provider(provider)
-                .appointmentType(request.getAppointmentType())
-                .mode(request.getMode())
-                .dateTime(request.getDateTime())
-                .reasonForVisit(StringUtils.trimWhitespace(request.getReasonForVisit()))
-                .estimatedAmount(request.getEstimatedAmount())
-                .clinicAddress(clinicAddress)
-                .status(AppointmentStatus.SCHEDULED)
-                .isActive(true)
-                .build();
+        // Build and save appointment; patient and provider are only linked by foreign key
+        Appointment appointment = buildAppointment(request,
+                patientRepository.getReferenceById(patient.id()), providerRepository.getReferenceById(provider.id()));
         
-        appointment = appointmentRepository.save(appointment);
+        try {
+            appointment = appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            // Another node booked exactly this slot (provider/date_time unique constraint)
+            scheduleIndex.evict(provider.id());
+            throw new IllegalArgumentException(CONFLICT_MESSAGE);
+        }
+        AppointmentListEntry entry = listEntryRepository.save(
+                new AppointmentListEntry(appointment, patient.toListed(), provider.toListed()));
+        enqueueConfirmation(appointment, patient.email(), entry.getProvider());
+        eventPublisher.publishEvent(AppointmentChangedEvent.booked(
+                appointment.getId(), provider.id(), patient.id(), appointment.getDateTime()));
         
         logger.info("Appointment booked: {} for patient: {} with provider: {} at {}", 
-                appointment.getId(), patient.getId(), provider.getId(), request.getDateTime());
+                appointment.getId(), patient.id(), provider.id(), request.getDateTime());
         
         // Create response
         AppointmentBookingResponse.Data data = new AppointmentBookingResponse.Data(
@@ -86,34 +163,272 @@ public class AppointmentServiceImpl implements AppointmentService {
         );
     }
 
+    @Override
+    public AppointmentBatchBookingResponse bookAppointments(AppointmentBatchBookingRequest request) {
+        List<AppointmentBookingRequest> items = request.getAppointments();
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Appointments list cannot be empty");
+        }
+        for (AppointmentBookingRequest item : items) {
+            requireId(item.getPatientId(), "Patient ID cannot be null");
+            requireId(item.getProviderId(), "Provider ID cannot be null");
+        }
+        boolean allOrNothing = !Boolean.FALSE.equals(request.getAllOrNothing());
+        logger.info("Booking batch of {} appointments (all-or-nothing: {})", items.size(), allOrNothing);
+        
+        // Same per-provider serialisation as single bookings; locks are taken in id order
+        Set<UUID> providerIds = items.stream()
+                .map(AppointmentBookingRequest::getProviderId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return bookingLocks.withLocks(providerIds,
+                () -> transactionTemplate.execute(status -> bookBatchWithinTransaction(items, allOrNothing)));
+    }
+    
+    private AppointmentBatchBookingResponse bookBatchWithinTransaction(List<AppointmentBookingRequest> items,
+                                                                       boolean allOrNothing) {
+        // One IN query per table instead of two lookups per appointment
+        Map<UUID, BookingPatient> patients = patientRepository.findAllForBooking(distinct(items, AppointmentBookingRequest::getPatientId))
+                .stream()
+                .collect(Collectors.toMap(BookingPatient::id, Function.identity()));
+        Map<UUID, BookingProvider> providers = providerRepository.findAllForBooking(distinct(items, AppointmentBookingRequest::getProviderId))
+                .stream()
+                .collect(Collectors.toMap(BookingProvider::id, Function.identity()));
+        
+        String[] errors = new String[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            errors[i] = validateBatchItem(items.get(i), patients, providers);
+        }
+        findBatchConflicts(items, errors);
+        
+        int failed = (int) Arrays.stream(errors).filter(Objects::nonNull).count();
+        if (failed > 0 && allOrNothing) {
+            logger.info("Rejected batch of {} appointments: {} failed validation", items.size(), failed);
+            return batchResponse(items, errors, new Appointment[items.size()], 0);
+        }
+        
+        Appointment[] booked = new Appointment[items.size()];
+        List<Appointment> toSave = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] == null) {
+                AppointmentBookingRequest item = items.get(i);
+                booked[i] = buildAppointment(item, patientRepository.getReferenceById(item.getPatientId()),
+                        providerRepository.getReferenceById(item.getProviderId()));
+                toSave.add(booked[i]);
+            }
+        }
+        
+        // Ids are generated in the JVM, so the inserts go out as JDBC batches on flush
+        try {
+            appointmentRepository.saveAll(toSave);
+            appointmentRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // Another node booked one of these exact slots (provider/date_time unique constraint)
+            toSave.forEach(appointment -> scheduleIndex.evict(appointment.getProvider().getId()));
+            throw new IllegalArgumentException(CONFLICT_MESSAGE);
+        }
+        List<AppointmentListEntry> entries = toSave.stream()
+                .map(appointment -> new AppointmentListEntry(appointment,
+                        patients.get(appointment.getPatient().getId()).toListed(),
+                        providers.get(appointment.getProvider().getId()).toListed()))
+                .toList();
+        listEntryRepository.saveAll(entries);
+        for (int i = 0; i < toSave.size(); i++) {
+            Appointment appointment = toSave.get(i);
+            enqueueConfirmation(appointment, patients.get(appointment.getPatient().getId()).email(),
+                    entries.get(i).getProvider());
+            eventPublisher.publishEvent(AppointmentChangedEvent.booked(appointment.getId(),
+                    appointment.getProvider().getId(), appointment.getPatient().getId(), appointment.getDateTime()));
+        }
+        logger.info("Booked {} of {} appointments in batch", toSave.size(), items.size());
+        
+        return batchResponse(items, errors, booked, toSave.size());
+    }
+    
+    /**
+     * Confirmation to the patient, sent by the outbox dispatcher once the booking commits.
+     */
+    private void enqueueConfirmation(Appointment appointment, String recipient, ListedProvider provider) {
+        outboxService.enqueue(OutboxMessageType.APPOINTMENT_CONFIRMATION, appointment.getId(),
+                recipient, confirmationPayload(appointment, provider));
+    }
+    
+    static Map<String, Object> confirmationPayload(Appointment appointment, ListedProvider provider) {
+        return Map.of(
+                "appointmentId", appointment.getId(),
+                "dateTime", appointment.getDateTime().toString(),
+                "providerName", provider.getName(),
+                "mode", appointment.getMode());
+    }
+    
+    private String validateBatchItem(AppointmentBookingRequest item,
+                                     Map<UUID, BookingPatient> patients,
+                                     Map<UUID, BookingProvider> providers) {
+        BookingPatient patient = patients.get(item.getPatientId());
+        if (patient == null) {
+            return "Patient not found with ID: " + item.getPatientId();
+        }
+        if (!patient.active()) {
+            return "Patient is not active: " + item.getPatientId();
+        }
+        BookingProvider provider = providers.get(item.getProviderId());
+        if (provider == null) {
+            return "Provider not found with ID: " + item.getProviderId();
+        }
+        if (!provider.active()) {
+            return "Provider is not active: " + item.getProviderId();
+        }
+        if (item.getDateTime() == null || item.getDateTime().isBefore(LocalDateTime.now())) {
+            return "Appointment time must be in the future";
+        }
+        return null;
+    }
+    
+    /**
+     * Marks items that conflict with an existing appointment or with an earlier item of the
+     * same batch. Existing times are read with one range query per provider, covering all of
+     * that provider's items; earlier items win when two items in the batch collide.
+     */
+    private void findBatchConflicts(List<AppointmentBookingRequest> items, String[] errors) {
+        Map<UUID, List<Integer>> indexesByProvider = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (errors[i] == null) {
+                indexesByProvider.computeIfAbsent(items.get(i).getProviderId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+        
+        indexesByProvider.forEach((providerId, indexes) -> {
+            LocalDateTime earliest = indexes.stream().map(i -> items.get(i).getDateTime()).min(LocalDateTime::compareTo).orElseThrow();
+            LocalDateTime latest = indexes.stream().map(i -> items.get(i).getDateTime()).max(LocalDateTime::compareTo).orElseThrow();
+            TreeSet<LocalDateTime> taken = new TreeSet<>(appointmentRepository.findActiveAppointmentTimesBetween(
+                    providerId, earliest.minus(APPOINTMENT_BUFFER), latest.plus(APPOINTMENT_BUFFER)));
+            
+            for (int i : indexes) {
+                LocalDateTime dateTime = items.get(i).getDateTime();
+                // Same rule as existsConflictingAppointment: within the buffer, bounds inclusive
+                LocalDateTime nearest = taken.ceiling(dateTime.minus(APPOINTMENT_BUFFER));
+                if (nearest != null && !nearest.isAfter(dateTime.plus(APPOINTMENT_BUFFER))) {
+                    errors[i] = CONFLICT_MESSAGE;
+                } else {
+                    taken.add(dateTime);
+                }
+            }
+        });
+    }
+    
+    private AppointmentBatchBookingResponse batchResponse(List<AppointmentBookingRequest> items,
+                                                          String[] errors,
+                                                          Appointment[] booked,
+                                                          int bookedCount) {
+        List<AppointmentBatchBookingResponse.ItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            AppointmentBookingRequest item = items.get(i);
+            Appointment appointment = booked[i];
+            results.add(new AppointmentBatchBookingResponse.ItemResult(
+                    i,
+                    appointment != null,
+                    appointment == null ? null : appointment.getId(),
+                    item.getPatientId(),
+                    item.getProviderId(),
+                    appointment == null ? "failed" : appointment.getStatus().name().toLowerCase(),
+                    appointment == null && errors[i] == null ? "Not booked: another appointment in the batch failed" : errors[i]
+            ));
+        }
+        
+        int failedCount = items.size() - bookedCount;
+        String message = failedCount == 0
+                ? "Booked " + bookedCount + " of " + items.size() + " appointments"
+                : bookedCount == 0
+                    ? "No appointments were booked; " + failedCount + " of " + items.size() + " failed"
+                    : "Booked " + bookedCount + " of " + items.size() + " appointments; " + failedCount + " failed";
+        
+        return new AppointmentBatchBookingResponse(
+                failedCount == 0,
+                message,
+                LocalDateTime.now(),
+                new AppointmentBatchBookingResponse.Data(items.size(), bookedCount, failedCount, results)
+        );
+    }
+    
+    private static List<UUID> distinct(List<AppointmentBookingRequest> items,
+                                       Function<AppointmentBookingRequest, UUID> id) {
+        return items.stream().map(id).distinct().toList();
+    }
+
+    @Override
+    @Transactional
+    public AppointmentStatusUpdateResponse updateAppointmentStatus(UUID appointmentId, AppointmentStatus status) {
+        logger.info("Updating status of appointment {} to {}", appointmentId, status);
+        
+        Appointment appointment = appointmentRepository.findById(appointmentId)
+                .filter(Appointment::getIsActive)
+                .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
+        
+        AppointmentStatus previousStatus = appointment.getStatus();
+        if (previousStatus == AppointmentStatus.CANCELLED && status != AppointmentStatus.CANCELLED) {
+            throw new IllegalArgumentException("Cancelled appointment cannot be reopened: " + appointmentId);
+        }
+        
+        if (previousStatus != status) {
+            appointment.setStatus(status);
+            listEntryRepository.updateStatus(appointment.getId(), status, status.canStart(), status.canEdit());
+            eventPublisher.publishEvent(new AppointmentChangedEvent(
+                    appointment.getId(),
+                    appointment.getProvider().getId(),
+                    appointment.getPatient().getId(),
+                    appointment.getDateTime(),
+                    previousStatus,
+                    status
+            ));
+        }
+        
+        AppointmentStatusUpdateResponse.Data data = new AppointmentStatusUpdateResponse.Data(
+                appointment.getId(),
+                previousStatus.name().toLowerCase(),
+                status.name().toLowerCase()
+        );
+        
+        return new AppointmentStatusUpdateResponse(
+                true,
+                "Appointment status updated successfully",
+                LocalDateTime.now(),
+                data
+        );
+    }
+
     @Override
     public AppointmentListResponse listAppointments(AppointmentListRequest request) {
         logger.info("Listing appointments");
         
         try {
-            // Get all active appointments
-            List<Appointment> allAppointments = appointmentRepository.findAllActiveAppointments();
-            logger.info("Found {} appointments", allAppointments.size());
+            int size = resolveSize(request.getSize());
+            AppointmentSortField sortField = resolveSortField(request.getSortBy());
+            Sort.Direction direction = resolveDirection(request.getSortDirection());
+            Specification<AppointmentRecord> specification = buildFilter(request);
+            boolean cursorMode = isCursorMode(request);
+            int page = cursorMode ? 0 : resolvePage(request.getPage());
             
-            // Convert to DTOs
-            List<AppointmentListResponse.AppointmentItem> appointmentItems = allAppointments.stream()
-                    .map(this::convertToAppointmentItem)
-                    .toList();
-            
-            // Create simple pagination info
-            AppointmentListResponse.PaginationInfo paginationInfo = new AppointmentListResponse.PaginationInfo(
-                    1, allAppointments.size(), allAppointments.size(), 1, false, false
-            );
-            
-            // Create simple summary info
-            AppointmentListResponse.SummaryInfo summaryInfo = new AppointmentListResponse.SummaryInfo(
-                    allAppointments.size(), 0, 0, 0, 0
-            );
-            
-            // Create response data
-            AppointmentListResponse.Data data = new AppointmentListResponse.Data(
-                    appointmentItems, paginationInfo, summaryInfo
+            AppointmentListResponse.SummaryInfo summaryInfo = resolveSummary(request);
+            boolean includeArchived = Boolean.TRUE.equals(request.getIncludeArchived());
+            AppointmentListCache.Key cacheKey = new AppointmentListCache.Key(
+                    request.getProviderId(),
+                    request.getPatientId(),
+                    request.getStatus(),
+                    request.getAppointmentType(),
+                    request.getMode(),
+                    request.getStartDate(),
+                    request.getEndDate(),
+                    normalizeName(request.getPatientName()),
+                    normalizeName(stripTitle(request.getProviderName())),
+                    includeArchived,
+                    sortField,
+                    direction,
+                    page,
+                    size,
+                    cursorMode ? request.getCursor() : null
             );
+            AppointmentListResponse.Data data = cursorMode
+                    ? listByCursor(cacheKey, specification, includeArchived, sortField, direction, size, request.getCursor(), summaryInfo)
+                    : listByOffset(cacheKey, specification, includeArchived, sortField, direction, page, size, summaryInfo);
             
             return new AppointmentListResponse(
                     true,
@@ -127,96 +442,427 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
     }
     
-    private AppointmentListResponse.AppointmentItem convertToAppointmentItem(Appointment appointment) {
-        // Calculate patient age
-        int patientAge = calculateAge(appointment.getPatient().getDateOfBirth());
-        
-        // Determine action permissions
-        boolean canStart = appointment.getStatus() == AppointmentStatus.SCHEDULED || 
-                          appointment.getStatus() == AppointmentStatus.CHECKED_IN;
-        boolean canEdit = appointment.getStatus() != AppointmentStatus.CANCELLED;
+    @Override
+    public void checkExportRequest(AppointmentListRequest request) {
+        resolveExport(request);
+    }
+    
+    @Override
+    public void exportAppointments(AppointmentListRequest request, ExportFormat format, OutputStream output) throws IOException {
+        ExportQuery query = resolveExport(request);
+        logger.info("Exporting appointments as {}", format);
         
-        return new AppointmentListResponse.AppointmentItem(
-                appointment.getId(),
-                appointment.getDateTime(),
-                appointment.getAppointmentType(),
-                appointment.getMode(),
-                appointment.getPatient().getFirstName() + " " + appointment.getPatient().getLastName(),
-                appointment.getPatient().getGender().name(),
-                appointment.getPatient().getDateOfBirth(),
-                patientAge,
-                appointment.getPatient().getPhoneNumber(),
-                "Dr. " + appointment.getProvider().getFirstName() + " " + appointment.getProvider().getLastName(),
-                appointment.getProvider().getSpecialization().name(),
-                appointment.getReasonForVisit(),
-                appointment.getEstimatedAmount(),
-                appointment.getStatus(),
-                canStart,
-                canEdit
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        // Send the first bytes right away; the rest goes out as the buffer fills
+        writer.flush();
+        try {
+            Long exported = readOnlyTransaction().execute(status -> {
+                try (Stream<AppointmentListRow> rows = appointmentRepository.streamRows(
+                        query.specification(), query.includeArchived(), query.sortField(), query.direction(),
+                        EXPORT_FETCH_SIZE)) {
+                    LocalDate today = LocalDate.now();
+                    long count = 0;
+                    for (AppointmentListRow row : (Iterable<AppointmentListRow>) rows::iterator) {
+                        writeExportRow(writer, convertToAppointmentItem(row, today), format);
+                        count++;
+                    }
+                    return count;
+                }
+            });
+            writer.flush();
+            logger.info("Exported {} appointments as {}", exported, format);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private ExportQuery resolveExport(AppointmentListRequest request) {
+        return new ExportQuery(
+                resolveSortField(request.getSortBy()),
+                resolveDirection(request.getSortDirection()),
+                buildFilter(request),
+                Boolean.TRUE.equals(request.getIncludeArchived())
         );
     }
     
-    private int calculateAge(LocalDate dateOfBirth) {
-        return java.time.Period.between(dateOfBirth, LocalDate.now()).getYears();
+    private record ExportQuery(
+            AppointmentSortField sortField,
+            Sort.Direction direction,
+            Specification<AppointmentRecord> specification,
+            boolean includeArchived
+    ) {
+    }
+    
+    private void writeExportRow(Writer writer, AppointmentListResponse.AppointmentItem item, ExportFormat format) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(String.join(",",
+                        csv(item.getAppointmentId()),
+                        csv(item.getDateTime()),
+                        csv(item.getAppointmentType()),
+                        csv(item.getMode()),
+                        csv(item.getPatientName()),
+                        csv(item.getPatientGender()),
+                        csv(item.getPatientDateOfBirth()),
+                        csv(item.getPatientAge()),
+                        csv(item.getPatientPhone()),
+                        csv(item.getProviderName()),
+                        csv(item.getProviderSpecialization()),
+                        csv(item.getReasonForVisit()),
+                        csv(item.getEstimatedAmount()),
+                        csv(item.getStatus()),
+                        csv(item.isCanStart()),
+                        csv(item.isCanEdit())));
+            } else {
+                writer.write(objectMapper.writeValueAsString(item));
+            }
+            writer.write('\n');
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize appointment " + item.getAppointmentId(), e);
+        } catch (IOException e) {
+            // Client went away; unwound to the caller as the original IOException
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        // Same text as the JSON APIs, which always include seconds
+        String text = value instanceof LocalDateTime dateTime
+                ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime)
+                : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
     }
     
-    private AppointmentListResponse.SummaryInfo getSummaryInfo() {
-        List<Object[]> statusCounts = appointmentRepository.getAppointmentStatusCounts();
+    private AppointmentListResponse.Data listByOffset(AppointmentListCache.Key cacheKey,
+                                                      Specification<AppointmentRecord> specification,
+                                                      boolean includeArchived,
+                                                      AppointmentSortField sortField,
+                                                      Sort.Direction direction,
+                                                      int page,
+                                                      int size,
+                                                      AppointmentListResponse.SummaryInfo summaryInfo) {
+        // Filters, sort and LIMIT/OFFSET are all pushed into the database; the page itself
+        // is a projection and is skipped when the COUNT shows it would be empty. Rows are
+        // projections, so the read-only transaction only saves the flush on commit.
+        long offset = (long) (page - 1) * size;
+        AppointmentListCache.Page result = listCache.get(cacheKey, () -> readOnlyTransaction().execute(status -> {
+            long count = appointmentRepository.countRows(specification, includeArchived);
+            return new AppointmentListCache.Page(count, count > offset
+                    ? appointmentRepository.findRows(specification, includeArchived, sortField, direction, null, offset, size)
+                    : List.of());
+        }));
+        long totalItems = result.totalItems();
+        List<AppointmentListRow> rows = result.rows();
+        int totalPages = (int) ((totalItems + size - 1) / size);
+        logger.info("Found {} appointments, returning page {} of {}", totalItems, page, totalPages);
         
-        long totalAppointments = 0;
-        long scheduledCount = 0;
-        long checkedInCount = 0;
-        long inExamCount = 0;
-        long cancelledCount = 0;
+        LocalDate today = LocalDate.now();
+        List<AppointmentListResponse.AppointmentItem> appointmentItems = rows.stream()
+                .map(row -> convertToAppointmentItem(row, today))
+                .toList();
         
-        for (Object[] statusCount : statusCounts) {
-            AppointmentStatus status = (AppointmentStatus) statusCount[0];
-            Long count = (Long) statusCount[1];
-            totalAppointments += count;
-            
-            switch (status) {
-                case SCHEDULED -> scheduledCount = count;
-                case CHECKED_IN -> checkedInCount = count;
-                case IN_EXAM -> inExamCount = count;
-                case CANCELLED -> cancelledCount = count;
+        AppointmentListResponse.PaginationInfo paginationInfo = new AppointmentListResponse.PaginationInfo(
+                page,
+                size,
+                totalItems,
+                totalPages,
+                page < totalPages,
+                page > 1,
+                null,
+                null
+        );
+        
+        return new AppointmentListResponse.Data(appointmentItems, paginationInfo, summaryInfo);
+    }
+    
+    private AppointmentListResponse.Data listByCursor(AppointmentListCache.Key cacheKey,
+                                                      Specification<AppointmentRecord> specification,
+                                                      boolean includeArchived,
+                                                      AppointmentSortField sortField,
+                                                      Sort.Direction direction,
+                                                      int size,
+                                                      String token,
+                                                      AppointmentListResponse.SummaryInfo summaryInfo) {
+        AppointmentCursor cursor = StringUtils.hasText(token) ? AppointmentCursor.decode(token) : null;
+        if (cursor != null && (cursor.sortField() != sortField || cursor.direction() != direction)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        boolean backward = cursor != null && cursor.backward();
+        
+        // Seek from the boundary row instead of skipping rows, so every page costs the same.
+        // Backward pages seek in the opposite order and are flipped afterwards. One extra row
+        // is fetched to learn whether another page exists in the seek direction.
+        Sort.Direction seekDirection = backward
+                ? (direction.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC)
+                : direction;
+        Object[] after = cursor == null ? null : cursor.values();
+        List<AppointmentListRow> rows = new ArrayList<>(listCache.get(cacheKey, () -> readOnlyTransaction().execute(
+                status -> new AppointmentListCache.Page(-1, appointmentRepository.findRows(
+                        specification, includeArchived, sortField, seekDirection, after, 0, size + 1)))).rows());
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows.remove(rows.size() - 1);
+        }
+        if (backward) {
+            Collections.reverse(rows);
+        }
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : cursor != null;
+        logger.info("Returning {} appointments from cursor page", rows.size());
+        
+        String nextCursor = null;
+        String prevCursor = null;
+        if (!rows.isEmpty()) {
+            if (hasNext) {
+                nextCursor = new AppointmentCursor(sortField, direction, false,
+                        cursorValues(rows.get(rows.size() - 1), sortField)).encode();
+            }
+            if (hasPrevious) {
+                prevCursor = new AppointmentCursor(sortField, direction, true,
+                        cursorValues(rows.get(0), sortField)).encode();
             }
         }
         
-        return new AppointmentListResponse.SummaryInfo(
-                totalAppointments, scheduledCount, checkedInCount, inExamCount, cancelledCount
+        LocalDate today = LocalDate.now();
+        List<AppointmentListResponse.AppointmentItem> appointmentItems = rows.stream()
+                .map(row -> convertToAppointmentItem(row, today))
+                .toList();
+        
+        // Totals are not computed in cursor mode; a COUNT would scan the whole filter range
+        AppointmentListResponse.PaginationInfo paginationInfo = new AppointmentListResponse.PaginationInfo(
+                0, size, -1, -1, hasNext, hasPrevious, nextCursor, prevCursor
+        );
+        return new AppointmentListResponse.Data(appointmentItems, paginationInfo, summaryInfo);
+    }
+    
+    private Object[] cursorValues(AppointmentListRow row, AppointmentSortField sortField) {
+        return sortField.getKeys().stream()
+                .map(key -> switch (key.path()) {
+                    case "dateTime" -> row.dateTime();
+                    case "id" -> row.id();
+                    case "status" -> row.status();
+                    case "patient.firstName" -> row.patientFirstName();
+                    case "patient.lastName" -> row.patientLastName();
+                    case "provider.firstName" -> row.providerFirstName();
+                    case "provider.lastName" -> row.providerLastName();
+                    default -> throw new IllegalStateException("Unsupported sort key: " + key.path());
+                })
+                .toArray();
+    }
+    
+    private boolean isCursorMode(AppointmentListRequest request) {
+        if (StringUtils.hasText(request.getCursor())) {
+            return true;
+        }
+        String mode = request.getPaginationMode();
+        if (!StringUtils.hasText(mode) || "offset".equalsIgnoreCase(mode)) {
+            return false;
+        }
+        if ("cursor".equalsIgnoreCase(mode)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Invalid pagination mode: " + mode);
+    }
+    
+    private Specification<AppointmentRecord> buildFilter(AppointmentListRequest request) {
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        return Specification.where(AppointmentSpecifications.isActive())
+                .and(AppointmentSpecifications.hasStatus(request.getStatus()))
+                .and(AppointmentSpecifications.hasType(request.getAppointmentType()))
+                .and(AppointmentSpecifications.hasMode(request.getMode()))
+                .and(AppointmentSpecifications.hasProvider(request.getProviderId()))
+                .and(AppointmentSpecifications.hasPatient(request.getPatientId()))
+                .and(AppointmentSpecifications.startsAtOrAfter(
+                        request.getStartDate() == null ? null : request.getStartDate().atStartOfDay()))
+                .and(AppointmentSpecifications.startsBefore(
+                        request.getEndDate() == null ? null : request.getEndDate().plusDays(1).atStartOfDay()))
+                .and(patientNameFilter(request.getPatientName()))
+                .and(providerNameFilter(stripTitle(request.getProviderName())));
+    }
+    
+    /**
+     * Resolves the name fragment to patient ids through the in-memory name index, so the
+     * query becomes an indexed patient_id lookup instead of a LIKE over every joined row.
+     * Very common fragments fall back to matching names in the database.
+     */
+    private Specification<AppointmentRecord> patientNameFilter(String fragment) {
+        if (!StringUtils.hasText(fragment)) {
+            return null;
+        }
+        Set<UUID> patientIds = nameIndexes.patients().search(fragment, NAME_CANDIDATE_LIMIT);
+        return patientIds == null
+                ? AppointmentSpecifications.patientNameContains(fragment)
+                : AppointmentSpecifications.hasPatientIn(patientIds);
+    }
+    
+    private Specification<AppointmentRecord> providerNameFilter(String fragment) {
+        if (!StringUtils.hasText(fragment)) {
+            return null;
+        }
+        Set<UUID> providerIds = nameIndexes.providers().search(fragment, NAME_CANDIDATE_LIMIT);
+        return providerIds == null
+                ? AppointmentSpecifications.providerNameContains(fragment)
+                : AppointmentSpecifications.hasProviderIn(providerIds);
+    }
+    
+    private int resolvePage(Integer page) {
+        if (page == null) {
+            return 1;
+        }
+        if (page < 1) {
+            throw new IllegalArgumentException("Page must be greater than or equal to 1");
+        }
+        return page;
+    }
+    
+    private int resolveSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+    
+    static Sort.Direction resolveDirection(String sortDirection) {
+        if (!StringUtils.hasText(sortDirection) || "desc".equalsIgnoreCase(sortDirection)) {
+            return Sort.Direction.DESC;
+        }
+        if ("asc".equalsIgnoreCase(sortDirection)) {
+            return Sort.Direction.ASC;
+        }
+        throw new IllegalArgumentException("Invalid sort direction: " + sortDirection);
+    }
+    
+    private AppointmentSortField resolveSortField(String sortBy) {
+        return AppointmentSortField.fromRequestName(StringUtils.hasText(sortBy) ? sortBy : "dateTime");
+    }
+    
+    private static String normalizeName(String fragment) {
+        return StringUtils.hasText(fragment) ? fragment.trim().toLowerCase() : null;
+    }
+    
+    static String stripTitle(String providerName) {
+        if (providerName == null) {
+            return null;
+        }
+        String trimmed = providerName.trim();
+        if (trimmed.regionMatches(true, 0, "Dr.", 0, 3)) {
+            return trimmed.substring(3).trim();
+        }
+        return trimmed;
+    }
+    
+    /**
+     * Also used by the provider schedule stream, so its items match the list's.
+     */
+    static AppointmentListResponse.AppointmentItem convertToAppointmentItem(AppointmentListRow row, LocalDate today) {
+        // Names and action permissions come precomputed; only the age depends on the day
+        return new AppointmentListResponse.AppointmentItem(
+                row.id(),
+                row.dateTime(),
+                row.appointmentType(),
+                row.mode(),
+                row.patientName(),
+                row.patientGender().name(),
+                row.patientDateOfBirth(),
+                calculateAge(row.patientDateOfBirth(), today),
+                row.patientPhone(),
+                row.providerName(),
+                row.providerSpecialization().name(),
+                row.reasonForVisit(),
+                row.estimatedAmount(),
+                row.status(),
+                row.canStart(),
+                row.canEdit()
         );
     }
     
-    private Patient validateAndGetPatient(UUID patientId) {
+    /**
+     * Age in whole years on {@code today}; same result as {@code Period.between(...).getYears()}
+     * without building a {@code Period} per row.
+     */
+    private static int calculateAge(LocalDate dateOfBirth, LocalDate today) {
+        int age = today.getYear() - dateOfBirth.getYear();
+        if (today.getMonthValue() < dateOfBirth.getMonthValue()
+                || (today.getMonthValue() == dateOfBirth.getMonthValue()
+                    && today.getDayOfMonth() < dateOfBirth.getDayOfMonth())) {
+            age--;
+        }
+        return age;
+    }
+    
+    /**
+     * Status counts come from the in-memory counters: the provider's when the list is scoped
+     * to one provider, the day's when it is scoped to a single day, otherwise the global ones.
+     */
+    private AppointmentListResponse.SummaryInfo resolveSummary(AppointmentListRequest request) {
+        if (request.getProviderId() != null) {
+            return statusCounters.forProvider(request.getProviderId());
+        }
+        if (request.getStartDate() != null && request.getStartDate().equals(request.getEndDate())) {
+            return statusCounters.forDay(request.getStartDate());
+        }
+        return statusCounters.global();
+    }
+    
+    private TransactionTemplate readOnlyTransaction() {
+        // Read-only: Hibernate skips dirty-checking snapshots and never flushes the session
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly;
+    }
+    
+    private void requireId(UUID id, String message) {
+        if (id == null) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+    
+    private BookingPatient validateAndGetPatient(UUID patientId) {
         if (patientId == null) {
             throw new IllegalArgumentException("Patient ID cannot be null");
         }
         logger.info("Validating patient with ID: {}", patientId);
-        Optional<Patient> patientOpt = patientRepository.findById(patientId);
+        Optional<BookingPatient> patientOpt = patientRepository.findForBooking(patientId);
         if (patientOpt.isEmpty()) {
             throw new IllegalArgumentException("Patient not found with ID: " + patientId);
         }
         
-        Patient patient = patientOpt.get();
-        if (!patient.isActive()) {
+        BookingPatient patient = patientOpt.get();
+        if (!patient.active()) {
             throw new IllegalArgumentException("Patient is not active: " + patientId);
         }
         
         return patient;
     }
     
-    private Provider validateAndGetProvider(UUID providerId) {
+    private BookingProvider validateAndGetProvider(UUID providerId) {
         if (providerId == null) {
             throw new IllegalArgumentException("Provider ID cannot be null");
         }
         logger.info("Validating provider with ID: {}", providerId);
-        Optional<Provider> providerOpt = providerRepository.findById(providerId);
+        Optional<BookingProvider> providerOpt = providerRepository.findForBooking(providerId);
         if (providerOpt.isEmpty()) {
             throw new IllegalArgumentException("Provider not found with ID: " + providerId);
         }
         
-        Provider provider = providerOpt.get();
-        if (!provider.isActive()) {
+        BookingProvider provider = providerOpt.get();
+        if (!provider.active()) {
             throw new IllegalArgumentException("Provider is not active: " + providerId);
         }
         
@@ -230,16 +876,44 @@ public class AppointmentServiceImpl implements AppointmentService {
     }
     
     private void validateNoConflicts(UUID providerId, LocalDateTime appointmentTime) {
-        // Define appointment duration (30 minutes)
-        LocalDateTime startTime = appointmentTime.minusMinutes(30);
-        LocalDateTime endTime = appointmentTime.plusMinutes(30);
+        // Answered from the in-memory schedule index; no database round trip
+        if (scheduleIndex.hasConflict(providerId, appointmentTime, APPOINTMENT_BUFFER)) {
+            throw new IllegalArgumentException(CONFLICT_MESSAGE);
+        }
         
-        if (appointmentRepository.existsConflictingAppointment(providerId, startTime, endTime)) {
-            throw new IllegalArgumentException("Appointment time conflicts with existing appointment for this provider");
+        // Optional verification against the database inside the booking transaction, for
+        // deployments where other nodes may have booked since the index was loaded. The
+        // provider row lock serialises those bookings across nodes until commit.
+        if (verifyConflictsWithDatabase) {
+            providerRepository.lockById(providerId);
+            LocalDateTime startTime = appointmentTime.minus(APPOINTMENT_BUFFER);
+            LocalDateTime endTime = appointmentTime.plus(APPOINTMENT_BUFFER);
+            if (appointmentRepository.existsConflictingAppointment(providerId, startTime, endTime)) {
+                scheduleIndex.evict(providerId);
+                throw new IllegalArgumentException(CONFLICT_MESSAGE);
+            }
         }
     }
     
-    private ClinicAddress createClinicAddress(AppointmentBookingRequest.ClinicAddressDto addressDto) {
+    static Appointment buildAppointment(AppointmentBookingRequest request, Patient patient, Provider provider) {
+        // Create clinic address
+        ClinicAddress clinicAddress = createClinicAddress(request.getClinicAddress());
+        
+        return Appointment.builder()
+                .patient(patient)
+                .provider(provider)
+                .appointmentType(request.getAppointmentType())
+                .mode(request.getMode())
+                .dateTime(request.getDateTime())
+                .reasonForVisit(StringUtils.trimWhitespace(request.getReasonForVisit()))
+                .estimatedAmount(request.getEstimatedAmount())
+                .clinicAddress(clinicAddress)
+                .status(AppointmentStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+    
+    private static ClinicAddress createClinicAddress(AppointmentBookingRequest.ClinicAddressDto addressDto) {
         ClinicAddress clinicAddress = new ClinicAddress();
         clinicAddress.setStreet(StringUtils.trimWhitespace(addressDto.getStreet()));
         clinicAddress.setCity(StringUtils.trimWhitespace(addressDto.getCity()));
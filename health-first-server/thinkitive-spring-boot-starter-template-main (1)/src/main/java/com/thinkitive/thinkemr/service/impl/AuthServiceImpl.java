@@ -6,22 +6,23 @@ import com.thinkitive.thinkemr.entity.Provider;
 import com.thinkitive.thinkemr.entity.VerificationStatus;
 import com.thinkitive.thinkemr.repository.ProviderRepository;
 import com.thinkitive.thinkemr.service.AuthService;
+import com.thinkitive.thinkemr.service.PasswordHashingService;
 import com.thinkitive.thinkemr.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
     private final ProviderRepository providerRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
 
     @Override
@@ -38,10 +39,14 @@ public class AuthServiceImpl implements AuthService {
             logger.warn("Login failed: provider not active or not verified for email {}", email);
             throw new RuntimeException("INVALID_CREDENTIALS");
         }
-        if (!passwordEncoder.matches(password, provider.getPasswordHash())) {
+        if (!passwordHashingService.matches(password, provider.getPasswordHash())) {
             logger.warn("Login failed: invalid password for email {}", email);
             throw new RuntimeException("INVALID_CREDENTIALS");
         }
+        UUID providerId = provider.getId();
+        String storedHash = provider.getPasswordHash();
+        passwordHashingService.rehashIfOutdated(password, storedHash,
+                rehashed -> storePasswordHash(providerId, storedHash, rehashed));
         String token = jwtUtil.generateToken(provider);
         int expiresIn = jwtUtil.getExpirationSeconds();
         LoginResponse.ProviderInfo providerInfo = new LoginResponse.ProviderInfo(
@@ -55,4 +60,13 @@ public class AuthServiceImpl implements AuthService {
         LoginResponse.Data data = new LoginResponse.Data(token, expiresIn, "Bearer", providerInfo);
         return new LoginResponse(true, "Login successful", data);
     }
+
+    /**
+     * Replaces the hash a login was checked against, unless the password changed meanwhile.
+     */
+    private void storePasswordHash(UUID providerId, String previousHash, String newHash) {
+        if (!providerRepository.updatePasswordHash(providerId, previousHash, newHash)) {
+            logger.debug("Password of provider {} changed meanwhile; rehash discarded", providerId);
+        }
+    }
 } 
\ No newline at end of file
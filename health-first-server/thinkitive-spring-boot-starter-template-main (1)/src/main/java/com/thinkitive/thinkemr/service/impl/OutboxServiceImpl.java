@@ -0,0 +1,218 @@
+package com.thinkitive.thinkemr.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinkitive.thinkemr.entity.OutboxMessage;
+import com.thinkitive.thinkemr.entity.OutboxMessageType;
+import com.thinkitive.thinkemr.entity.OutboxStatus;
+import com.thinkitive.thinkemr.notification.NotificationSender;
+import com.thinkitive.thinkemr.repository.OutboxMessageRepository;
+import com.thinkitive.thinkemr.service.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivery is at least once: messages are claimed with a lease in one short transaction,
+ * sent with no transaction open, and the results recorded in another. A dispatcher that
+ * dies after sending leaves its messages to be sent again when the lease runs out.
+ */
+@Service
+public class OutboxServiceImpl implements OutboxService {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxServiceImpl.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxRepository;
+    private final NotificationSender sender;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final Timer dispatchLag;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    public OutboxServiceImpl(
+            OutboxMessageRepository outboxRepository,
+            NotificationSender sender,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${thinkemr.outbox.batch-size:100}") int batchSize,
+            @Value("${thinkemr.outbox.lease:PT5M}") Duration lease,
+            @Value("${thinkemr.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${thinkemr.outbox.backoff.initial:PT10S}") Duration initialBackoff,
+            @Value("${thinkemr.outbox.backoff.max:PT30M}") Duration maxBackoff,
+            @Value("${thinkemr.outbox.retention:P7D}") Duration retention
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.sender = sender;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+        this.dispatchLag = Timer.builder("outbox.dispatch.lag")
+                .description("Time from recording a notification to sending it")
+                .register(meterRegistry);
+        this.sent = outcomeCounter(meterRegistry, "sent");
+        this.retried = outcomeCounter(meterRegistry, "retry");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        Gauge.builder("outbox.pending.oldest.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest notification not yet sent, as of the last dispatch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("outbox.messages")
+                .description("Delivery attempts of outbox notifications by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void enqueue(OutboxMessageType type, UUID aggregateId, String recipient, Map<String, ?> payload) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            outboxRepository.save(OutboxMessage.builder()
+                    .type(type)
+                    .aggregateId(aggregateId)
+                    .recipient(recipient)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .availableAt(now)
+                    .createdAt(now)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + type + " payload", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${thinkemr.outbox.poll-interval-ms:1000}",
+               initialDelayString = "${thinkemr.outbox.poll-interval-ms:1000}")
+    public void dispatchDue() {
+        dispatch();
+    }
+
+    @Override
+    public int dispatch() {
+        int delivered = 0;
+        List<OutboxMessage> claimed;
+        do {
+            claimed = claimBatch();
+            delivered += deliver(claimed);
+        } while (claimed.size() == batchSize);
+
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt(OutboxStatus.PENDING);
+        oldestPendingAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+        return delivered;
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> ids = outboxRepository.findDueIds(OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            UUID token = UUID.randomUUID();
+            outboxRepository.claim(ids, OutboxStatus.PENDING, now, token, now.plus(lease));
+            return outboxRepository.findByClaimToken(token);
+        });
+    }
+
+    private int deliver(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        List<UUID> delivered = new ArrayList<>();
+        List<OutboxMessage> undelivered = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            try {
+                sender.send(message);
+                delivered.add(message.getId());
+            } catch (RuntimeException e) {
+                logger.warn("Sending outbox message {} ({}) failed: {}", message.getId(), message.getType(), e.toString());
+                undelivered.add(message);
+                errors.add(e.toString());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UUID token = messages.get(0).getClaimToken();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxRepository.markSent(delivered, token, OutboxStatus.SENT, now);
+            }
+            for (int i = 0; i < undelivered.size(); i++) {
+                recordFailure(undelivered.get(i), errors.get(i), now);
+            }
+        });
+
+        messages.stream()
+                .filter(message -> delivered.contains(message.getId()))
+                .forEach(message -> dispatchLag.record(Duration.between(message.getCreatedAt(), now)));
+        sent.increment(delivered.size());
+        logger.debug("Sent {} of {} claimed outbox messages", delivered.size(), messages.size());
+        return delivered.size();
+    }
+
+    private void recordFailure(OutboxMessage message, String error, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        outboxRepository.markFailedAttempt(message.getId(), message.getClaimToken(),
+                exhausted ? OutboxStatus.FAILED : OutboxStatus.PENDING,
+                now.plus(backoff(attempts)),
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (exhausted) {
+            logger.error("Giving up on outbox message {} ({}) after {} attempts", message.getId(), message.getType(), attempts);
+            failed.increment();
+        } else {
+            retried.increment();
+        }
+    }
+
+    /**
+     * Delay before the next attempt: the initial backoff, doubled per failed attempt.
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @Scheduled(cron = "${thinkemr.outbox.purge-cron:0 0 3 * * *}")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status ->
+                outboxRepository.deleteSentBefore(OutboxStatus.SENT, cutoff));
+        logger.info("Purged {} outbox messages sent before {}", purged, cutoff);
+    }
+}
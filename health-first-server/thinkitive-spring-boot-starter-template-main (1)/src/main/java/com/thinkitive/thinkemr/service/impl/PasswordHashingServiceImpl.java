@@ -0,0 +1,183 @@
+package com.thinkitive.thinkemr.service.impl;
+
+import com.thinkitive.thinkemr.exception.ServiceOverloadedException;
+import com.thinkitive.thinkemr.service.PasswordHashingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingServiceImpl.class);
+    private static final String OVERLOADED_MESSAGE = "Too many sign-in requests, please retry shortly";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    // Hashes of bulk jobs and rehashes in flight; one per thread, so they never fill the queue
+    private final Semaphore bulkSlots;
+    private final Duration maxWait;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public PasswordHashingServiceImpl(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${thinkemr.password-hashing.threads:0}") int threads,
+            @Value("${thinkemr.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${thinkemr.password-hashing.max-wait:PT3S}") Duration maxWait
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWait = maxWait;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Rejects rather than running on the caller, which would put the hash back on a request thread
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.bulkSlots = new Semaphore(poolSize);
+
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Threads hashing right now")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Time a password hash waited in the queue")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hashing.duration").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration").tag("operation", "matches").register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("password.hashing.rejected").tag("reason", "queue-full").register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("password.hashing.rejected").tag("reason", "timeout").register(meterRegistry);
+        logger.info("Password hashing runs on {} threads with a queue of {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(submit(encodeTimer, () -> passwordEncoder.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rawPasswords.size());
+        for (CharSequence rawPassword : rawPasswords) {
+            bulkSlots.acquireUninterruptibly();
+            Supplier<String> hash = timed(encodeTimer, System.nanoTime(), () -> passwordEncoder.encode(rawPassword));
+            CompletableFuture<String> future;
+            try {
+                future = CompletableFuture.supplyAsync(hash, executor);
+            } catch (RejectedExecutionException e) {
+                future = CompletableFuture.completedFuture(hash.get());
+            }
+            hashes.add(future.whenComplete((result, failure) -> bulkSlots.release()));
+        }
+        return hashes.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public void rehashIfOutdated(CharSequence rawPassword, String encodedPassword, Consumer<String> store) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword) || !bulkSlots.tryAcquire()) {
+            return;
+        }
+        try {
+            // The store runs on the hashing thread; it is a single-row update
+            CompletableFuture.supplyAsync(timed(encodeTimer, System.nanoTime(), () -> passwordEncoder.encode(rawPassword)), executor)
+                    .thenAccept(store)
+                    .whenComplete((result, failure) -> {
+                        bulkSlots.release();
+                        if (failure != null) {
+                            logger.warn("Could not store rehashed password", failure);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            bulkSlots.release();
+        }
+    }
+
+    private <T> FutureTask<T> submit(Timer timer, Supplier<T> work) {
+        // A plain FutureTask is what sits in the queue, so a caller that gives up can take it back out
+        FutureTask<T> task = new FutureTask<>(timed(timer, System.nanoTime(), work)::get);
+        try {
+            executor.execute(task);
+            return task;
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            logger.warn("Password hashing queue is full, rejecting request");
+            throw new ServiceOverloadedException(OVERLOADED_MESSAGE);
+        }
+    }
+
+    private <T> T await(FutureTask<T> result) {
+        try {
+            return result.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            abandon(result);
+            rejectedTimeout.increment();
+            logger.warn("Password hash did not finish within {}, rejecting request", maxWait);
+            throw new ServiceOverloadedException(OVERLOADED_MESSAGE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(result);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // Frees the queue slot of a hash that has not started; one already running finishes unused
+    private void abandon(FutureTask<?> task) {
+        task.cancel(false);
+        executor.remove(task);
+    }
+
+    private <T> Supplier<T> timed(Timer timer, long queuedAt, Supplier<T> work) {
+        return () -> {
+            waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            return timer.record(work);
+        };
+    }
+}
@@ -4,23 +4,24 @@ import com.thinkitive.thinkemr.dto.PatientLoginRequest;
 import com.thinkitive.thinkemr.dto.PatientLoginResponse;
 import com.thinkitive.thinkemr.entity.Patient;
 import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.service.PasswordHashingService;
 import com.thinkitive.thinkemr.service.PatientAuthService;
 import com.thinkitive.thinkemr.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class PatientAuthServiceImpl implements PatientAuthService {
     private static final Logger logger = LoggerFactory.getLogger(PatientAuthServiceImpl.class);
     private final PatientRepository patientRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
 
     @Override
@@ -37,10 +38,14 @@ public class PatientAuthServiceImpl implements PatientAuthService {
             logger.warn("Patient login failed: not active for email {}", email);
             throw new RuntimeException("INVALID_CREDENTIALS");
         }
-        if (!passwordEncoder.matches(password, patient.getPasswordHash())) {
+        if (!passwordHashingService.matches(password, patient.getPasswordHash())) {
             logger.warn("Patient login failed: invalid password for email {}", email);
             throw new RuntimeException("INVALID_CREDENTIALS");
         }
+        UUID patientId = patient.getId();
+        String storedHash = patient.getPasswordHash();
+        passwordHashingService.rehashIfOutdated(password, storedHash,
+                rehashed -> storePasswordHash(patientId, storedHash, rehashed));
         String token = jwtUtil.generatePatientToken(patient);
         int expiresIn = jwtUtil.getPatientExpirationSeconds();
         PatientLoginResponse.PatientInfo patientInfo = new PatientLoginResponse.PatientInfo(
@@ -56,4 +61,13 @@ public class PatientAuthServiceImpl implements PatientAuthService {
         PatientLoginResponse.Data data = new PatientLoginResponse.Data(token, expiresIn, "Bearer", patientInfo);
         return new PatientLoginResponse(true, "Login successful", data);
     }
+
+    /**
+     * Replaces the hash a login was checked against, unless the password changed meanwhile.
+     */
+    private void storePasswordHash(UUID patientId, String previousHash, String newHash) {
+        if (!patientRepository.updatePasswordHash(patientId, previousHash, newHash)) {
+            logger.debug("Password of patient {} changed meanwhile; rehash discarded", patientId);
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,399 @@
+package com.thinkitive.thinkemr.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinkitive.thinkemr.dto.PatientImportResult;
+import com.thinkitive.thinkemr.dto.PatientRegistrationRequest;
+import com.thinkitive.thinkemr.entity.Gender;
+import com.thinkitive.thinkemr.entity.Patient;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.service.OutboxService;
+import com.thinkitive.thinkemr.service.PasswordHashingService;
+import com.thinkitive.thinkemr.service.PatientImportService;
+import com.thinkitive.thinkemr.util.CsvRecordReader;
+import com.thinkitive.thinkemr.util.ExportFormat;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Service
+public class PatientImportServiceImpl implements PatientImportService {
+    private static final Logger logger = LoggerFactory.getLogger(PatientImportServiceImpl.class);
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "firstName", "lastName", "email", "phoneNumber", "password", "dateOfBirth", "gender",
+            "street", "city", "state", "zip");
+
+    private final PatientRepository patientRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxCsvRecordLength;
+
+    public PatientImportServiceImpl(
+            PatientRepository patientRepository,
+            PasswordHashingService passwordHashingService,
+            OutboxService outboxService,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${thinkemr.patients.import.batch-size:500}") int batchSize,
+            @Value("${thinkemr.patients.import.max-csv-record-length:65536}") int maxCsvRecordLength
+    ) {
+        this.patientRepository = patientRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxCsvRecordLength = maxCsvRecordLength;
+    }
+
+    @Override
+    public Stream<List<PatientImportResult>> importPatients(InputStream input, ExportFormat format) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowSource rows;
+        try {
+            rows = format == ExportFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Importing patients from {}", format);
+
+        // Emails and phone numbers of rows imported earlier in this upload; only these are kept for the whole run
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenPhones = new HashSet<>();
+        long[] imported = {0};
+        long[] failed = {0};
+        // Each batch is read only when the caller pulls its results
+        Spliterator<List<ParsedRow>> batches = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super List<ParsedRow>> action) {
+                List<ParsedRow> batch = readBatch(rows);
+                if (batch.isEmpty()) {
+                    return false;
+                }
+                action.accept(batch);
+                return true;
+            }
+        };
+        return StreamSupport.stream(batches, false)
+                .map(batch -> {
+                    List<PatientImportResult> results = importBatch(batch, seenEmails, seenPhones);
+                    for (PatientImportResult result : results) {
+                        if (result.isSuccess()) {
+                            imported[0]++;
+                        } else {
+                            failed[0]++;
+                        }
+                    }
+                    return results;
+                })
+                .onClose(() -> logger.info("Imported {} patients, {} rows failed", imported[0], failed[0]));
+    }
+
+    private List<ParsedRow> readBatch(RowSource rows) {
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+        try {
+            ParsedRow row;
+            while (batch.size() < batchSize && (row = rows.next()) != null) {
+                batch.add(row);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return batch;
+    }
+
+    private List<PatientImportResult> importBatch(List<ParsedRow> rows, Set<String> seenEmails, Set<String> seenPhones) {
+        PatientImportResult[] results = new PatientImportResult[rows.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ParsedRow row = rows.get(i);
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                results[i] = PatientImportResult.failed(row.number(), row.email(), error);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // One IN query per column for the whole batch instead of two lookups per row. A row
+        // claims its email and phone number for the rest of the upload only once both checks pass
+        List<Integer> accepted = new ArrayList<>();
+        if (!candidates.isEmpty()) {
+            Set<String> existingEmails = new HashSet<>(patientRepository.findExistingEmails(
+                    candidates.stream().map(i -> rows.get(i).email()).toList()));
+            Set<String> existingPhones = new HashSet<>(patientRepository.findExistingPhoneNumbers(
+                    candidates.stream().map(i -> rows.get(i).phone()).toList()));
+            for (int i : candidates) {
+                ParsedRow row = rows.get(i);
+                if (existingEmails.contains(row.email()) || seenEmails.contains(row.email())) {
+                    results[i] = PatientImportResult.failed(row.number(), row.email(), "Email is already registered");
+                } else if (existingPhones.contains(row.phone()) || seenPhones.contains(row.phone())) {
+                    results[i] = PatientImportResult.failed(row.number(), row.email(), "Phone number is already registered");
+                } else {
+                    seenEmails.add(row.email());
+                    seenPhones.add(row.phone());
+                    accepted.add(i);
+                }
+            }
+        }
+
+        // In parallel on the hashing executor, leaving room in its queue for logins
+        List<String> hashes = passwordHashingService.encodeAll(
+                accepted.stream().map(i -> rows.get(i).request().getPassword()).toList());
+
+        Patient[] patients = new Patient[accepted.size()];
+        try {
+            for (int k = 0; k < accepted.size(); k++) {
+                patients[k] = toPatient(rows.get(accepted.get(k)), hashes.get(k));
+            }
+            insert(Arrays.asList(patients));
+        } catch (DataIntegrityViolationException e) {
+            // Registered elsewhere since the check; retry one row per transaction to find which.
+            // The rolled-back entities already carry ids, so each row is built again
+            logger.info("Import batch hit a concurrent registration, inserting its {} rows one by one", accepted.size());
+            for (int k = 0; k < accepted.size(); k++) {
+                patients[k] = toPatient(rows.get(accepted.get(k)), hashes.get(k));
+                try {
+                    insert(List.of(patients[k]));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    patients[k] = null;
+                }
+            }
+        }
+        for (int k = 0; k < accepted.size(); k++) {
+            ParsedRow row = rows.get(accepted.get(k));
+            if (patients[k] != null) {
+                results[accepted.get(k)] = PatientImportResult.imported(row.number(), patients[k].getId(), row.email());
+            } else {
+                // Not imported, so a later row of the upload may still use them
+                seenEmails.remove(row.email());
+                seenPhones.remove(row.phone());
+                results[accepted.get(k)] = PatientImportResult.failed(row.number(), row.email(),
+                        "Email or phone number is already registered");
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private static Patient toPatient(ParsedRow row, String passwordHash) {
+        return PatientServiceImpl.buildPatient(row.request(), row.email(), row.phone(), passwordHash);
+    }
+
+    private void insert(List<Patient> patients) {
+        if (patients.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            patientRepository.insertAll(patients, batchSize);
+            patients.forEach(patient -> PatientServiceImpl.enqueueVerificationEmail(outboxService, patient));
+        });
+    }
+
+    /**
+     * The bean validation {@code /register} applies to its body, then the shared checks. Rows
+     * that pass fit the table's columns, so an insert can only fail on a unique key.
+     */
+    private String validate(PatientRegistrationRequest request) {
+        // An import carries one initial password rather than a typed confirmation
+        if (request.getConfirmPassword() == null) {
+            request.setConfirmPassword(request.getPassword());
+        }
+        Set<ConstraintViolation<PatientRegistrationRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            PatientServiceImpl.validateDetails(request);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        long[] number = {0};
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            number[0]++;
+            try {
+                PatientRegistrationRequest request = objectMapper.readValue(line, PatientRegistrationRequest.class);
+                return request != null
+                        ? ParsedRow.of(number[0], request)
+                        : ParsedRow.malformed(number[0], "Malformed row: not a JSON object");
+            } catch (JsonProcessingException e) {
+                return ParsedRow.malformed(number[0], "Malformed row: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    /**
+     * Reads the header row right away, so a missing column fails the request before any
+     * row is imported. Columns are matched by name and may come in any order.
+     */
+    private RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(reader, maxCsvRecordLength);
+        List<String> header;
+        try {
+            header = records.next();
+        } catch (CsvRecordReader.MalformedRecordException e) {
+            throw new IllegalArgumentException("CSV import has a malformed header row: " + e.getMessage());
+        }
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import has no header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV import is missing column: " + column);
+            }
+        }
+        long[] number = {0};
+        return () -> {
+            List<String> record;
+            do {
+                try {
+                    record = records.next();
+                } catch (CsvRecordReader.MalformedRecordException e) {
+                    number[0]++;
+                    return ParsedRow.malformed(number[0], "Malformed row: " + e.getMessage());
+                }
+            } while (record != null && record.size() == 1 && record.get(0).isBlank());
+            if (record == null) {
+                return null;
+            }
+            number[0]++;
+            if (record.size() != header.size()) {
+                return ParsedRow.malformed(number[0], "Malformed row: expected " + header.size()
+                        + " fields but found " + record.size());
+            }
+            try {
+                return ParsedRow.of(number[0], toRequest(record, columns));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return ParsedRow.malformed(number[0], "Malformed row: " + e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * CSV row as a registration request. Medical history entries are separated by {@code |};
+     * emergency contact and insurance columns are optional.
+     */
+    private static PatientRegistrationRequest toRequest(List<String> record, Map<String, Integer> columns) {
+        PatientRegistrationRequest request = new PatientRegistrationRequest();
+        request.setFirstName(value(record, columns, "firstName"));
+        request.setLastName(value(record, columns, "lastName"));
+        request.setEmail(value(record, columns, "email"));
+        request.setPhoneNumber(value(record, columns, "phoneNumber"));
+        request.setPassword(value(record, columns, "password"));
+        request.setConfirmPassword(value(record, columns, "confirmPassword"));
+        String dateOfBirth = value(record, columns, "dateOfBirth");
+        request.setDateOfBirth(dateOfBirth != null ? LocalDate.parse(dateOfBirth) : null);
+        String gender = value(record, columns, "gender");
+        request.setGender(gender != null ? Gender.valueOf(gender.toUpperCase(Locale.ROOT)) : null);
+
+        PatientRegistrationRequest.AddressDto address = new PatientRegistrationRequest.AddressDto();
+        address.setStreet(value(record, columns, "street"));
+        address.setCity(value(record, columns, "city"));
+        address.setState(value(record, columns, "state"));
+        address.setZip(value(record, columns, "zip"));
+        request.setAddress(address);
+
+        String contactName = value(record, columns, "emergencyContactName");
+        if (contactName != null) {
+            PatientRegistrationRequest.EmergencyContactDto contact = new PatientRegistrationRequest.EmergencyContactDto();
+            contact.setName(contactName);
+            contact.setPhone(value(record, columns, "emergencyContactPhone"));
+            contact.setRelationship(value(record, columns, "emergencyContactRelationship"));
+            request.setEmergencyContact(contact);
+        }
+        String insuranceProvider = value(record, columns, "insuranceProvider");
+        if (insuranceProvider != null) {
+            PatientRegistrationRequest.InsuranceInfoDto insurance = new PatientRegistrationRequest.InsuranceInfoDto();
+            insurance.setProvider(insuranceProvider);
+            insurance.setPolicyNumber(value(record, columns, "policyNumber"));
+            request.setInsuranceInfo(insurance);
+        }
+        String medicalHistory = value(record, columns, "medicalHistory");
+        if (medicalHistory != null) {
+            request.setMedicalHistory(Arrays.stream(medicalHistory.split("\\|"))
+                    .map(String::trim)
+                    .filter(StringUtils::hasText)
+                    .toList());
+        }
+        return request;
+    }
+
+    // Empty cells read as absent values
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    private record ParsedRow(long number, PatientRegistrationRequest request, String email, String phone, String error) {
+        static ParsedRow of(long number, PatientRegistrationRequest request) {
+            return new ParsedRow(number, request, StringUtils.trimWhitespace(request.getEmail()),
+                    StringUtils.trimWhitespace(request.getPhoneNumber()), null);
+        }
+
+        static ParsedRow malformed(long number, String error) {
+            return new ParsedRow(number, null, null, null, error);
+        }
+    }
+}
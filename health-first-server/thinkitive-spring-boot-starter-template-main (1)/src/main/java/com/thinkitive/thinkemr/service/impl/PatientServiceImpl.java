@@ -4,17 +4,19 @@ import com.thinkitive.thinkemr.dto.PatientRegistrationRequest;
 import com.thinkitive.thinkemr.dto.PatientRegistrationResponse;
 import com.thinkitive.thinkemr.entity.*;
 import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.service.OutboxService;
+import com.thinkitive.thinkemr.service.PasswordHashingService;
 import com.thinkitive.thinkemr.service.PatientService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -22,10 +24,11 @@ import java.util.Optional;
 public class PatientServiceImpl implements PatientService {
     private static final Logger logger = LoggerFactory.getLogger(PatientServiceImpl.class);
     private final PatientRepository patientRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public PatientRegistrationResponse registerPatient(PatientRegistrationRequest request) {
         // Sanitize and trim inputs
         String email = StringUtils.trimWhitespace(request.getEmail());
@@ -38,6 +41,31 @@ public class PatientServiceImpl implements PatientService {
         if (patientRepository.existsByPhoneNumber(phone)) {
             throw new IllegalArgumentException("Phone number is already registered");
         }
+        validateDetails(request);
+        // Hash password before the transaction, so waiting for the hashing executor holds no connection
+        String passwordHash = passwordHashingService.encode(request.getPassword());
+        Patient patient = transactionTemplate.execute(status -> {
+            Patient saved = patientRepository.save(buildPatient(request, email, phone, passwordHash));
+            // Sent by the outbox dispatcher once this transaction commits
+            enqueueVerificationEmail(outboxService, saved);
+            return saved;
+        });
+        logger.info("Patient registered: {}", patient.getId());
+        PatientRegistrationResponse.Data data = new PatientRegistrationResponse.Data(
+                patient.getId().toString(),
+                patient.getEmail(),
+                patient.getPhoneNumber(),
+                patient.isEmailVerified(),
+                patient.isPhoneVerified()
+        );
+        return new PatientRegistrationResponse(true, "Patient registered successfully. Verification email sent.", data);
+    }
+
+    /**
+     * Checks of a registration that need no database: passwords match, and the patient is at
+     * least 13 years old. Shared with the bulk import.
+     */
+    static void validateDetails(PatientRegistrationRequest request) {
         // Password match check
         if (!request.getPassword().equals(request.getConfirmPassword())) {
             throw new IllegalArgumentException("Passwords do not match");
@@ -47,9 +75,12 @@ public class PatientServiceImpl implements PatientService {
         if (dob == null || Period.between(dob, LocalDate.now()).getYears() < 13) {
             throw new IllegalArgumentException("Must be at least 13 years old");
         }
-        // Hash password
-        String passwordHash = passwordEncoder.encode(request.getPassword());
+    }
 
+    /**
+     * New, active and unverified patient with the trimmed values of the request.
+     */
+    static Patient buildPatient(PatientRegistrationRequest request, String email, String phone, String passwordHash) {
         // Map Address
         Address address = new Address();
         address.setStreet(StringUtils.trimWhitespace(request.getAddress().getStreet()));
@@ -75,13 +106,13 @@ public class PatientServiceImpl implements PatientService {
         }
 
         // Build Patient entity
-        Patient patient = Patient.builder()
+        return Patient.builder()
                 .firstName(StringUtils.trimWhitespace(request.getFirstName()))
                 .lastName(StringUtils.trimWhitespace(request.getLastName()))
                 .email(email)
                 .phoneNumber(phone)
                 .passwordHash(passwordHash)
-                .dateOfBirth(dob)
+                .dateOfBirth(request.getDateOfBirth())
                 .gender(request.getGender())
                 .address(address)
                 .emergencyContact(emergencyContact)
@@ -91,15 +122,13 @@ public class PatientServiceImpl implements PatientService {
                 .phoneVerified(false)
                 .isActive(true)
                 .build();
-        patient = patientRepository.save(patient);
-        logger.info("Patient registered: {}", patient.getId());
-        PatientRegistrationResponse.Data data = new PatientRegistrationResponse.Data(
-                patient.getId().toString(),
-                patient.getEmail(),
-                patient.getPhoneNumber(),
-                patient.isEmailVerified(),
-                patient.isPhoneVerified()
-        );
-        return new PatientRegistrationResponse(true, "Patient registered successfully. Verification email sent.", data);
+    }
+
+    /**
+     * Sent by the outbox dispatcher once the caller's transaction commits.
+     */
+    static void enqueueVerificationEmail(OutboxService outboxService, Patient patient) {
+        outboxService.enqueue(OutboxMessageType.PATIENT_VERIFICATION_EMAIL, patient.getId(), patient.getEmail(),
+                Map.of("patientId", patient.getId(), "firstName", patient.getFirstName(), "email", patient.getEmail()));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.thinkitive.thinkemr.service.impl;
+
+import com.thinkitive.thinkemr.cache.ProviderAvailabilityIndex;
+import com.thinkitive.thinkemr.dto.ProviderAvailabilityResponse;
+import com.thinkitive.thinkemr.entity.Provider;
+import com.thinkitive.thinkemr.entity.Specialization;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.ProviderAvailabilityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.thinkitive.thinkemr.cache.ProviderAvailabilityIndex.SLOTS_PER_DAY;
+import static com.thinkitive.thinkemr.cache.ProviderAvailabilityIndex.SLOT_LENGTH;
+
+@Service
+public class ProviderAvailabilityServiceImpl implements ProviderAvailabilityService {
+    private static final Logger logger = LoggerFactory.getLogger(ProviderAvailabilityServiceImpl.class);
+    private static final int DEFAULT_DAYS = 7;
+    private static final int MAX_DAYS = 31;
+
+    private final ProviderRepository providerRepository;
+    private final ProviderAvailabilityIndex availabilityIndex;
+    // Slots a provider can be booked for on any day, as a bitmap in the index's layout
+    private final long workingSlots;
+
+    public ProviderAvailabilityServiceImpl(
+            ProviderRepository providerRepository,
+            ProviderAvailabilityIndex availabilityIndex,
+            @Value("${thinkemr.availability.working-hours.start:09:00}") LocalTime workdayStart,
+            @Value("${thinkemr.availability.working-hours.end:17:00}") LocalTime workdayEnd
+    ) {
+        this.providerRepository = providerRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.workingSlots = workingSlots(workdayStart, workdayEnd);
+    }
+
+    @Override
+    public ProviderAvailabilityResponse getProviderAvailability(UUID providerId, LocalDate from, LocalDate to) {
+        logger.info("Getting availability of provider {} from {} to {}", providerId, from, to);
+        Provider provider = providerRepository.findById(providerId)
+                .filter(Provider::isActive)
+                .orElseThrow(() -> new IllegalArgumentException("Provider not found with ID: " + providerId));
+        return availability(List.of(provider), from, to);
+    }
+
+    @Override
+    public ProviderAvailabilityResponse getSpecializationAvailability(Specialization specialization,
+                                                                      LocalDate from,
+                                                                      LocalDate to) {
+        logger.info("Getting availability of {} providers from {} to {}", specialization, from, to);
+        if (specialization == null) {
+            throw new IllegalArgumentException("Specialization cannot be null");
+        }
+        return availability(providerRepository.findActiveBySpecialization(specialization), from, to);
+    }
+
+    private ProviderAvailabilityResponse availability(List<Provider> providers, LocalDate from, LocalDate to) {
+        LocalDate start = from == null ? LocalDate.now() : from;
+        LocalDate end = to == null ? start.plusDays(DEFAULT_DAYS - 1) : to;
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        int dayCount = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        if (dayCount > MAX_DAYS) {
+            throw new IllegalArgumentException("Availability range cannot exceed " + MAX_DAYS + " days");
+        }
+        
+        Map<UUID, long[]> occupancy = availabilityIndex.occupancy(
+                providers.stream().map(Provider::getId).toList(), start, dayCount);
+        
+        // Booking requires a future time, so slots that have already started are never offered
+        LocalDateTime now = LocalDateTime.now();
+        List<ProviderAvailabilityResponse.ProviderSlots> providerSlots = new ArrayList<>(providers.size());
+        for (Provider provider : providers) {
+            long[] occupied = occupancy.get(provider.getId());
+            List<LocalDateTime> slots = new ArrayList<>();
+            for (int d = 0; d < dayCount; d++) {
+                LocalDateTime midnight = start.plusDays(d).atStartOfDay();
+                for (long free = workingSlots & ~occupied[d]; free != 0; free &= free - 1) {
+                    LocalDateTime slot = midnight.plus(SLOT_LENGTH.multipliedBy(Long.numberOfTrailingZeros(free)));
+                    if (slot.isAfter(now)) {
+                        slots.add(slot);
+                    }
+                }
+            }
+            providerSlots.add(new ProviderAvailabilityResponse.ProviderSlots(
+                    provider.getId(),
+                    "Dr. " + provider.getFirstName() + " " + provider.getLastName(),
+                    provider.getSpecialization().name(),
+                    slots
+            ));
+        }
+        
+        return new ProviderAvailabilityResponse(
+                true,
+                "Availability retrieved successfully",
+                LocalDateTime.now(),
+                new ProviderAvailabilityResponse.Data(start, end, SLOT_LENGTH.toMinutes(), providerSlots)
+        );
+    }
+    
+    private static long workingSlots(LocalTime workdayStart, LocalTime workdayEnd) {
+        long startMinute = workdayStart.toSecondOfDay() / 60;
+        long endMinute = workdayEnd.toSecondOfDay() / 60;
+        long slotMinutes = SLOT_LENGTH.toMinutes();
+        long slots = 0;
+        for (int i = 0; i < SLOTS_PER_DAY; i++) {
+            // The whole slot must fall inside the working day
+            if (i * slotMinutes >= startMinute && (i + 1) * slotMinutes <= endMinute) {
+                slots |= 1L << i;
+            }
+        }
+        return slots;
+    }
+}
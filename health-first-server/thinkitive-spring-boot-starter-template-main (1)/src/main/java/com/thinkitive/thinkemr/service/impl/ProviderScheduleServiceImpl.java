@@ -0,0 +1,338 @@
+package com.thinkitive.thinkemr.service.impl;
+
+import com.thinkitive.thinkemr.dto.AppointmentListResponse;
+import com.thinkitive.thinkemr.dto.ProviderScheduleAgenda;
+import com.thinkitive.thinkemr.dto.ProviderScheduleDelta;
+import com.thinkitive.thinkemr.entity.AppointmentRecord;
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import com.thinkitive.thinkemr.entity.Provider;
+import com.thinkitive.thinkemr.event.AppointmentChangedEvent;
+import com.thinkitive.thinkemr.repository.AppointmentListRow;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.AppointmentSortField;
+import com.thinkitive.thinkemr.repository.AppointmentSpecifications;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.ProviderScheduleService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out hub for provider schedule streams. Each stream is an {@link SseEmitter}, i.e. an
+ * async servlet response that holds no thread while idle, registered under its provider
+ * and day. {@link AppointmentChangedEvent}s for a watched provider and day are turned into
+ * one {@link ProviderScheduleDelta} on a single publisher thread, which keeps them in
+ * commit order, and queued on every stream watching that day; a booking request never
+ * waits on client sockets.
+ * <p>
+ * Each stream's queue is written out by one of a few writer threads, so a slow client only
+ * holds up its own stream. A stream whose queue fills up, or whose write has been stuck
+ * longer than {@code thinkemr.schedule-stream.max-write-time}, is closed; its EventSource
+ * reconnects and gets a fresh agenda.
+ */
+@Service
+public class ProviderScheduleServiceImpl implements ProviderScheduleService {
+    private static final Logger logger = LoggerFactory.getLogger(ProviderScheduleServiceImpl.class);
+    // Far more than a day's 30-minute slots; only guards against unbounded reads
+    private static final int AGENDA_LIMIT = 200;
+
+    private final ProviderRepository providerRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration streamTimeout;
+    private final int maxPendingEvents;
+    private final long maxWriteNanos;
+    private final ConcurrentHashMap<Key, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    // Reads each change once and queues it on the streams; never writes to a socket
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "schedule-stream-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService writers;
+
+    public ProviderScheduleServiceImpl(
+            ProviderRepository providerRepository,
+            AppointmentRepository appointmentRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${thinkemr.schedule-stream.timeout:PT30M}") Duration streamTimeout,
+            @Value("${thinkemr.schedule-stream.writer-threads:4}") int writerThreads,
+            @Value("${thinkemr.schedule-stream.max-pending-events:32}") int maxPendingEvents,
+            @Value("${thinkemr.schedule-stream.max-write-time:PT10S}") Duration maxWriteTime
+    ) {
+        this.providerRepository = providerRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.streamTimeout = streamTimeout;
+        this.maxPendingEvents = maxPendingEvents;
+        this.maxWriteNanos = maxWriteTime.toNanos();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "schedule-stream-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public SseEmitter openScheduleStream(UUID providerId, LocalDate date) {
+        Provider provider = providerRepository.findById(providerId)
+                .filter(Provider::isActive)
+                .orElseThrow(() -> new IllegalArgumentException("Provider not found with ID: " + providerId));
+        LocalDate day = date == null ? LocalDate.now() : date;
+        logger.info("Opening schedule stream for provider {} on {}", provider.getId(), day);
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscription subscription = new Subscription(new Key(providerId, day), emitter);
+        emitter.onCompletion(() -> unregister(subscription));
+        emitter.onTimeout(() -> unregister(subscription));
+        emitter.onError(error -> unregister(subscription));
+        // Registered before the agenda is read, so no change committed in between is lost;
+        // deltas arriving meanwhile are held back until the agenda has been sent
+        register(subscription);
+
+        List<AppointmentListResponse.AppointmentItem> appointments;
+        try {
+            List<AppointmentListRow> rows = readOnlyTransaction.execute(status -> appointmentRepository.findRows(
+                    dayFilter(providerId, day), false, AppointmentSortField.DATE_TIME, Sort.Direction.ASC,
+                    null, 0, AGENDA_LIMIT));
+            LocalDate today = LocalDate.now();
+            appointments = new ArrayList<>(rows.size());
+            for (AppointmentListRow row : rows) {
+                appointments.add(AppointmentServiceImpl.convertToAppointmentItem(row, today));
+            }
+        } catch (RuntimeException e) {
+            // The emitter is never returned, so its callbacks would never unregister it
+            unregister(subscription);
+            emitter.completeWithError(e);
+            throw e;
+        }
+        subscription.sendAgenda(new ProviderScheduleAgenda(providerId, day, LocalDateTime.now(), appointments));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        Key key = new Key(event.providerId(), event.dateTime().toLocalDate());
+        // Most changes have nobody watching; those cost one map lookup
+        if (subscriptions.containsKey(key)) {
+            publisher.execute(() -> {
+                try {
+                    publish(key, event);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to publish change of appointment {} to schedule streams", event.appointmentId(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Keeps idle streams from being dropped by proxies, and finds streams whose client has
+     * gone away, since a write is the only way to notice. Also closes streams whose write
+     * has been stuck too long.
+     */
+    @Scheduled(fixedDelayString = "${thinkemr.schedule-stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        subscriptions.values().forEach(watchers -> watchers.forEach(Subscription::heartbeat));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+        writers.shutdownNow();
+        subscriptions.values().forEach(watchers -> watchers.forEach(subscription -> subscription.emitter.complete()));
+        subscriptions.clear();
+    }
+
+    private void publish(Key key, AppointmentChangedEvent event) {
+        Set<Subscription> watchers = subscriptions.get(key);
+        if (watchers == null || watchers.isEmpty()) {
+            return;
+        }
+        // One read per change, shared by every watcher of the provider's day
+        List<AppointmentListRow> rows = readOnlyTransaction.execute(status -> appointmentRepository.findRows(
+                AppointmentSpecifications.hasId(event.appointmentId()), false, AppointmentSortField.DATE_TIME,
+                Sort.Direction.ASC, null, 0, 1));
+        AppointmentListResponse.AppointmentItem item = rows.isEmpty()
+                ? null
+                : AppointmentServiceImpl.convertToAppointmentItem(rows.get(0), LocalDate.now());
+        String type = event.isBooking()
+                ? "booked"
+                : event.status() == AppointmentStatus.CANCELLED ? "cancelled" : "status_changed";
+        ProviderScheduleDelta delta = new ProviderScheduleDelta(type, event.appointmentId(), event.previousStatus(),
+                LocalDateTime.now(), item);
+        for (Subscription subscription : watchers) {
+            subscription.send(SseEmitter.event().name(type).id(event.appointmentId().toString()).data(delta));
+        }
+        logger.debug("Sent {} of appointment {} to {} schedule streams", type, event.appointmentId(), watchers.size());
+    }
+
+    private Specification<AppointmentRecord> dayFilter(UUID providerId, LocalDate day) {
+        return Specification.where(AppointmentSpecifications.isActive())
+                .and(AppointmentSpecifications.hasProvider(providerId))
+                .and(AppointmentSpecifications.startsAtOrAfter(day.atStartOfDay()))
+                .and(AppointmentSpecifications.startsBefore(day.plusDays(1).atStartOfDay()));
+    }
+
+    private void register(Subscription subscription) {
+        subscriptions.computeIfAbsent(subscription.key, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+    }
+
+    private void unregister(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.key, (key, watchers) -> {
+            watchers.remove(subscription);
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+
+    private record Key(UUID providerId, LocalDate day) {
+    }
+
+    /**
+     * One open stream. Events wait in a bounded queue that at most one writer drains at a
+     * time, so they go out in order; until the agenda is out, nothing is drained, so the
+     * client always sees the agenda first.
+     */
+    private final class Subscription {
+        private final Key key;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> outbox = new ArrayBlockingQueue<>(maxPendingEvents);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean agendaSent;
+        // System.nanoTime() when the write in progress started; 0 while none is
+        private volatile long writeStarted;
+        // Whether the stream is ended once the writer lets go of it
+        private volatile boolean completeOnClose;
+
+        Subscription(Key key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Written on the request thread; the emitter holds it until the response starts.
+         */
+        void sendAgenda(ProviderScheduleAgenda agenda) {
+            write(SseEmitter.event().name("agenda").data(agenda));
+            agendaSent = true;
+            scheduleDrain();
+        }
+
+        void send(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!outbox.offer(event)) {
+                close("fell behind", true);
+                return;
+            }
+            if (agendaSent) {
+                scheduleDrain();
+            }
+        }
+
+        void heartbeat() {
+            long started = writeStarted;
+            if (started != 0 && System.nanoTime() - started > maxWriteNanos) {
+                close("write stalled", true);
+            } else if (agendaSent && outbox.isEmpty()) {
+                send(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = outbox.poll()) != null) {
+                    write(event);
+                }
+                if (closed.get() && completeOnClose) {
+                    completeOnClose = false;
+                    complete();
+                }
+            } finally {
+                draining.set(false);
+            }
+            // Queued after the last poll, but before the flag was cleared
+            if (!closed.get() && !outbox.isEmpty() || completeOnClose) {
+                scheduleDrain();
+            }
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) {
+            writeStarted = System.nanoTime();
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // The client disconnected or the stream already completed; the container
+                // ends the response itself
+                close(e.getMessage(), false);
+            } finally {
+                writeStarted = 0;
+            }
+        }
+
+        /**
+         * Stops queueing events for this stream. Ending the response is left to a writer,
+         * as it waits for a write in progress.
+         */
+        private void close(String reason, boolean complete) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            logger.debug("Dropping schedule stream of provider {}: {}", key.providerId(), reason);
+            unregister(this);
+            outbox.clear();
+            if (complete) {
+                completeOnClose = true;
+                scheduleDrain();
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed
+            }
+        }
+    }
+}
@@ -1,15 +1,15 @@
 package com.thinkitive.thinkemr.service.impl;
 
+import com.thinkitive.thinkemr.cache.ChangeVersions;
 import com.thinkitive.thinkemr.dto.ProviderRegistrationRequest;
 import com.thinkitive.thinkemr.dto.ProviderRegistrationResponse;
 import com.thinkitive.thinkemr.entity.*;
 import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.PasswordHashingService;
 import com.thinkitive.thinkemr.service.ProviderService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -18,10 +18,10 @@ import org.springframework.util.StringUtils;
 public class ProviderServiceImpl implements ProviderService {
     private static final Logger logger = LoggerFactory.getLogger(ProviderServiceImpl.class);
     private final ProviderRepository providerRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final ChangeVersions changeVersions;
+    private final PasswordHashingService passwordHashingService;
 
     @Override
-    @Transactional
     public ProviderRegistrationResponse registerProvider(ProviderRegistrationRequest request) {
         // Sanitize and trim inputs
         String email = StringUtils.trimWhitespace(request.getEmail());
@@ -42,8 +42,8 @@ public class ProviderServiceImpl implements ProviderService {
         if (!request.getPassword().equals(request.getConfirmPassword())) {
             throw new IllegalArgumentException("Passwords do not match");
         }
-        // Hash password
-        String passwordHash = passwordEncoder.encode(request.getPassword());
+        // Hash password outside any transaction, so waiting for the hashing executor holds no connection
+        String passwordHash = passwordHashingService.encode(request.getPassword());
 
         // Map ClinicAddress
         ClinicAddress address = new ClinicAddress();
@@ -53,7 +53,7 @@ public class ProviderServiceImpl implements ProviderService {
         address.setZip(StringUtils.trimWhitespace(request.getClinicAddress().getZip()));
 
         // Build Provider entity
-        Provider provider = Provider.builder()
+        Provider newProvider = Provider.builder()
                 .firstName(StringUtils.trimWhitespace(request.getFirstName()))
                 .lastName(StringUtils.trimWhitespace(request.getLastName()))
                 .email(email)
@@ -66,7 +66,8 @@ public class ProviderServiceImpl implements ProviderService {
                 .verificationStatus(VerificationStatus.PENDING)
                 .isActive(true)
                 .build();
-        provider = providerRepository.save(provider);
+        Provider provider = providerRepository.save(newProvider);
+        changeVersions.providersChanged();
         logger.info("Provider registered: {}", provider.getId());
         return new ProviderRegistrationResponse(
                 provider.getId().toString(),
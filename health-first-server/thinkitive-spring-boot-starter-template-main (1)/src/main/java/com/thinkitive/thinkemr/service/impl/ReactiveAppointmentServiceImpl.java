@@ -0,0 +1,183 @@
+package com.thinkitive.thinkemr.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.dto.AppointmentBookingResponse;
+import com.thinkitive.thinkemr.dto.AppointmentListRequest;
+import com.thinkitive.thinkemr.dto.AppointmentListResponse;
+import com.thinkitive.thinkemr.entity.Appointment;
+import com.thinkitive.thinkemr.entity.ListedProvider;
+import com.thinkitive.thinkemr.entity.OutboxMessage;
+import com.thinkitive.thinkemr.entity.OutboxMessageType;
+import com.thinkitive.thinkemr.entity.Patient;
+import com.thinkitive.thinkemr.entity.Provider;
+import com.thinkitive.thinkemr.event.AppointmentChangedEvent;
+import com.thinkitive.thinkemr.repository.AppointmentSortField;
+import com.thinkitive.thinkemr.repository.ReactiveAppointmentRepository;
+import com.thinkitive.thinkemr.service.ReactiveAppointmentService;
+import com.thinkitive.thinkemr.util.TimeOrderedUuids;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAppointmentServiceImpl implements ReactiveAppointmentService {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAppointmentServiceImpl.class);
+
+    private final ReactiveAppointmentRepository appointmentRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<AppointmentBookingResponse> bookAppointment(AppointmentBookingRequest request) {
+        return Mono.defer(() -> {
+            requireId(request.getPatientId(), "Patient ID cannot be null");
+            requireId(request.getProviderId(), "Provider ID cannot be null");
+            if (request.getDateTime() == null || request.getDateTime().isBefore(LocalDateTime.now())) {
+                throw new IllegalArgumentException("Appointment time must be in the future");
+            }
+            logger.info("Booking appointment for patient: {} and provider: {}", request.getPatientId(), request.getProviderId());
+
+            // The provider row stays locked until commit, so the conflict check and the insert
+            // cannot interleave with another booking for the same provider on any node
+            Mono<Appointment> booking = validateAndGetPatient(request.getPatientId())
+                    .zipWhen(patient -> validateAndLockProvider(request.getProviderId()))
+                    .flatMap(found -> validateNoConflicts(found.getT2().getId(), request.getDateTime())
+                            .then(Mono.fromSupplier(() -> AppointmentServiceImpl.buildAppointment(request, found.getT1(), found.getT2()))))
+                    .flatMap(appointment -> {
+                        appointment.setId(TimeOrderedUuids.next());
+                        return appointmentRepository.insert(appointment, confirmation(appointment))
+                                .thenReturn(appointment);
+                    });
+            return transactionalOperator.transactional(booking)
+                    .onErrorMap(DataIntegrityViolationException.class,
+                            // Exactly this slot was booked meanwhile (provider/date_time unique constraint)
+                            e -> new IllegalArgumentException(AppointmentServiceImpl.CONFLICT_MESSAGE))
+                    .flatMap(appointment -> publishBooked(appointment).thenReturn(appointment))
+                    .map(appointment -> {
+                        logger.info("Appointment booked: {} for patient: {} with provider: {} at {}",
+                                appointment.getId(), appointment.getPatient().getId(),
+                                appointment.getProvider().getId(), appointment.getDateTime());
+                        return new AppointmentBookingResponse(
+                                true,
+                                "Appointment booked successfully",
+                                LocalDateTime.now(),
+                                new AppointmentBookingResponse.Data(
+                                        appointment.getId(),
+                                        appointment.getPatient().getId(),
+                                        appointment.getProvider().getId(),
+                                        appointment.getStatus().name().toLowerCase()));
+                    });
+        });
+    }
+
+    @Override
+    public Flux<AppointmentListResponse.AppointmentItem> streamAppointments(AppointmentListRequest request) {
+        return Flux.defer(() -> {
+            if (Boolean.TRUE.equals(request.getIncludeArchived())) {
+                throw new IllegalArgumentException("Archived appointments are not available from the reactive list");
+            }
+            if (request.getStartDate() != null && request.getEndDate() != null
+                    && request.getStartDate().isAfter(request.getEndDate())) {
+                throw new IllegalArgumentException("Start date must not be after end date");
+            }
+            AppointmentSortField sortField = AppointmentSortField.fromRequestName(
+                    StringUtils.hasText(request.getSortBy()) ? request.getSortBy() : "dateTime");
+            Sort.Direction direction = AppointmentServiceImpl.resolveDirection(request.getSortDirection());
+            ReactiveAppointmentRepository.ListFilter filter = new ReactiveAppointmentRepository.ListFilter(
+                    request.getProviderId(),
+                    request.getPatientId(),
+                    request.getStatus(),
+                    request.getAppointmentType(),
+                    request.getMode(),
+                    request.getStartDate(),
+                    request.getEndDate(),
+                    request.getPatientName(),
+                    AppointmentServiceImpl.stripTitle(request.getProviderName()));
+
+            LocalDate today = LocalDate.now();
+            return appointmentRepository.streamRows(filter, sortField, direction)
+                    .map(row -> AppointmentServiceImpl.convertToAppointmentItem(row, today));
+        });
+    }
+
+    private Mono<Patient> validateAndGetPatient(UUID patientId) {
+        return appointmentRepository.findPatient(patientId)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Patient not found with ID: " + patientId)))
+                .filter(Patient::isActive)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Patient is not active: " + patientId)));
+    }
+
+    private Mono<Provider> validateAndLockProvider(UUID providerId) {
+        return appointmentRepository.lockProvider(providerId)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Provider not found with ID: " + providerId)))
+                .filter(Provider::isActive)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Provider is not active: " + providerId)));
+    }
+
+    private Mono<Void> validateNoConflicts(UUID providerId, LocalDateTime appointmentTime) {
+        return appointmentRepository.existsConflictingAppointment(providerId,
+                        appointmentTime.minus(AppointmentServiceImpl.APPOINTMENT_BUFFER),
+                        appointmentTime.plus(AppointmentServiceImpl.APPOINTMENT_BUFFER))
+                .flatMap(conflict -> conflict
+                        ? Mono.error(new IllegalArgumentException(AppointmentServiceImpl.CONFLICT_MESSAGE))
+                        : Mono.empty());
+    }
+
+    /**
+     * Same message the blocking path records through the outbox service.
+     */
+    private OutboxMessage confirmation(Appointment appointment) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return OutboxMessage.builder()
+                    .id(TimeOrderedUuids.next())
+                    .type(OutboxMessageType.APPOINTMENT_CONFIRMATION)
+                    .aggregateId(appointment.getId())
+                    .recipient(appointment.getPatient().getEmail())
+                    .payload(objectMapper.writeValueAsString(AppointmentServiceImpl.confirmationPayload(
+                            appointment, new ListedProvider(appointment.getProvider()))))
+                    .availableAt(now)
+                    .createdAt(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize confirmation payload", e);
+        }
+    }
+
+    /**
+     * Updates the in-memory caches and open schedule streams after commit. Off the event loop,
+     * because listeners may wait on a lock held across a JDBC load.
+     */
+    private Mono<Void> publishBooked(Appointment appointment) {
+        return Mono.fromRunnable(() -> eventPublisher.publishEvent(AppointmentChangedEvent.booked(
+                        appointment.getId(), appointment.getProvider().getId(),
+                        appointment.getPatient().getId(), appointment.getDateTime())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private static void requireId(UUID id, String message) {
+        if (id == null) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.thinkitive.thinkemr.service.impl;
 
+import com.thinkitive.thinkemr.cache.ChangeVersions;
 import com.thinkitive.thinkemr.entity.User;
 import com.thinkitive.thinkemr.repository.UserRepository;
+import com.thinkitive.thinkemr.service.PasswordHashingService;
 import com.thinkitive.thinkemr.service.UserService;
 import com.thinkitive.thinkemr.dto.UserCreateRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -15,7 +16,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final ChangeVersions changeVersions;
 
     @Override
     public User getUserById(Long id) {
@@ -34,9 +36,11 @@ public class UserServiceImpl implements UserService {
             .email(request.getEmail())
             .firstName(request.getFirstName())
             .lastName(request.getLastName())
-            .password(passwordEncoder.encode(request.getPassword()))
+            .password(passwordHashingService.encode(request.getPassword()))
             .createdAt(Instant.now())
             .build();
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        changeVersions.usersChanged();
+        return saved;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.thinkitive.thinkemr.util;
+
+import com.thinkitive.thinkemr.entity.AppointmentStatus;
+import com.thinkitive.thinkemr.repository.AppointmentSortField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for the appointment list. It records the sort it was issued for,
+ * whether it pages forward or backward, and the sort-key values of the boundary row.
+ * The token is URL-safe Base64 so it can be passed back as a query parameter unchanged.
+ */
+public record AppointmentCursor(AppointmentSortField sortField,
+                                Sort.Direction direction,
+                                boolean backward,
+                                Object[] values) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        StringBuilder token = new StringBuilder()
+                .append(VERSION).append(SEPARATOR)
+                .append(sortField.name()).append(SEPARATOR)
+                .append(direction.name()).append(SEPARATOR)
+                .append(backward ? 'P' : 'N');
+        for (Object value : values) {
+            token.append(SEPARATOR).append(ENCODER.encodeToString(format(value).getBytes(StandardCharsets.UTF_8)));
+        }
+        return ENCODER.encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AppointmentCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length < 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            AppointmentSortField sortField = AppointmentSortField.valueOf(parts[1]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+            boolean backward = "P".equals(parts[3]);
+
+            List<AppointmentSortField.Key> keys = sortField.getKeys();
+            if (parts.length - 4 != keys.size()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Object[] values = new Object[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                String raw = new String(DECODER.decode(parts[i + 4]), StandardCharsets.UTF_8);
+                values[i] = parse(raw, keys.get(i).type());
+            }
+            return new AppointmentCursor(sortField, direction, backward, values);
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String format(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    private static Object parse(String raw, Class<?> type) {
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(raw);
+        }
+        if (type == UUID.class) {
+            return UUID.fromString(raw);
+        }
+        if (type == AppointmentStatus.class) {
+            return AppointmentStatus.valueOf(raw);
+        }
+        return raw;
+    }
+}
@@ -0,0 +1,122 @@
+package com.thinkitive.thinkemr.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records (RFC 4180) one at a time from a character stream, so a large upload is
+ * never held in memory. Fields may be quoted; quoted fields may contain commas, line breaks
+ * and doubled quotes. Records end at LF or CRLF. Counterpart of the quoting the appointment
+ * export writes.
+ * <p>
+ * A record longer than {@code maxRecordLength} characters is read to its end without being
+ * kept, then reported as a {@link MalformedRecordException}; reading continues with the next
+ * record. An unterminated quote therefore costs one malformed record, not the whole input.
+ */
+public class CsvRecordReader {
+    private final Reader reader;
+    private final int maxRecordLength;
+    private int pending = -2;
+
+    /**
+     * @param reader read one character at a time, so it should be buffered
+     */
+    public CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Fields of the next record, or {@code null} at the end of the input. An empty line is a
+     * record with one empty field.
+     *
+     * @throws MalformedRecordException if the record is too long or its quoted field never
+     *                                  ends; the record has been consumed
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        // Counted on past the limit, where characters are no longer kept
+        int fieldLength = 0;
+        int recordLength = 0;
+        while (true) {
+            int kept = -1;
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedRecordException("Unterminated quoted CSV field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        kept = '"';
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    kept = c;
+                }
+            } else if (c == '"' && fieldLength == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                if (++recordLength <= maxRecordLength) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                fieldLength = 0;
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                int following = read();
+                if (following != '\n') {
+                    unread(following);
+                }
+                break;
+            } else {
+                kept = c;
+            }
+            if (kept != -1) {
+                fieldLength++;
+                if (++recordLength <= maxRecordLength) {
+                    field.append((char) kept);
+                }
+            }
+            c = read();
+        }
+        if (recordLength > maxRecordLength) {
+            throw new MalformedRecordException("CSV record is longer than " + maxRecordLength + " characters");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+
+    /**
+     * A record that could not be read. The input is left at the start of the next record.
+     */
+    public static class MalformedRecordException extends IllegalArgumentException {
+        public MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+}
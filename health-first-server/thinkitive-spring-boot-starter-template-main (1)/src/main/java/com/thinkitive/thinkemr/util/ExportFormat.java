@@ -0,0 +1,53 @@
+package com.thinkitive.thinkemr.util;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+/**
+ * Formats of the appointment export and the patient import. NDJSON holds one JSON object
+ * per line; CSV holds a header row followed by one row per record.
+ */
+public enum ExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String requestName;
+    private final String contentType;
+
+    ExportFormat(String requestName, String contentType) {
+        this.requestName = requestName;
+        this.contentType = contentType;
+    }
+
+    public String getFileExtension() {
+        return requestName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportFormat fromRequestName(String name) {
+        if (!StringUtils.hasText(name)) {
+            return NDJSON;
+        }
+        for (ExportFormat format : values()) {
+            if (format.requestName.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Invalid export format: " + name);
+    }
+
+    public static ExportFormat fromContentType(String contentType) {
+        if (StringUtils.hasText(contentType)) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (ExportFormat format : values()) {
+                if (mediaType.isCompatibleWith(MediaType.parseMediaType(format.contentType))) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
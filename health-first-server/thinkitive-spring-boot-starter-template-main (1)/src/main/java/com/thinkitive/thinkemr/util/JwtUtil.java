@@ -1,28 +1,60 @@
 package com.thinkitive.thinkemr.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.thinkitive.thinkemr.entity.Provider;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies the provider and patient tokens. Verified claims are kept until the
+ * token expires, keyed by a SHA-256 digest of the token, so a token presented again skips
+ * the signature check and JSON parsing. Hit, miss and eviction counts are published as
+ * {@code cache.*} metrics with the tag {@code cache=jwt-verified}.
+ */
 @Component
 public class JwtUtil {
+    private static final String CACHE_NAME = "jwt-verified";
+
     private final SecretKey jwtSecret;
+    // Immutable and thread-safe, so one serves every request
+    private final JwtParser jwtParser;
+    private final Cache<ByteBuffer, Claims> verifiedClaims;
     private final int jwtExpirationSeconds;
     private final int patientExpirationSeconds = 1800; // 30 minutes
 
     public JwtUtil(
             @Value("${jwt.secret:my-super-secret-key-which-should-be-long}") String secret,
-            @Value("${jwt.expiration:3600}") int expirationSeconds
+            @Value("${jwt.expiration:3600}") int expirationSeconds,
+            @Value("${thinkemr.jwt.verified-cache.maximum-size:10000}") long verifiedCacheSize,
+            MeterRegistry meterRegistry
     ) {
         this.jwtSecret = Keys.hmacShaKeyFor(secret.getBytes());
         this.jwtExpirationSeconds = expirationSeconds;
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(jwtSecret).build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, CACHE_NAME);
     }
 
     public String generateToken(Provider provider) {
@@ -44,16 +76,39 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
+        return verify(token).isPresent();
+    }
+
+    /**
+     * Claims of a token signed with our key and not expired; empty for any other token.
+     * Validates and extracts in one verification.
+     */
+    public Optional<Claims> verify(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(jwtSecret).build().parseClaimsJws(token);
-            return true;
+            return Optional.of(getClaims(token));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    /**
+     * Claims of a verified token; throws {@link JwtException} for an invalid or expired one.
+     * Each call gets its own copy, so callers may modify it.
+     */
     public Claims getClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(jwtSecret).build().parseClaimsJws(token).getBody();
+        if (!StringUtils.hasText(token)) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+        ByteBuffer key = digest(token);
+        Claims claims = verifiedClaims.getIfPresent(key);
+        if (claims == null) {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+            // Tokens without an expiry are verified every time rather than kept indefinitely
+            if (claims.getExpiration() != null) {
+                verifiedClaims.put(key, claims);
+            }
+        }
+        return Jwts.claims(claims);
     }
 
     public int getExpirationSeconds() {
@@ -79,4 +134,36 @@ public class JwtUtil {
     public int getPatientExpirationSeconds() {
         return patientExpirationSeconds;
     }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(hash).asReadOnlyBuffer();
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE provides SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Verified claims live until their token expires; Caffeine never returns an entry past
+     * its expiry, even before evicting it.
+     */
+    private static class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 } 
\ No newline at end of file
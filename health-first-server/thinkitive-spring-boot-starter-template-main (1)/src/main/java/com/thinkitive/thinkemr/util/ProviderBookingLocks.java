@@ -0,0 +1,93 @@
+package com.thinkitive.thinkemr.util;
+
+import com.thinkitive.thinkemr.exception.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * JVM-level mutual exclusion for bookings, keyed by provider. Each provider gets its own
+ * lock while anyone holds or waits for it, so bookings for different providers never
+ * contend (a fixed set of hashed stripes would make unrelated providers queue behind each
+ * other). Locks are reference counted and dropped once idle, so memory is bounded by the
+ * number of providers being booked concurrently. A booking that waits longer than the
+ * timeout is turned away with a {@link ServiceOverloadedException}, so the client retries.
+ */
+@Component
+public class ProviderBookingLocks {
+    private final ConcurrentHashMap<UUID, CountedLock> locks = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    public ProviderBookingLocks(@Value("${thinkemr.booking.lock.timeout:PT10S}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public <T> T withLock(UUID providerId, Supplier<T> action) {
+        return withLocks(List.of(providerId), action);
+    }
+
+    /**
+     * Runs {@code action} holding the locks of all given providers. Locks are taken in
+     * ascending id order so that two multi-provider callers cannot deadlock.
+     */
+    public <T> T withLocks(Collection<UUID> providerIds, Supplier<T> action) {
+        List<UUID> acquired = new ArrayList<>();
+        try {
+            for (UUID providerId : new TreeSet<>(providerIds)) {
+                acquire(providerId);
+                acquired.add(providerId);
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired.size() - 1; i >= 0; i--) {
+                release(acquired.get(i));
+            }
+        }
+    }
+
+    private void acquire(UUID providerId) {
+        CountedLock lock = locks.compute(providerId, (id, existing) -> {
+            CountedLock counted = existing == null ? new CountedLock() : existing;
+            counted.users++;
+            return counted;
+        });
+        boolean locked = false;
+        try {
+            locked = lock.lock.tryLock(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (!locked) {
+                unregister(providerId);
+            }
+        }
+        if (!locked) {
+            throw new ServiceOverloadedException("Too many bookings with this provider, please retry shortly");
+        }
+    }
+
+    private void release(UUID providerId) {
+        locks.get(providerId).lock.unlock();
+        unregister(providerId);
+    }
+
+    private void unregister(UUID providerId) {
+        locks.computeIfPresent(providerId, (id, counted) -> --counted.users == 0 ? null : counted);
+    }
+
+    private static final class CountedLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guarded by the map's per-key compute
+        private int users;
+    }
+}
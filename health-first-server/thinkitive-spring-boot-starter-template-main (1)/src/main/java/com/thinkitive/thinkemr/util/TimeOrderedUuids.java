@@ -0,0 +1,39 @@
+package com.thinkitive.thinkemr.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version 7 UUIDs (RFC 9562): 48 bits of Unix time in milliseconds, then a 12-bit sequence,
+ * then 62 random bits. Values created later sort after earlier ones byte for byte, so new
+ * rows land at the right-hand edge of a UUID primary key or foreign key index instead of on a
+ * random page.
+ * <p>
+ * Within one JVM the ids are strictly increasing: the sequence orders ids created in the same
+ * millisecond, and once it runs out the timestamp is carried ahead by a millisecond rather
+ * than repeating or going back. The random bits keep ids unguessable from one another.
+ */
+public final class TimeOrderedUuids {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    // Milliseconds shifted left by SEQUENCE_BITS, plus the sequence, of the last id issued
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TimeOrderedUuids() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long timeAndSequence = LAST.updateAndGet(last -> Math.max(last + 1, now));
+        long mostSignificant = (timeAndSequence >>> SEQUENCE_BITS) << 16
+                | VERSION_7
+                | (timeAndSequence & ((1L << SEQUENCE_BITS) - 1));
+        long leastSignificant = RANDOM.nextLong() & VARIANT_MASK | VARIANT_RFC;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+}
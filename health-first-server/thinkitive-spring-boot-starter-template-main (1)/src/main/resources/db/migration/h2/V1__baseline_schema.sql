@@ -0,0 +1,91 @@
+-- Baseline: the schema previously created by hibernate.ddl-auto=update
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE patients (
+    id UUID NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    phone_number VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    date_of_birth DATE NOT NULL,
+    gender VARCHAR(20) NOT NULL CHECK (gender IN ('MALE','FEMALE','OTHER','PREFER_NOT_TO_SAY')),
+    street VARCHAR(255),
+    city VARCHAR(255),
+    state VARCHAR(255),
+    zip VARCHAR(255),
+    name VARCHAR(255),
+    phone VARCHAR(255),
+    relationship VARCHAR(255),
+    provider VARCHAR(255),
+    policy_number VARCHAR(255),
+    email_verified BOOLEAN NOT NULL,
+    phone_verified BOOLEAN NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE patient_medical_history (
+    patient_id UUID NOT NULL,
+    medical_history VARCHAR(255),
+    CONSTRAINT fk_patient_medical_history_patient FOREIGN KEY (patient_id) REFERENCES patients (id)
+);
+
+CREATE TABLE providers (
+    id UUID NOT NULL,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    phone_number VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    specialization VARCHAR(50) NOT NULL CHECK (specialization IN ('CARDIOLOGY','DERMATOLOGY','NEUROLOGY','PEDIATRICS','ORTHOPEDICS','PSYCHIATRY','RADIOLOGY','GENERAL_PRACTICE','ONCOLOGY','OPHTHALMOLOGY')),
+    license_number VARCHAR(50) NOT NULL UNIQUE,
+    years_of_experience INTEGER NOT NULL,
+    street VARCHAR(255),
+    city VARCHAR(255),
+    state VARCHAR(255),
+    zip VARCHAR(255),
+    verification_status VARCHAR(20) NOT NULL CHECK (verification_status IN ('PENDING','VERIFIED','REJECTED')),
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE appointments (
+    id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    provider_id UUID NOT NULL,
+    appointment_type VARCHAR(20) NOT NULL CHECK (appointment_type IN ('NEW','FOLLOW_UP')),
+    mode VARCHAR(20) NOT NULL CHECK (mode IN ('IN_PERSON','VIDEO_CALL','HOME')),
+    date_time TIMESTAMP(6) NOT NULL,
+    reason_for_visit VARCHAR(250) NOT NULL,
+    estimated_amount NUMERIC(10,2) NOT NULL,
+    street VARCHAR(255),
+    city VARCHAR(255),
+    state VARCHAR(255),
+    zip VARCHAR(255),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('SCHEDULED','CHECKED_IN','IN_EXAM','CANCELLED')),
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_appointments_provider_date_time UNIQUE (provider_id, date_time),
+    CONSTRAINT fk_appointments_patient FOREIGN KEY (patient_id) REFERENCES patients (id),
+    CONSTRAINT fk_appointments_provider FOREIGN KEY (provider_id) REFERENCES providers (id)
+);
+
+CREATE INDEX idx_appointments_patient_date_time ON appointments (patient_id, date_time);
+CREATE INDEX idx_appointments_status_date_time ON appointments (status, date_time);
+CREATE INDEX idx_appointments_date_time_id ON appointments (date_time, id);
@@ -0,0 +1,30 @@
+-- Cold storage for past visits moved out of appointments by the archive job.
+-- H2 has no table partitioning, so appointments stays a single table here; the
+-- PostgreSQL migration of the same version also partitions it by month.
+
+CREATE TABLE appointments_archive (
+    id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    provider_id UUID NOT NULL,
+    appointment_type VARCHAR(20) NOT NULL CHECK (appointment_type IN ('NEW','FOLLOW_UP')),
+    mode VARCHAR(20) NOT NULL CHECK (mode IN ('IN_PERSON','VIDEO_CALL','HOME')),
+    date_time TIMESTAMP(6) NOT NULL,
+    reason_for_visit VARCHAR(250) NOT NULL,
+    estimated_amount NUMERIC(10,2) NOT NULL,
+    street VARCHAR(255),
+    city VARCHAR(255),
+    state VARCHAR(255),
+    zip VARCHAR(255),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('SCHEDULED','CHECKED_IN','IN_EXAM','CANCELLED')),
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointments_archive_patient FOREIGN KEY (patient_id) REFERENCES patients (id),
+    CONSTRAINT fk_appointments_archive_provider FOREIGN KEY (provider_id) REFERENCES providers (id)
+);
+
+CREATE INDEX idx_appointments_archive_patient_date_time ON appointments_archive (patient_id, date_time);
+CREATE INDEX idx_appointments_archive_provider_date_time ON appointments_archive (provider_id, date_time);
+CREATE INDEX idx_appointments_archive_date_time_id ON appointments_archive (date_time, id);
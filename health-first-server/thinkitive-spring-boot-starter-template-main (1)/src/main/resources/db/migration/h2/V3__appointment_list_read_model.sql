@@ -0,0 +1,46 @@
+-- Read model of the appointment list: live appointments with the patient and provider
+-- columns and display values copied in, so list reads need no joins. The application
+-- writes it in the same transaction as appointments and can rebuild it from scratch.
+-- No foreign keys: rows are derived data and are dropped with their appointment.
+
+CREATE TABLE appointment_list_entries (
+    id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    patient_first_name VARCHAR(50) NOT NULL,
+    patient_last_name VARCHAR(50) NOT NULL,
+    patient_name VARCHAR(101) NOT NULL,
+    patient_gender VARCHAR(20) NOT NULL CHECK (patient_gender IN ('MALE','FEMALE','OTHER','PREFER_NOT_TO_SAY')),
+    patient_date_of_birth DATE NOT NULL,
+    patient_phone VARCHAR(255) NOT NULL,
+    provider_id UUID NOT NULL,
+    provider_first_name VARCHAR(50) NOT NULL,
+    provider_last_name VARCHAR(50) NOT NULL,
+    provider_name VARCHAR(105) NOT NULL,
+    provider_specialization VARCHAR(50) NOT NULL CHECK (provider_specialization IN ('CARDIOLOGY','DERMATOLOGY','NEUROLOGY','PEDIATRICS','ORTHOPEDICS','PSYCHIATRY','RADIOLOGY','GENERAL_PRACTICE','ONCOLOGY','OPHTHALMOLOGY')),
+    appointment_type VARCHAR(20) NOT NULL CHECK (appointment_type IN ('NEW','FOLLOW_UP')),
+    mode VARCHAR(20) NOT NULL CHECK (mode IN ('IN_PERSON','VIDEO_CALL','HOME')),
+    date_time TIMESTAMP(6) NOT NULL,
+    reason_for_visit VARCHAR(250) NOT NULL,
+    estimated_amount NUMERIC(10,2) NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('SCHEDULED','CHECKED_IN','IN_EXAM','CANCELLED')),
+    can_start BOOLEAN NOT NULL,
+    can_edit BOOLEAN NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_appointment_list_entries_provider_date_time ON appointment_list_entries (provider_id, date_time);
+CREATE INDEX idx_appointment_list_entries_patient_date_time ON appointment_list_entries (patient_id, date_time);
+CREATE INDEX idx_appointment_list_entries_date_time_id ON appointment_list_entries (date_time, id);
+
+INSERT INTO appointment_list_entries (id, patient_id, patient_first_name, patient_last_name, patient_name,
+    patient_gender, patient_date_of_birth, patient_phone, provider_id, provider_first_name, provider_last_name,
+    provider_name, provider_specialization, appointment_type, mode, date_time, reason_for_visit, estimated_amount,
+    status, can_start, can_edit, is_active)
+SELECT a.id, p.id, p.first_name, p.last_name, p.first_name || ' ' || p.last_name, p.gender, p.date_of_birth,
+    p.phone_number, pr.id, pr.first_name, pr.last_name, 'Dr. ' || pr.first_name || ' ' || pr.last_name,
+    pr.specialization, a.appointment_type, a.mode, a.date_time, a.reason_for_visit, a.estimated_amount, a.status,
+    a.status IN ('SCHEDULED', 'CHECKED_IN'), a.status <> 'CANCELLED', a.is_active
+FROM appointments a
+JOIN patients p ON p.id = a.patient_id
+JOIN providers pr ON pr.id = a.provider_id;
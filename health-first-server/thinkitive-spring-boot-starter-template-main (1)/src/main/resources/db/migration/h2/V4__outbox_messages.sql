@@ -0,0 +1,22 @@
+-- Transactional outbox: notifications are inserted in the same transaction as the
+-- registration or booking they announce, and delivered afterwards by the dispatcher.
+-- No foreign keys: a message outlives the row it is about and only carries its id.
+
+CREATE TABLE outbox_messages (
+    id UUID NOT NULL,
+    type VARCHAR(40) NOT NULL CHECK (type IN ('PATIENT_VERIFICATION_EMAIL','APPOINTMENT_CONFIRMATION')),
+    aggregate_id UUID NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING','SENT','FAILED')),
+    attempts INTEGER NOT NULL,
+    available_at TIMESTAMP(6) NOT NULL,
+    claim_token UUID,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL,
+    sent_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_messages_status_available_at ON outbox_messages (status, available_at);
+CREATE INDEX idx_outbox_messages_claim_token ON outbox_messages (claim_token);
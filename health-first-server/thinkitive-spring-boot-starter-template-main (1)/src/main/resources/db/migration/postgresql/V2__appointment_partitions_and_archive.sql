@@ -0,0 +1,121 @@
+-- Partition appointments by month on date_time, and add cold storage for past visits
+-- moved out of it by the archive job.
+--
+-- Every hot query bounds date_time (conflict checks, availability, dated list filters,
+-- the archive job itself), so the planner prunes to the few partitions in range. The
+-- partition key has to be part of every unique constraint, hence the (id, date_time)
+-- primary key; ids are still unique because they are random UUIDs.
+
+-- A database baselined from the former ddl-auto: update schema may lack the slot constraint
+-- and the indexes, so every drop tolerates their absence.
+ALTER TABLE appointments RENAME TO appointments_unpartitioned;
+ALTER TABLE appointments_unpartitioned DROP CONSTRAINT IF EXISTS appointments_pkey;
+ALTER TABLE appointments_unpartitioned DROP CONSTRAINT IF EXISTS uk_appointments_provider_date_time;
+DROP INDEX IF EXISTS idx_appointments_patient_date_time;
+DROP INDEX IF EXISTS idx_appointments_status_date_time;
+DROP INDEX IF EXISTS idx_appointments_date_time_id;
+
+CREATE TABLE appointments (
+    id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    provider_id UUID NOT NULL,
+    appointment_type VARCHAR(20) NOT NULL CHECK (appointment_type IN ('NEW','FOLLOW_UP')),
+    mode VARCHAR(20) NOT NULL CHECK (mode IN ('IN_PERSON','VIDEO_CALL','HOME')),
+    date_time TIMESTAMP(6) NOT NULL,
+    reason_for_visit VARCHAR(250) NOT NULL,
+    estimated_amount NUMERIC(10,2) NOT NULL,
+    street VARCHAR(255),
+    city VARCHAR(255),
+    state VARCHAR(255),
+    zip VARCHAR(255),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('SCHEDULED','CHECKED_IN','IN_EXAM','CANCELLED')),
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id, date_time),
+    CONSTRAINT uk_appointments_provider_date_time UNIQUE (provider_id, date_time),
+    CONSTRAINT fk_appointments_patient FOREIGN KEY (patient_id) REFERENCES patients (id),
+    CONSTRAINT fk_appointments_provider FOREIGN KEY (provider_id) REFERENCES providers (id)
+) PARTITION BY RANGE (date_time);
+
+CREATE INDEX idx_appointments_patient_date_time ON appointments (patient_id, date_time);
+CREATE INDEX idx_appointments_status_date_time ON appointments (status, date_time);
+CREATE INDEX idx_appointments_date_time_id ON appointments (date_time, id);
+
+-- Catches rows for months that have no partition yet, so a booking never fails on a
+-- missing partition. create_appointment_partition moves them out when the month is added.
+CREATE TABLE appointments_default PARTITION OF appointments DEFAULT;
+
+-- Adds the partition for the month containing month_start, if missing. The partition is
+-- filled from the default partition first and attached afterwards, because attaching
+-- validates the range against rows already in the default partition.
+CREATE FUNCTION create_appointment_partition(month_start DATE) RETURNS VOID AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month_start)::DATE;
+    range_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'appointments_' || to_char(range_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE appointments INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM appointments_default WHERE date_time >= %L AND date_time < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', range_start, range_end, partition_name);
+    EXECUTE format('ALTER TABLE appointments ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Adds every missing monthly partition from the month of from_month through months_ahead
+-- months after the current one. Called by the application's partition maintenance job.
+CREATE FUNCTION ensure_appointment_partitions(from_month DATE, months_ahead INTEGER) RETURNS VOID AS $$
+DECLARE
+    partition_month DATE := date_trunc('month', from_month)::DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + make_interval(months => months_ahead))::DATE;
+BEGIN
+    WHILE partition_month <= last_month LOOP
+        PERFORM create_appointment_partition(partition_month);
+        partition_month := (partition_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_appointment_partitions(
+        LEAST(COALESCE((SELECT MIN(date_time) FROM appointments_unpartitioned)::DATE, CURRENT_DATE), CURRENT_DATE),
+        12);
+
+INSERT INTO appointments (id, patient_id, provider_id, appointment_type, mode, date_time, reason_for_visit,
+                          estimated_amount, street, city, state, zip, status, is_active, created_at, updated_at)
+SELECT id, patient_id, provider_id, appointment_type, mode, date_time, reason_for_visit,
+       estimated_amount, street, city, state, zip, status, is_active, created_at, updated_at
+FROM appointments_unpartitioned;
+
+DROP TABLE appointments_unpartitioned;
+
+-- The archive is a plain table: it is only read by explicit "include archived" queries
+CREATE TABLE appointments_archive (
+    id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    provider_id UUID NOT NULL,
+    appointment_type VARCHAR(20) NOT NULL CHECK (appointment_type IN ('NEW','FOLLOW_UP')),
+    mode VARCHAR(20) NOT NULL CHECK (mode IN ('IN_PERSON','VIDEO_CALL','HOME')),
+    date_time TIMESTAMP(6) NOT NULL,
+    reason_for_visit VARCHAR(250) NOT NULL,
+    estimated_amount NUMERIC(10,2) NOT NULL,
+    street VARCHAR(255),
+    city VARCHAR(255),
+    state VARCHAR(255),
+    zip VARCHAR(255),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('SCHEDULED','CHECKED_IN','IN_EXAM','CANCELLED')),
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointments_archive_patient FOREIGN KEY (patient_id) REFERENCES patients (id),
+    CONSTRAINT fk_appointments_archive_provider FOREIGN KEY (provider_id) REFERENCES providers (id)
+);
+
+CREATE INDEX idx_appointments_archive_patient_date_time ON appointments_archive (patient_id, date_time);
+CREATE INDEX idx_appointments_archive_provider_date_time ON appointments_archive (provider_id, date_time);
+CREATE INDEX idx_appointments_archive_date_time_id ON appointments_archive (date_time, id);
@@ -0,0 +1,150 @@
+package com.thinkitive.thinkemr;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentArchiveService;
+import com.thinkitive.thinkemr.service.AppointmentReadModelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AppointmentArchiveTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentReadModelService readModelService;
+
+    @Autowired
+    private AppointmentArchiveService archiveService;
+
+    private Patient patient;
+    private final List<Appointment> appointments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Archie", "Vance").build());
+        Provider provider = providerRepository.save(TestFixtures.provider("Helen", "Park").build());
+
+        LocalDateTime longAgo = LocalDate.now().minusYears(2).atTime(9, 0);
+        appointments.add(appointmentRepository.save(
+                createAppointment(provider, longAgo, AppointmentStatus.IN_EXAM)));
+        appointments.add(appointmentRepository.save(
+                createAppointment(provider, longAgo.plusHours(1), AppointmentStatus.CANCELLED)));
+        // Never resolved, so it stays in the live table however old it is
+        appointments.add(appointmentRepository.save(
+                createAppointment(provider, longAgo.plusHours(2), AppointmentStatus.SCHEDULED)));
+        // Finished, but inside the horizon
+        appointments.add(appointmentRepository.save(
+                createAppointment(provider, LocalDate.now().minusDays(10).atTime(9, 0), AppointmentStatus.IN_EXAM)));
+        appointments.add(appointmentRepository.save(
+                createAppointment(provider, LocalDate.now().plusDays(10).atTime(9, 0), AppointmentStatus.SCHEDULED)));
+        // Rows were inserted behind the service's back, so copy them into the read model
+        readModelService.rebuild();
+    }
+
+    @Test
+    void archive_MovesOldFinishedVisitsOutOfLiveTable() throws Exception {
+        int archived = archiveService.archiveVisitsBefore(LocalDate.now().atStartOfDay().minusDays(365));
+
+        assertThat(archived).isGreaterThanOrEqualTo(2);
+        assertThat(appointmentRepository.findById(appointments.get(0).getId())).isEmpty();
+        assertThat(appointmentRepository.findById(appointments.get(1).getId())).isEmpty();
+        assertThat(appointmentRepository.findById(appointments.get(2).getId())).isPresent();
+        assertThat(appointmentRepository.findById(appointments.get(3).getId())).isPresent();
+
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("patientId", patient.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.pagination.totalItems").value(3));
+    }
+
+    @Test
+    void listAppointments_IncludeArchivedReadsBothTables() throws Exception {
+        archiveService.archiveVisitsBefore(LocalDate.now().atStartOfDay().minusDays(365));
+
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("patientId", patient.getId().toString())
+                        .param("includeArchived", "true")
+                        .param("sortBy", "dateTime")
+                        .param("sortDirection", "asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.pagination.totalItems").value(5))
+                .andExpect(jsonPath("$.data.appointments[0].appointmentId").value(appointments.get(0).getId().toString()))
+                .andExpect(jsonPath("$.data.appointments[0].status").value("IN_EXAM"))
+                .andExpect(jsonPath("$.data.appointments[1].status").value("CANCELLED"))
+                .andExpect(jsonPath("$.data.appointments[0].patientName").value("Archie Vance"));
+
+        String firstPage = mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("patientId", patient.getId().toString())
+                        .param("includeArchived", "true")
+                        .param("paginationMode", "cursor")
+                        .param("size", "3")
+                        .param("sortDirection", "asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.appointments", hasSize(3)))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("patientId", patient.getId().toString())
+                        .param("includeArchived", "true")
+                        .param("size", "3")
+                        .param("sortDirection", "asc")
+                        .param("cursor", JsonPath.<String>read(firstPage, "$.data.pagination.nextCursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.appointments", hasSize(2)))
+                .andExpect(jsonPath("$.data.appointments[1].appointmentId").value(appointments.get(4).getId().toString()))
+                .andExpect(jsonPath("$.data.pagination.hasNext").value(false));
+    }
+
+    private Appointment createAppointment(Provider provider, LocalDateTime dateTime, AppointmentStatus status) {
+        ClinicAddress clinicAddress = new ClinicAddress();
+        clinicAddress.setStreet("123 Main Street");
+        clinicAddress.setCity("Boston");
+        clinicAddress.setState("MA");
+        clinicAddress.setZip("02101");
+
+        return Appointment.builder()
+                .patient(patient)
+                .provider(provider)
+                .appointmentType(AppointmentType.FOLLOW_UP)
+                .mode(AppointmentMode.IN_PERSON)
+                .dateTime(dateTime)
+                .reasonForVisit("Annual check-up")
+                .estimatedAmount(new BigDecimal("120.00"))
+                .clinicAddress(clinicAddress)
+                .status(status)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.thinkitive.thinkemr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinkitive.thinkemr.dto.AppointmentBatchBookingRequest;
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AppointmentBatchBookingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private Patient patient;
+    private Provider provider;
+    private Provider otherProvider;
+    private LocalDateTime morning;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Test", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Test", "Provider").build());
+        otherProvider = providerRepository.save(TestFixtures.provider("Test", "Provider").build());
+        morning = LocalDate.now().plusDays(5).atTime(LocalTime.of(9, 0));
+    }
+
+    @Test
+    void bookBatch_AllValid_BooksEveryAppointment() throws Exception {
+        bookBatch(true,
+                createRequest(provider.getId(), morning),
+                createRequest(provider.getId(), morning.plusHours(1)),
+                createRequest(otherProvider.getId(), morning))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.booked").value(3))
+                .andExpect(jsonPath("$.data.results", hasSize(3)))
+                .andExpect(jsonPath("$.data.results[2].status").value("scheduled"))
+                .andExpect(jsonPath("$.data.results[2].appointmentId").isNotEmpty());
+
+        assertEquals(2, bookedTimes(provider).size());
+        assertEquals(1, bookedTimes(otherProvider).size());
+    }
+
+    @Test
+    void bookBatch_PartialSuccess_ReportsEachFailure() throws Exception {
+        bookBatch(false,
+                createRequest(provider.getId(), morning),
+                // Overlaps the first item of the same batch
+                createRequest(provider.getId(), morning.plusMinutes(20)),
+                createRequest(UUID.randomUUID(), morning),
+                createRequest(otherProvider.getId(), morning))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.data.booked").value(2))
+                .andExpect(jsonPath("$.data.failed").value(2))
+                .andExpect(jsonPath("$.data.results[0].success").value(true))
+                .andExpect(jsonPath("$.data.results[1].status").value("failed"))
+                .andExpect(jsonPath("$.data.results[1].error").value(containsString("conflicts with existing appointment")))
+                .andExpect(jsonPath("$.data.results[2].error").value(containsString("Provider not found")))
+                .andExpect(jsonPath("$.data.results[3].success").value(true));
+
+        assertEquals(List.of(morning), bookedTimes(provider));
+    }
+
+    @Test
+    void bookBatch_AllOrNothing_BooksNothingOnConflictWithExistingAppointment() throws Exception {
+        bookBatch(true, createRequest(provider.getId(), morning))
+                .andExpect(status().isCreated());
+
+        bookBatch(true,
+                createRequest(provider.getId(), morning.plusHours(2)),
+                createRequest(provider.getId(), morning.plusMinutes(30)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.data.booked").value(0))
+                .andExpect(jsonPath("$.data.results[0].success").value(false))
+                .andExpect(jsonPath("$.data.results[0].error").value(containsString("another appointment in the batch failed")))
+                .andExpect(jsonPath("$.data.results[1].error").value(containsString("conflicts with existing appointment")));
+
+        assertEquals(List.of(morning), bookedTimes(provider));
+    }
+
+    @Test
+    void bookBatch_RejectsEmptyBatch() throws Exception {
+        bookBatch(true)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.appointments").value("Appointments list cannot be empty"));
+    }
+
+    private ResultActions bookBatch(boolean allOrNothing, AppointmentBookingRequest... items) throws Exception {
+        AppointmentBatchBookingRequest request = new AppointmentBatchBookingRequest();
+        request.setAppointments(List.of(items));
+        request.setAllOrNothing(allOrNothing);
+        return mockMvc.perform(post("/api/v1/appointments/book/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private List<LocalDateTime> bookedTimes(Provider provider) {
+        return appointmentRepository.findActiveAppointmentTimes(provider.getId(), morning.minusDays(1));
+    }
+
+    private AppointmentBookingRequest createRequest(UUID providerId, LocalDateTime dateTime) {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(providerId);
+        request.setAppointmentType(AppointmentType.NEW);
+        request.setMode(AppointmentMode.IN_PERSON);
+        request.setDateTime(dateTime);
+        request.setReasonForVisit("Imported from legacy scheduler");
+        request.setEstimatedAmount(new BigDecimal("150.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+}
@@ -0,0 +1,151 @@
+package com.thinkitive.thinkemr;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentReadModelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AppointmentExportControllerTest {
+    // More than one fetch batch, so the stream clears the persistence context on the way
+    private static final int APPOINTMENTS = 1200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentReadModelService readModelService;
+
+    private Provider provider;
+    private LocalDateTime firstSlot;
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = patientRepository.save(TestFixtures.patient("Test", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Test", "Provider").build());
+
+        firstSlot = LocalDate.now().plusDays(1).atTime(8, 0);
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            appointments.add(createAppointment(patient, firstSlot.plusHours(i),
+                    i == 0 ? "Follow-up, \"urgent\" review" : "Routine check " + i));
+        }
+        appointmentRepository.saveAll(appointments);
+        // Rows were inserted behind the service's back, so copy them into the read model
+        readModelService.rebuild();
+    }
+
+    @Test
+    void export_Csv_StreamsEveryMatchingRow() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/appointments/export")
+                        .param("providerId", provider.getId().toString())
+                        .param("sortDirection", "asc")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("appointments.csv")))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(APPOINTMENTS + 1, lines.length);
+        assertEquals("appointmentId", lines[0].split(",")[0]);
+        assertEquals(firstSlot.toString() + ":00", lines[1].split(",")[1]);
+        // Commas and quotes in a value are quoted and escaped
+        assertEquals(true, lines[1].contains(",\"Follow-up, \"\"urgent\"\" review\","));
+    }
+
+    @Test
+    void export_Ndjson_WritesOneObjectPerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/appointments/export")
+                        .param("providerId", provider.getId().toString())
+                        .param("startDate", firstSlot.toLocalDate().toString())
+                        .param("endDate", firstSlot.toLocalDate().toString())
+                        .param("sortDirection", "asc"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        // 08:00 to 23:00 on the first day
+        String[] lines = body.split("\n");
+        assertEquals(16, lines.length);
+        assertEquals("Dr. Test Provider", JsonPath.read(lines[0], "$.providerName"));
+        assertEquals(firstSlot.plusHours(15).toString() + ":00", JsonPath.read(lines[15], "$.dateTime"));
+    }
+
+    @Test
+    void export_RejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/export")
+                        .param("format", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid export format: xlsx"));
+    }
+
+    @Test
+    void export_RejectsUnknownSortBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/export")
+                        .param("sortBy", "shoeSize"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid sort field: shoeSize"));
+    }
+
+    private Appointment createAppointment(Patient patient, LocalDateTime dateTime, String reason) {
+        ClinicAddress clinicAddress = new ClinicAddress();
+        clinicAddress.setStreet("123 Main Street");
+        clinicAddress.setCity("Boston");
+        clinicAddress.setState("MA");
+        clinicAddress.setZip("02101");
+
+        return Appointment.builder()
+                .patient(patient)
+                .provider(provider)
+                .appointmentType(AppointmentType.NEW)
+                .mode(AppointmentMode.VIDEO_CALL)
+                .dateTime(dateTime)
+                .reasonForVisit(reason)
+                .estimatedAmount(new BigDecimal("75.00"))
+                .clinicAddress(clinicAddress)
+                .status(AppointmentStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentListRow;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.AppointmentSortField;
+import com.thinkitive.thinkemr.repository.AppointmentSpecifications;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentReadModelService;
+import jakarta.persistence.criteria.JoinType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the appointment list page query loading entities (fetch joins, persistence
+ * context, dirty-checking snapshots) with the constructor projection it was replaced by,
+ * which now reads the single-table list read model.
+ * Opt-in: {@code mvn test -Dtest=AppointmentListBenchmarkTest -Dbenchmark=true}
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AppointmentListBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentListBenchmarkTest.class);
+    private static final int APPOINTMENTS = 5000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentReadModelService readModelService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void listPage_EntitiesVersusProjection() {
+        Provider provider = seed();
+        Specification<AppointmentRecord> filter = Specification.where(AppointmentSpecifications.isActive())
+                .and(AppointmentSpecifications.hasProvider(provider.getId()));
+        Specification<Appointment> fetching = (root, query, cb) -> {
+            if (query.getResultType() == Appointment.class) {
+                root.fetch("patient", JoinType.INNER);
+                root.fetch("provider", JoinType.INNER);
+            }
+            return cb.and(cb.isTrue(root.get("isActive")), cb.equal(root.get("provider").get("id"), provider.getId()));
+        };
+        PageRequest pageRequest = PageRequest.of(3, PAGE_SIZE,
+                Sort.by(Sort.Direction.DESC, "dateTime", "id"));
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        Result entities = measure("entities", () -> readWrite.execute(status -> {
+            Page<Appointment> page = appointmentRepository.findAll(fetching, pageRequest);
+            List<String> names = new ArrayList<>();
+            for (Appointment appointment : page.getContent()) {
+                names.add(appointment.getPatient().getFirstName() + " " + appointment.getPatient().getLastName()
+                        + Period.between(appointment.getPatient().getDateOfBirth(), LocalDate.now()).getYears());
+            }
+            return names.size();
+        }));
+        Result projection = measure("projection", () -> readOnly.execute(status -> {
+            appointmentRepository.countRows(filter, false);
+            List<AppointmentListRow> rows = appointmentRepository.findRows(filter, false, AppointmentSortField.DATE_TIME,
+                    Sort.Direction.DESC, null, 3L * PAGE_SIZE, PAGE_SIZE);
+            LocalDate today = LocalDate.now();
+            List<String> names = new ArrayList<>();
+            for (AppointmentListRow row : rows) {
+                names.add(row.patientName()
+                        + (today.getYear() - row.patientDateOfBirth().getYear()));
+            }
+            return names.size();
+        }));
+
+        logger.info("List page of {} from {} appointments: entities {} us / {} KB, projection {} us / {} KB",
+                PAGE_SIZE, APPOINTMENTS, entities.micros(), entities.kilobytes(),
+                projection.micros(), projection.kilobytes());
+    }
+
+    private Result measure(String name, Supplier<Integer> page) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(PAGE_SIZE, page.get());
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            page.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Result result = new Result(elapsed / ITERATIONS / 1_000, allocated / ITERATIONS / 1_024);
+        logger.info("{}: {} us and {} KB allocated per page", name, result.micros(), result.kilobytes());
+        return result;
+    }
+
+    private Provider seed() {
+        Provider provider = providerRepository.save(TestFixtures.provider("Bench", "Provider").build());
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            patients.add(TestFixtures.patient("Bench", "Patient")
+                    .medicalHistory(List.of("Hypertension", "Asthma"))
+                    .build());
+        }
+        patients = patientRepository.saveAll(patients);
+
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(8, 0);
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            appointments.add(createAppointment(patients.get(i % patients.size()), provider, start.plusHours(i)));
+        }
+        appointmentRepository.saveAll(appointments);
+        readModelService.rebuild();
+        return provider;
+    }
+
+    private record Result(long micros, long kilobytes) {
+    }
+
+    private Appointment createAppointment(Patient patient, Provider provider, LocalDateTime dateTime) {
+        ClinicAddress clinicAddress = new ClinicAddress();
+        clinicAddress.setStreet("123 Main Street");
+        clinicAddress.setCity("Boston");
+        clinicAddress.setState("MA");
+        clinicAddress.setZip("02101");
+
+        return Appointment.builder()
+                .patient(patient)
+                .provider(provider)
+                .appointmentType(AppointmentType.NEW)
+                .mode(AppointmentMode.IN_PERSON)
+                .dateTime(dateTime)
+                .reasonForVisit("Benchmark appointment")
+                .estimatedAmount(new BigDecimal("100.00"))
+                .clinicAddress(clinicAddress)
+                .status(AppointmentStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.dto.AppointmentListRequest;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentListEntryRepository;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AppointmentListCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentListEntryRepository listEntryRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    private Patient patient;
+    private Provider provider;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Cache", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Cache", "Provider").build());
+        day = LocalDate.now().plusDays(5);
+    }
+
+    @Test
+    void list_ServesCachedPageUntilMatchingChange() {
+        appointmentService.bookAppointment(createRequest(provider, day.atTime(9, 0)));
+        assertEquals(1, countScheduledOn(day));
+
+        // Written behind the service, so only a fresh query can see it
+        writeBehindService(day.atTime(15, 0));
+        assertEquals(1, countScheduledOn(day));
+
+        // Other providers and other days do not touch this entry
+        appointmentService.bookAppointment(createRequest(providerRepository.save(TestFixtures.provider("Cache", "Provider").build()), day.atTime(9, 0)));
+        appointmentService.bookAppointment(createRequest(provider, day.plusDays(1).atTime(9, 0)));
+        assertEquals(1, countScheduledOn(day));
+
+        appointmentService.bookAppointment(createRequest(provider, day.atTime(11, 0)));
+        assertEquals(3, countScheduledOn(day));
+    }
+
+    @Test
+    void statusChange_EvictsOnlyPagesOfEitherStatus() {
+        UUID appointmentId = appointmentService.bookAppointment(createRequest(provider, day.atTime(9, 0)))
+                .getData().getAppointmentId();
+        assertEquals(1, countOn(day, AppointmentStatus.SCHEDULED));
+        assertEquals(0, countOn(day, AppointmentStatus.CHECKED_IN));
+        assertEquals(0, countOn(day, AppointmentStatus.CANCELLED));
+
+        writeBehindService(day.atTime(15, 0));
+        appointmentService.updateAppointmentStatus(appointmentId, AppointmentStatus.CHECKED_IN);
+
+        assertEquals(1, countOn(day, AppointmentStatus.SCHEDULED));
+        assertEquals(1, countOn(day, AppointmentStatus.CHECKED_IN));
+        // No status of the change matches, so the empty cached page is still served
+        assertEquals(0, countOn(day, AppointmentStatus.CANCELLED));
+    }
+
+    @Test
+    void statistics_AreExposedAsMetrics() throws Exception {
+        countScheduledOn(day);
+        countScheduledOn(day);
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:appointment-list")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").isNumber());
+        mockMvc.perform(get("/actuator/metrics/appointment.list.cache.invalidations"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Adds an appointment and its read model entry without publishing a change event.
+     */
+    private void writeBehindService(LocalDateTime dateTime) {
+        listEntryRepository.save(new AppointmentListEntry(appointmentRepository.save(createAppointment(dateTime))));
+    }
+
+    private long countScheduledOn(LocalDate date) {
+        return countOn(date, AppointmentStatus.SCHEDULED);
+    }
+
+    private long countOn(LocalDate date, AppointmentStatus status) {
+        AppointmentListRequest request = new AppointmentListRequest();
+        request.setProviderId(provider.getId());
+        request.setStatus(status);
+        request.setStartDate(date);
+        request.setEndDate(date);
+        return appointmentService.listAppointments(request).getData().getPagination().getTotalItems();
+    }
+
+    private AppointmentBookingRequest createRequest(Provider provider, LocalDateTime dateTime) {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(provider.getId());
+        request.setAppointmentType(AppointmentType.FOLLOW_UP);
+        request.setMode(AppointmentMode.IN_PERSON);
+        request.setDateTime(dateTime);
+        request.setReasonForVisit("Blood pressure check");
+        request.setEstimatedAmount(new BigDecimal("60.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+
+    private Appointment createAppointment(LocalDateTime dateTime) {
+        ClinicAddress clinicAddress = new ClinicAddress();
+        clinicAddress.setStreet("123 Main Street");
+        clinicAddress.setCity("Boston");
+        clinicAddress.setState("MA");
+        clinicAddress.setZip("02101");
+
+        return Appointment.builder()
+                .patient(patient)
+                .provider(provider)
+                .appointmentType(AppointmentType.FOLLOW_UP)
+                .mode(AppointmentMode.IN_PERSON)
+                .dateTime(dateTime)
+                .reasonForVisit("Blood pressure check")
+                .estimatedAmount(new BigDecimal("60.00"))
+                .clinicAddress(clinicAddress)
+                .status(AppointmentStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,230 @@
+package com.thinkitive.thinkemr;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thinkitive.thinkemr.cache.AppointmentStatusCounters;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentReadModelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AppointmentListControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentStatusCounters statusCounters;
+
+    @Autowired
+    private AppointmentReadModelService readModelService;
+
+    private Provider provider;
+    private LocalDate firstDay;
+    private final List<Appointment> appointments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Patient maria = patientRepository.save(TestFixtures.patient("Maria", "Garcia").build());
+        Patient john = patientRepository.save(TestFixtures.patient("John", "Smith").build());
+        provider = providerRepository.save(TestFixtures.provider("Jennifer", "Martinez").build());
+
+        // 12 appointments on two days, one every hour, alternating patients
+        firstDay = LocalDate.now().plusDays(10);
+        for (int i = 0; i < 12; i++) {
+            LocalDateTime dateTime = firstDay.plusDays(i / 6).atTime(LocalTime.of(9 + i % 6, 0));
+            AppointmentStatus status = i % 4 == 3 ? AppointmentStatus.CANCELLED : AppointmentStatus.SCHEDULED;
+            appointments.add(appointmentRepository.save(
+                    createAppointment(i % 2 == 0 ? maria : john, provider, dateTime, status)));
+        }
+        // Rows were inserted behind the service's back, so recount them and copy them
+        // into the read model
+        statusCounters.reconcile();
+        readModelService.rebuild();
+    }
+
+    @Test
+    void listAppointments_PaginatesInDatabase() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("providerId", provider.getId().toString())
+                        .param("page", "2")
+                        .param("size", "5")
+                        .param("sortBy", "dateTime")
+                        .param("sortDirection", "asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.appointments", hasSize(5)))
+                .andExpect(jsonPath("$.data.appointments[0].dateTime").value(firstDay.atTime(14, 0).toString() + ":00"))
+                .andExpect(jsonPath("$.data.pagination.currentPage").value(2))
+                .andExpect(jsonPath("$.data.pagination.pageSize").value(5))
+                .andExpect(jsonPath("$.data.pagination.totalItems").value(12))
+                .andExpect(jsonPath("$.data.pagination.totalPages").value(3))
+                .andExpect(jsonPath("$.data.pagination.hasNext").value(true))
+                .andExpect(jsonPath("$.data.pagination.hasPrevious").value(true));
+    }
+
+    @Test
+    void listAppointments_AppliesFilters() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("providerId", provider.getId().toString())
+                        .param("status", "SCHEDULED")
+                        .param("startDate", firstDay.toString())
+                        .param("endDate", firstDay.toString())
+                        .param("patientName", "maria")
+                        .param("providerName", "Dr. Jennifer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.appointments", hasSize(3)))
+                .andExpect(jsonPath("$.data.appointments[0].patientName").value("Maria Garcia"))
+                .andExpect(jsonPath("$.data.appointments[0].providerName").value("Dr. Jennifer Martinez"))
+                .andExpect(jsonPath("$.data.pagination.totalItems").value(3));
+    }
+
+    @Test
+    void listAppointments_MatchesNameFragmentsAnywhere() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("providerId", provider.getId().toString())
+                        .param("patientName", "ARCI")
+                        .param("providerName", "nifer mart"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.pagination.totalItems").value(6))
+                .andExpect(jsonPath("$.data.appointments[0].patientName").value("Maria Garcia"));
+
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("providerId", provider.getId().toString())
+                        .param("patientName", "Nobody Here"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.appointments", hasSize(0)))
+                .andExpect(jsonPath("$.data.pagination.totalItems").value(0));
+    }
+
+    @Test
+    void listAppointments_CursorModeWalksForwardAndBack() throws Exception {
+        String firstPage = listByCursor(null, "patientName")
+                .andExpect(jsonPath("$.data.appointments", hasSize(5)))
+                .andExpect(jsonPath("$.data.pagination.totalItems").value(-1))
+                .andExpect(jsonPath("$.data.pagination.hasPrevious").value(false))
+                .andExpect(jsonPath("$.data.pagination.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        String secondPage = listByCursor(JsonPath.read(firstPage, "$.data.pagination.nextCursor"), "patientName")
+                .andExpect(jsonPath("$.data.appointments", hasSize(5)))
+                .andExpect(jsonPath("$.data.pagination.hasPrevious").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        listByCursor(JsonPath.read(secondPage, "$.data.pagination.nextCursor"), "patientName")
+                .andExpect(jsonPath("$.data.appointments", hasSize(2)))
+                .andExpect(jsonPath("$.data.pagination.hasNext").value(false))
+                .andExpect(jsonPath("$.data.pagination.nextCursor").doesNotExist());
+
+        List<String> firstIds = JsonPath.read(firstPage, "$.data.appointments[*].appointmentId");
+        listByCursor(JsonPath.read(secondPage, "$.data.pagination.prevCursor"), "patientName")
+                .andExpect(jsonPath("$.data.appointments[*].appointmentId").value(firstIds))
+                .andExpect(jsonPath("$.data.pagination.hasPrevious").value(false));
+    }
+
+    @Test
+    void updateStatus_MovesSummaryCounters() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("providerId", provider.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.summary.totalAppointments").value(12))
+                .andExpect(jsonPath("$.data.summary.scheduledCount").value(9))
+                .andExpect(jsonPath("$.data.summary.cancelledCount").value(3));
+
+        mockMvc.perform(patch("/api/v1/appointments/" + appointments.get(0).getId() + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CHECKED_IN\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.previousStatus").value("scheduled"))
+                .andExpect(jsonPath("$.data.status").value("checked_in"));
+
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("providerId", provider.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.summary.totalAppointments").value(12))
+                .andExpect(jsonPath("$.data.summary.scheduledCount").value(8))
+                .andExpect(jsonPath("$.data.summary.checkedInCount").value(1));
+    }
+
+    @Test
+    void updateStatus_RejectsReopeningCancelledAppointment() throws Exception {
+        mockMvc.perform(patch("/api/v1/appointments/" + appointments.get(3).getId() + "/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SCHEDULED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listAppointments_RejectsUnknownSortField() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/list")
+                        .param("sortBy", "reasonForVisit"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid sort field: reasonForVisit"));
+    }
+
+    private ResultActions listByCursor(String cursor, String sortBy) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/v1/appointments/list")
+                .param("providerId", provider.getId().toString())
+                .param("paginationMode", "cursor")
+                .param("size", "5")
+                .param("sortBy", sortBy)
+                .param("sortDirection", "asc");
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        return mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private Appointment createAppointment(Patient patient, Provider provider, LocalDateTime dateTime,
+                                          AppointmentStatus status) {
+        ClinicAddress clinicAddress = new ClinicAddress();
+        clinicAddress.setStreet("123 Main Street");
+        clinicAddress.setCity("Boston");
+        clinicAddress.setState("MA");
+        clinicAddress.setZip("02101");
+
+        return Appointment.builder()
+                .patient(patient)
+                .provider(provider)
+                .appointmentType(AppointmentType.NEW)
+                .mode(AppointmentMode.IN_PERSON)
+                .dateTime(dateTime)
+                .reasonForVisit("Initial consultation")
+                .estimatedAmount(new BigDecimal("150.00"))
+                .clinicAddress(clinicAddress)
+                .status(status)
+                .isActive(true)
+                .build();
+    }
+}
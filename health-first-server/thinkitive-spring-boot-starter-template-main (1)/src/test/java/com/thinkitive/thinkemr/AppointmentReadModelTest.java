@@ -0,0 +1,121 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentListEntryRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentReadModelService;
+import com.thinkitive.thinkemr.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class AppointmentReadModelTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentReadModelService readModelService;
+
+    @Autowired
+    private AppointmentListEntryRepository listEntryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    private Patient patient;
+    private Provider provider;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Model", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Model", "Provider").build());
+    }
+
+    @Test
+    void booking_WritesEntryAndStatusChangesFollow() {
+        UUID appointmentId = appointmentService.bookAppointment(createRequest(LocalDate.now().plusDays(3).atTime(10, 0)))
+                .getData().getAppointmentId();
+
+        AppointmentListEntry entry = listEntryRepository.findById(appointmentId).orElseThrow();
+        assertThat(entry.getPatient().getId()).isEqualTo(patient.getId());
+        assertThat(entry.getPatient().getName()).isEqualTo("Model Patient");
+        assertThat(entry.getProvider().getName()).isEqualTo("Dr. Model Provider");
+        assertThat(entry.getStatus()).isEqualTo(AppointmentStatus.SCHEDULED);
+        assertThat(entry.isCanStart()).isTrue();
+        assertThat(entry.isCanEdit()).isTrue();
+
+        appointmentService.updateAppointmentStatus(appointmentId, AppointmentStatus.CANCELLED);
+
+        entry = listEntryRepository.findById(appointmentId).orElseThrow();
+        assertThat(entry.getStatus()).isEqualTo(AppointmentStatus.CANCELLED);
+        assertThat(entry.isCanStart()).isFalse();
+        assertThat(entry.isCanEdit()).isFalse();
+    }
+
+    @Test
+    void rebuild_RecreatesEntriesFromAppointments() {
+        UUID appointmentId = appointmentService.bookAppointment(createRequest(LocalDate.now().plusDays(3).atTime(14, 0)))
+                .getData().getAppointmentId();
+        appointmentService.updateAppointmentStatus(appointmentId, AppointmentStatus.IN_EXAM);
+        AppointmentListEntry written = listEntryRepository.findById(appointmentId).orElseThrow();
+        listEntryRepository.deleteAllInBatch();
+
+        readModelService.rebuild();
+
+        AppointmentListEntry rebuilt = listEntryRepository.findById(appointmentId).orElseThrow();
+        assertThat(rebuilt).usingRecursiveComparison().isEqualTo(written);
+    }
+
+    @Test
+    void rebuildInsert_SkipsEntriesWrittenSinceTheDelete() {
+        UUID missing = appointmentService.bookAppointment(createRequest(LocalDate.now().plusDays(4).atTime(9, 0)))
+                .getData().getAppointmentId();
+        // Stands in for a booking committed between the rebuild's delete and its insert
+        UUID bookedMeanwhile = appointmentService.bookAppointment(createRequest(LocalDate.now().plusDays(4).atTime(11, 0)))
+                .getData().getAppointmentId();
+        listEntryRepository.deleteById(missing);
+
+        transactionTemplate.executeWithoutResult(status -> listEntryRepository.insertFromAppointments());
+
+        assertThat(listEntryRepository.existsById(missing)).isTrue();
+        assertThat(listEntryRepository.existsById(bookedMeanwhile)).isTrue();
+    }
+
+    private AppointmentBookingRequest createRequest(LocalDateTime dateTime) {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(provider.getId());
+        request.setAppointmentType(AppointmentType.NEW);
+        request.setMode(AppointmentMode.HOME);
+        request.setDateTime(dateTime);
+        request.setReasonForVisit("Post-operative check");
+        request.setEstimatedAmount(new BigDecimal("120.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+}
@@ -0,0 +1,168 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private Patient patient;
+    private LocalDateTime slot;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Test", "Patient").build());
+        slot = LocalDate.now().plusDays(3).atTime(LocalTime.of(10, 0));
+    }
+
+    @Test
+    void sameSlotBookedConcurrently_OnlyOneSucceeds() throws Exception {
+        Provider provider = providerRepository.save(TestFixtures.provider("Test", "Provider").build());
+
+        List<Callable<Void>> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            bookings.add(() -> {
+                appointmentService.bookAppointment(createRequest(provider.getId(), slot));
+                return null;
+            });
+        }
+        Outcome outcome = runConcurrently(bookings);
+
+        assertEquals(1, outcome.succeeded.get());
+        assertEquals(THREADS * 4 - 1, outcome.conflicts.get());
+        assertEquals(1, bookedTimes(provider.getId()).size());
+    }
+
+    @Test
+    void overlappingSlotsBookedConcurrently_NoDoubleBookings() throws Exception {
+        Provider provider = providerRepository.save(TestFixtures.provider("Test", "Provider").build());
+
+        // 64 requests five minutes apart: every booking conflicts with its neighbours
+        List<Callable<Void>> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            LocalDateTime dateTime = slot.plusMinutes(5L * i);
+            bookings.add(() -> {
+                appointmentService.bookAppointment(createRequest(provider.getId(), dateTime));
+                return null;
+            });
+        }
+        Outcome outcome = runConcurrently(bookings);
+
+        List<LocalDateTime> booked = bookedTimes(provider.getId());
+        assertEquals(outcome.succeeded.get(), booked.size());
+        for (int i = 1; i < booked.size(); i++) {
+            Duration gap = Duration.between(booked.get(i - 1), booked.get(i));
+            assertTrue(gap.compareTo(Duration.ofMinutes(30)) > 0, "Double booking around " + booked.get(i));
+        }
+    }
+
+    @Test
+    void differentProvidersBookedConcurrently_AllSucceed() throws Exception {
+        List<Callable<Void>> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            Provider provider = providerRepository.save(TestFixtures.provider("Test", "Provider").build());
+            bookings.add(() -> {
+                appointmentService.bookAppointment(createRequest(provider.getId(), slot));
+                return null;
+            });
+        }
+        Outcome outcome = runConcurrently(bookings);
+
+        assertEquals(THREADS * 4, outcome.succeeded.get());
+        assertEquals(0, outcome.conflicts.get());
+    }
+
+    private Outcome runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Outcome outcome = new Outcome();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        task.call();
+                        outcome.succeeded.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        if (!e.getMessage().contains("conflicts with existing appointment")) {
+                            throw e;
+                        }
+                        outcome.conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return outcome;
+    }
+
+    private List<LocalDateTime> bookedTimes(UUID providerId) {
+        return appointmentRepository.findActiveAppointmentTimes(providerId, slot.minusDays(1));
+    }
+
+    private AppointmentBookingRequest createRequest(UUID providerId, LocalDateTime dateTime) {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(providerId);
+        request.setAppointmentType(AppointmentType.NEW);
+        request.setMode(AppointmentMode.IN_PERSON);
+        request.setDateTime(dateTime);
+        request.setReasonForVisit("Annual checkup and blood work");
+        request.setEstimatedAmount(new BigDecimal("150.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+
+    private static final class Outcome {
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger conflicts = new AtomicInteger();
+    }
+}
@@ -0,0 +1,208 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentListEntryRepository;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.BookingPatient;
+import com.thinkitive.thinkemr.repository.BookingProvider;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Compares the database part of a booking when the patient and provider are loaded as
+ * managed entities (from the second-level cache, or from the database with the cache
+ * bypassed), read with primary key projection queries, or read with the repositories'
+ * read-only booking checks; the last two link the appointment with {@code getReferenceById}.
+ * Each booking inserts the appointment and its list entry, flushes and rolls back.
+ * Opt-in: {@code mvn test -Dtest=BookingLookupBenchmarkTest -Dbenchmark=true}
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class BookingLookupBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(BookingLookupBenchmarkTest.class);
+    private static final int WARMUP = 3000;
+    private static final int ITERATIONS = 3000;
+    private static final Map<String, Object> BYPASS_CACHE =
+            Map.of("jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentListEntryRepository listEntryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void booking_EntitiesVersusScalarChecks() {
+        Patient patient = patientRepository.save(createPatient());
+        Provider provider = providerRepository.save(TestFixtures.provider("Bench", "Provider").build());
+        LocalDateTime dateTime = LocalDate.now().plusDays(1).atTime(10, 0);
+
+        Result cached = measure("entities, second-level cache", patient.getId(), provider.getId(),
+                (patientId, providerId) -> bookWithEntities(patientId, providerId, dateTime, Map.of()));
+        Result bypassed = measure("entities, cache bypassed", patient.getId(), provider.getId(),
+                (patientId, providerId) -> bookWithEntities(patientId, providerId, dateTime, BYPASS_CACHE));
+        Result scalar = measure("scalar projection queries and references", patient.getId(), provider.getId(),
+                (patientId, providerId) -> bookWithProjectionQueries(patientId, providerId, dateTime));
+        Result checks = measure("read-only booking checks and references", patient.getId(), provider.getId(),
+                (patientId, providerId) -> bookWithBookingChecks(patientId, providerId, dateTime));
+
+        logger.info("Per booking: cached entities {} statements / {} us / {} KB, "
+                        + "uncached entities {} statements / {} us / {} KB, "
+                        + "projection queries {} statements / {} us / {} KB, "
+                        + "booking checks {} statements / {} us / {} KB",
+                cached.statements(), cached.micros(), cached.kilobytes(),
+                bypassed.statements(), bypassed.micros(), bypassed.kilobytes(),
+                scalar.statements(), scalar.micros(), scalar.kilobytes(),
+                checks.statements(), checks.micros(), checks.kilobytes());
+    }
+
+    private Appointment bookWithEntities(UUID patientId, UUID providerId, LocalDateTime dateTime,
+                                         Map<String, Object> hints) {
+        Patient patient = entityManager.find(Patient.class, patientId, hints);
+        Provider provider = entityManager.find(Provider.class, providerId, hints);
+        if (!patient.isActive() || !provider.isActive()) {
+            throw new IllegalStateException("Inactive benchmark data");
+        }
+        Appointment appointment = appointmentRepository.saveAndFlush(createAppointment(patient, provider, dateTime));
+        listEntryRepository.saveAndFlush(new AppointmentListEntry(appointment));
+        return appointment;
+    }
+
+    /**
+     * Primary key projection queries, which always go to the database.
+     */
+    private Appointment bookWithProjectionQueries(UUID patientId, UUID providerId, LocalDateTime dateTime) {
+        BookingPatient patient = entityManager.createQuery(
+                        "SELECT new com.thinkitive.thinkemr.repository.BookingPatient(p.id, p.isActive, p.email, "
+                                + "p.firstName, p.lastName, p.gender, p.dateOfBirth, p.phoneNumber) "
+                                + "FROM Patient p WHERE p.id = :id", BookingPatient.class)
+                .setParameter("id", patientId)
+                .getSingleResult();
+        BookingProvider provider = entityManager.createQuery(
+                        "SELECT new com.thinkitive.thinkemr.repository.BookingProvider(p.id, p.isActive, "
+                                + "p.firstName, p.lastName, p.specialization) "
+                                + "FROM Provider p WHERE p.id = :id", BookingProvider.class)
+                .setParameter("id", providerId)
+                .getSingleResult();
+        return bookWithReferences(patient, provider, dateTime);
+    }
+
+    private Appointment bookWithBookingChecks(UUID patientId, UUID providerId, LocalDateTime dateTime) {
+        BookingPatient patient = patientRepository.findForBooking(patientId).orElseThrow();
+        BookingProvider provider = providerRepository.findForBooking(providerId).orElseThrow();
+        return bookWithReferences(patient, provider, dateTime);
+    }
+
+    private Appointment bookWithReferences(BookingPatient patient, BookingProvider provider, LocalDateTime dateTime) {
+        if (!patient.active() || !provider.active()) {
+            throw new IllegalStateException("Inactive benchmark data");
+        }
+        Appointment appointment = appointmentRepository.saveAndFlush(createAppointment(
+                patientRepository.getReferenceById(patient.id()), providerRepository.getReferenceById(provider.id()), dateTime));
+        listEntryRepository.saveAndFlush(new AppointmentListEntry(appointment, patient.toListed(), provider.toListed()));
+        return appointment;
+    }
+
+    private Result measure(String name, UUID patientId, UUID providerId,
+                           BiFunction<UUID, UUID, Appointment> booking) {
+        Runnable once = () -> transactionTemplate.executeWithoutResult(status -> {
+            booking.apply(patientId, providerId);
+            status.setRollbackOnly();
+        });
+        for (int i = 0; i < WARMUP; i++) {
+            once.run();
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            once.run();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Result result = new Result(
+                Math.round(100.0 * (statistics.getPrepareStatementCount() - statementsBefore) / ITERATIONS) / 100.0,
+                elapsed / ITERATIONS / 1_000,
+                allocated / ITERATIONS / 1_024);
+        logger.info("{}: {} statements, {} us and {} KB allocated per booking",
+                name, result.statements(), result.micros(), result.kilobytes());
+        return result;
+    }
+
+    private record Result(double statements, long micros, long kilobytes) {
+    }
+
+    private Appointment createAppointment(Patient patient, Provider provider, LocalDateTime dateTime) {
+        ClinicAddress clinicAddress = new ClinicAddress();
+        clinicAddress.setStreet("123 Main Street");
+        clinicAddress.setCity("Boston");
+        clinicAddress.setState("MA");
+        clinicAddress.setZip("02101");
+
+        return Appointment.builder()
+                .patient(patient)
+                .provider(provider)
+                .appointmentType(AppointmentType.NEW)
+                .mode(AppointmentMode.IN_PERSON)
+                .dateTime(dateTime)
+                .reasonForVisit("Benchmark appointment")
+                .estimatedAmount(new BigDecimal("100.00"))
+                .clinicAddress(clinicAddress)
+                .status(AppointmentStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+
+    private Patient createPatient() {
+        EmergencyContact emergencyContact = new EmergencyContact();
+        emergencyContact.setName("Bench Contact");
+        emergencyContact.setPhone("+15550000000");
+        emergencyContact.setRelationship("Spouse");
+
+        return TestFixtures.patient("Bench", "Patient")
+                .emergencyContact(emergencyContact)
+                .medicalHistory(List.of("Hypertension", "Asthma"))
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    private Patient patient;
+    private Provider provider;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Etag", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Etag", "Provider").build());
+    }
+
+    @Test
+    void listAppointments_AnswersNotModifiedUntilProviderChanges() throws Exception {
+        String listUrl = "/api/v1/appointments/list?providerId=" + provider.getId();
+        String etag = fetchEtag(listUrl);
+
+        mockMvc.perform(get(listUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // Another provider's booking leaves this provider's list alone
+        Provider other = providerRepository.save(TestFixtures.provider("Etag", "Provider").build());
+        appointmentService.bookAppointment(createRequest(other, LocalDate.now().plusDays(6).atTime(9, 0)));
+        mockMvc.perform(get(listUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        appointmentService.bookAppointment(createRequest(provider, LocalDate.now().plusDays(6).atTime(9, 0)));
+        String changed = mockMvc.perform(get(listUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void providerAvailability_AnswersNotModifiedUntilBooked() throws Exception {
+        String availabilityUrl = "/api/v1/providers/" + provider.getId() + "/availability";
+        String etag = fetchEtag(availabilityUrl);
+
+        mockMvc.perform(get(availabilityUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        appointmentService.bookAppointment(createRequest(provider, LocalDate.now().plusDays(2).atTime(10, 0)));
+        mockMvc.perform(get(availabilityUrl).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void users_AnswersNotModifiedUntilUserCreated() throws Exception {
+        String etag = fetchEtag("/api/users");
+
+        mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + unique + "@user.example.com\",\"firstName\":\"Etag\"," +
+                                "\"lastName\":\"User\",\"password\":\"Password123!\"}"))
+                .andExpect(status().isOk());
+
+        String changed = mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    private String fetchEtag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(etag, mockMvc.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+        return etag;
+    }
+
+    private AppointmentBookingRequest createRequest(Provider provider, LocalDateTime dateTime) {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(provider.getId());
+        request.setAppointmentType(AppointmentType.NEW);
+        request.setMode(AppointmentMode.VIDEO_CALL);
+        request.setDateTime(dateTime);
+        request.setReasonForVisit("Medication review");
+        request.setEstimatedAmount(new BigDecimal("80.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+}
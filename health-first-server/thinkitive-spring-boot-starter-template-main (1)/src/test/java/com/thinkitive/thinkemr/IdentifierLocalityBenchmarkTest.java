@@ -0,0 +1,103 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.util.TimeOrderedUuids;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Inserts the same number of rows into a scratch table keyed by random (version 4) UUIDs and
+ * one keyed by time-ordered (version 7) UUIDs, each with a secondary index on a second id
+ * column, and compares the insert rate as the tables grow and the final index size. Random
+ * keys touch a random leaf page per insert, so once the index outgrows the cache every insert
+ * reads a page and leaves it half full after a split; ordered keys always append.
+ * Opt-in; the row count defaults to 10 million and is best run against PostgreSQL:
+ * {@code mvn test -Dtest=IdentifierLocalityBenchmarkTest -Dbenchmark=true -Dbenchmark.rows=10000000}
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class IdentifierLocalityBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(IdentifierLocalityBenchmarkTest.class);
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+    private static final int BATCH_SIZE = 1000;
+    private static final int REPORTS = 10;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void insert_RandomVersusTimeOrderedKeys() throws Exception {
+        insertAndMeasure("bench_random_ids", UUID::randomUUID);
+        insertAndMeasure("bench_ordered_ids", TimeOrderedUuids::next);
+    }
+
+    private void insertAndMeasure(String table, Supplier<UUID> ids) throws Exception {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table
+                + " (id UUID PRIMARY KEY, appointment_id UUID NOT NULL, created_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_" + table + "_appointment_id ON " + table + " (appointment_id)");
+        try {
+            long started = System.nanoTime();
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO " + table + " (id, appointment_id, created_at) VALUES (?, ?, ?)")) {
+                connection.setAutoCommit(false);
+                int reportEvery = Math.max(ROWS / REPORTS, BATCH_SIZE);
+                long chunkStarted = System.nanoTime();
+                for (int row = 1; row <= ROWS; row++) {
+                    insert.setObject(1, ids.get());
+                    insert.setObject(2, ids.get());
+                    insert.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+                    insert.addBatch();
+                    if (row % BATCH_SIZE == 0 || row == ROWS) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                    if (row % reportEvery == 0) {
+                        long now = System.nanoTime();
+                        logger.info("{}: {} rows, {} rows/s over the last {}", table, row,
+                                reportEvery * 1_000_000_000L / Math.max(now - chunkStarted, 1), reportEvery);
+                        chunkStarted = now;
+                    }
+                }
+            }
+            long elapsed = System.nanoTime() - started;
+            logger.info("{}: {} rows in {} ms ({} rows/s), indexes {} KB", table, ROWS, elapsed / 1_000_000,
+                    ROWS * 1_000_000_000L / elapsed, indexBytes(table) / 1024);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE " + table);
+        }
+    }
+
+    /**
+     * Size of the table's indexes where the database reports it; H2 only reports the table
+     * including its indexes.
+     */
+    private long indexBytes(String table) throws Exception {
+        String product;
+        try (Connection connection = dataSource.getConnection()) {
+            product = connection.getMetaData().getDatabaseProductName();
+        }
+        if ("PostgreSQL".equals(product)) {
+            jdbcTemplate.execute("VACUUM ANALYZE " + table);
+            return jdbcTemplate.queryForObject("SELECT pg_indexes_size(?::regclass)", Long.class, table);
+        }
+        return jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED(?)", Long.class, table.toUpperCase());
+    }
+}
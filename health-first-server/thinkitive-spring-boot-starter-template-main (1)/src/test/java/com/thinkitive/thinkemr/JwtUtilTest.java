@@ -0,0 +1,97 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.entity.Patient;
+import com.thinkitive.thinkemr.entity.Provider;
+import com.thinkitive.thinkemr.entity.Specialization;
+import com.thinkitive.thinkemr.entity.VerificationStatus;
+import com.thinkitive.thinkemr.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JwtUtilTest {
+    private static final String SECRET = "test-secret-key-which-is-long-enough-for-hs256";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 3600, 100, meterRegistry);
+
+    @Test
+    void verify_ReturnsClaimsAndCachesThem() {
+        Patient patient = patient();
+        String token = jwtUtil.generatePatientToken(patient);
+
+        Claims first = jwtUtil.verify(token).orElseThrow();
+        Claims second = jwtUtil.verify(token).orElseThrow();
+
+        assertThat(first.get("patient_id")).isEqualTo(patient.getId().toString());
+        assertThat(second.getSubject()).isEqualTo(patient.getEmail());
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+        assertThat(cacheGets("miss")).isEqualTo(1);
+        assertThat(cacheGets("hit")).isEqualTo(2);
+    }
+
+    @Test
+    void getClaims_ReturnsCopyOfCachedClaims() {
+        String token = jwtUtil.generatePatientToken(patient());
+
+        jwtUtil.getClaims(token).put("role", "PROVIDER");
+
+        assertThat(jwtUtil.getClaims(token).get("role")).isEqualTo("PATIENT");
+    }
+
+    @Test
+    void verify_RejectsTamperedForeignAndMalformedTokens() {
+        String token = jwtUtil.generatePatientToken(patient());
+        jwtUtil.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String foreign = new JwtUtil(SECRET + "-other", 3600, 100, new SimpleMeterRegistry())
+                .generatePatientToken(patient());
+
+        assertThat(jwtUtil.verify(tampered)).isEmpty();
+        assertThat(jwtUtil.verify(foreign)).isEmpty();
+        assertThat(jwtUtil.verify("not-a-token")).isEmpty();
+        assertThat(jwtUtil.verify("")).isEmpty();
+        assertThat(jwtUtil.validateToken(null)).isFalse();
+        assertThatThrownBy(() -> jwtUtil.getClaims(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_RejectsCachedTokenOnceExpired() throws InterruptedException {
+        JwtUtil shortLived = new JwtUtil(SECRET, 1, 100, new SimpleMeterRegistry());
+        String token = shortLived.generateToken(provider());
+        assertThat(shortLived.verify(token)).isPresent();
+
+        // Expiry is stored in whole seconds
+        Thread.sleep(2100);
+
+        assertThat(shortLived.verify(token)).isEmpty();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "jwt-verified").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static Patient patient() {
+        return Patient.builder()
+                .id(UUID.randomUUID())
+                .email(UUID.randomUUID().toString().substring(0, 8) + "@patient.example.com")
+                .build();
+    }
+
+    private static Provider provider() {
+        return Provider.builder()
+                .id(UUID.randomUUID())
+                .email(UUID.randomUUID().toString().substring(0, 8) + "@provider.example.com")
+                .specialization(Specialization.CARDIOLOGY)
+                .verificationStatus(VerificationStatus.VERIFIED)
+                .build();
+    }
+}
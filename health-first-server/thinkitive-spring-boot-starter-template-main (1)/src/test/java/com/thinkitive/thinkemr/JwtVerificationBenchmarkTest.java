@@ -0,0 +1,72 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.entity.Patient;
+import com.thinkitive.thinkemr.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tokens verified per second on one thread, cycling through a set of distinct patient tokens
+ * the way repeat requests from signed-in users would: with a parser built per call (as
+ * before), with the shared parser but no cache, and with the verified-token cache.
+ * Opt-in: {@code mvn test -Dtest=JwtVerificationBenchmarkTest -Dbenchmark=true}, with
+ * {@code -Dbenchmark.tokens} and {@code -Dbenchmark.verifications} to resize the run.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class JwtVerificationBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerificationBenchmarkTest.class);
+    private static final String SECRET = "benchmark-secret-key-which-is-long-enough-for-hs256";
+    private static final int TOKENS = Integer.getInteger("benchmark.tokens", 1000);
+    private static final int VERIFICATIONS = Integer.getInteger("benchmark.verifications", 200_000);
+
+    @Test
+    void verification_ParserPerCallVersusSharedParserVersusCache() {
+        JwtUtil cached = new JwtUtil(SECRET, 3600, TOKENS, new SimpleMeterRegistry());
+        JwtUtil uncached = new JwtUtil(SECRET, 3600, 0, new SimpleMeterRegistry());
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(cached.generatePatientToken(Patient.builder()
+                    .id(UUID.randomUUID())
+                    .email("bench-" + i + "@patient.example.com")
+                    .build()));
+        }
+
+        long perCall = run("parser per call", tokens, token -> {
+            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            return true;
+        });
+        long shared = run("shared parser", tokens, token -> uncached.verify(token).isPresent());
+        long withCache = run("verified-token cache", tokens, token -> cached.verify(token).isPresent());
+        logger.info("{} tokens: parser per call {} tokens/s, shared parser {} tokens/s, cache {} tokens/s",
+                TOKENS, perCall, shared, withCache);
+    }
+
+    private static long run(String mode, List<String> tokens, Predicate<String> verify) {
+        // Warm up the JIT, and the cache where there is one
+        for (int i = 0; i < Math.max(tokens.size(), VERIFICATIONS / 10); i++) {
+            assertTrue(verify.test(tokens.get(i % tokens.size())));
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < VERIFICATIONS; i++) {
+            assertTrue(verify.test(tokens.get(i % tokens.size())));
+        }
+        long elapsed = System.nanoTime() - started;
+        long perSecond = Math.round(VERIFICATIONS * 1e9 / elapsed);
+        logger.info("{}: {} verifications in {} ms, {} tokens/s", mode, VERIFICATIONS, elapsed / 1_000_000, perSecond);
+        return perSecond;
+    }
+}
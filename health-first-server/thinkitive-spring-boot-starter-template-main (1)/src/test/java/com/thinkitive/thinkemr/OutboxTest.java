@@ -0,0 +1,204 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.dto.PatientRegistrationRequest;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.notification.InMemoryNotificationSender;
+import com.thinkitive.thinkemr.notification.NotificationSender;
+import com.thinkitive.thinkemr.repository.OutboxMessageRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentService;
+import com.thinkitive.thinkemr.service.OutboxService;
+import com.thinkitive.thinkemr.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Own database, so dispatchers of other test contexts never claim these messages
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-test",
+        "thinkemr.outbox.sender=memory",
+        "thinkemr.outbox.poll-interval-ms=3600000",
+        "thinkemr.outbox.backoff.initial=PT0S",
+        "thinkemr.outbox.max-attempts=2"
+})
+public class OutboxTest {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private InMemoryNotificationSender memorySender;
+
+    @Autowired
+    private FlakyNotificationSender flakySender;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    private Patient patient;
+    private Provider provider;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Outbox", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Outbox", "Provider").build());
+    }
+
+    @Test
+    void registrationAndBooking_AreSentAfterCommit() {
+        String email = UUID.randomUUID().toString().substring(0, 8) + "@outbox.example.com";
+        UUID patientId = UUID.fromString(patientService.registerPatient(registrationRequest(email)).getData().getPatient_id());
+        UUID appointmentId = appointmentService.bookAppointment(createRequest(LocalDate.now().plusDays(2).atTime(10, 0)))
+                .getData().getAppointmentId();
+
+        OutboxMessage verification = outboxRepository.findAll().stream()
+                .filter(message -> message.getAggregateId().equals(patientId)).findFirst().orElseThrow();
+        assertThat(verification.getType()).isEqualTo(OutboxMessageType.PATIENT_VERIFICATION_EMAIL);
+        assertThat(verification.getRecipient()).isEqualTo(email);
+        assertThat(verification.getStatus()).isEqualTo(OutboxStatus.PENDING);
+
+        outboxService.dispatch();
+
+        assertThat(memorySender.delivered())
+                .anySatisfy(message -> assertThat(message.getAggregateId()).isEqualTo(patientId))
+                .anySatisfy(message -> {
+                    assertThat(message.getAggregateId()).isEqualTo(appointmentId);
+                    assertThat(message.getType()).isEqualTo(OutboxMessageType.APPOINTMENT_CONFIRMATION);
+                    assertThat(message.getRecipient()).isEqualTo(patient.getEmail());
+                    assertThat(message.getPayload()).contains("Dr. Outbox Provider");
+                });
+        OutboxMessage confirmation = outboxRepository.findById(messageIdFor(appointmentId)).orElseThrow();
+        assertThat(confirmation.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(confirmation.getSentAt()).isNotNull();
+        assertThat(confirmation.getClaimToken()).isNull();
+        assertThat(confirmation.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void failedSend_IsRetriedThenGivenUp() {
+        flakySender.failFor(patient.getEmail());
+        UUID appointmentId = appointmentService.bookAppointment(createRequest(LocalDate.now().plusDays(2).atTime(14, 0)))
+                .getData().getAppointmentId();
+        UUID messageId = messageIdFor(appointmentId);
+
+        outboxService.dispatch();
+        OutboxMessage message = outboxRepository.findById(messageId).orElseThrow();
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getLastError()).contains("Mail gateway unavailable");
+
+        outboxService.dispatch();
+        message = outboxRepository.findById(messageId).orElseThrow();
+        assertThat(message.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(message.getAttempts()).isEqualTo(2);
+
+        // Exhausted messages are no longer claimed
+        assertThat(outboxService.dispatch()).isZero();
+        assertThat(memorySender.delivered()).noneSatisfy(sent -> assertThat(sent.getId()).isEqualTo(messageId));
+    }
+
+    private UUID messageIdFor(UUID appointmentId) {
+        return outboxRepository.findAll().stream()
+                .filter(message -> message.getAggregateId().equals(appointmentId))
+                .findFirst().orElseThrow().getId();
+    }
+
+    @TestConfiguration
+    static class FlakySenderConfig {
+        @Bean
+        @Primary
+        FlakyNotificationSender flakyNotificationSender(InMemoryNotificationSender memorySender) {
+            return new FlakyNotificationSender(memorySender);
+        }
+    }
+
+    /**
+     * Fails every send to the given recipients and passes the rest on.
+     */
+    static class FlakyNotificationSender implements NotificationSender {
+        private final NotificationSender delegate;
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+        FlakyNotificationSender(NotificationSender delegate) {
+            this.delegate = delegate;
+        }
+
+        void failFor(String recipient) {
+            failing.add(recipient);
+        }
+
+        @Override
+        public void send(OutboxMessage message) {
+            if (failing.contains(message.getRecipient())) {
+                throw new IllegalStateException("Mail gateway unavailable");
+            }
+            delegate.send(message);
+        }
+    }
+
+    private PatientRegistrationRequest registrationRequest(String email) {
+        PatientRegistrationRequest request = new PatientRegistrationRequest();
+        request.setFirstName("Outbox");
+        request.setLastName("Registrant");
+        request.setEmail(email);
+        request.setPhoneNumber("+7" + Math.abs(email.hashCode()));
+        request.setPassword("SecurePass123!");
+        request.setConfirmPassword("SecurePass123!");
+        request.setDateOfBirth(LocalDate.of(1992, 3, 14));
+        request.setGender(Gender.FEMALE);
+
+        PatientRegistrationRequest.AddressDto address = new PatientRegistrationRequest.AddressDto();
+        address.setStreet("12 Outbox Lane");
+        address.setCity("Springfield");
+        address.setState("IL");
+        address.setZip("62701");
+        request.setAddress(address);
+        return request;
+    }
+
+    private AppointmentBookingRequest createRequest(LocalDateTime dateTime) {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(provider.getId());
+        request.setAppointmentType(AppointmentType.NEW);
+        request.setMode(AppointmentMode.VIDEO_CALL);
+        request.setDateTime(dateTime);
+        request.setReasonForVisit("Annual physical");
+        request.setEstimatedAmount(new BigDecimal("90.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+}
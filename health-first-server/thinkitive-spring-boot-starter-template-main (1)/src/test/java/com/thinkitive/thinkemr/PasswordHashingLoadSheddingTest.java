@@ -0,0 +1,169 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.exception.ServiceOverloadedException;
+import com.thinkitive.thinkemr.service.PasswordHashingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// One hashing thread and one queue slot, so two held hashes saturate the executor
+@SpringBootTest(properties = {
+        "thinkemr.password-hashing.threads=1",
+        "thinkemr.password-hashing.queue-capacity=1",
+        "thinkemr.password-hashing.max-wait=PT3S"
+})
+@AutoConfigureMockMvc
+public class PasswordHashingLoadSheddingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private GatedPasswordEncoder gatedEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void openGate() {
+        gatedEncoder.open();
+    }
+
+    @Test
+    void saturatedExecutor_RejectsRegistrationButServesCheapEndpoints() throws Exception {
+        gatedEncoder.close();
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("first"));
+        awaitGauge("password.hashing.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.encode("second"));
+        awaitGauge("password.hashing.queue.size", 1);
+        double rejectedBefore = rejected("queue-full");
+
+        long started = System.nanoTime();
+        mockMvc.perform(post("/api/v1/patient/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(registrationJson()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Too many sign-in requests, please retry shortly"));
+        // Turned away without waiting for the hashes ahead of it
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        assertThat(rejected("queue-full")).isEqualTo(rejectedBefore + 1);
+
+        mockMvc.perform(get("/api/v1/appointments/test"))
+                .andExpect(status().isOk());
+
+        gatedEncoder.open();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isNotBlank();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotBlank();
+    }
+
+    @Test
+    void slowHash_IsRejectedAfterMaxWait() throws Exception {
+        gatedEncoder.close();
+        double rejectedBefore = rejected("timeout");
+
+        assertThatThrownBy(() -> passwordHashingService.matches("secret", "$2a$04$unused"))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(rejected("timeout")).isEqualTo(rejectedBefore + 1);
+
+        gatedEncoder.open();
+        String hash = passwordHashingService.encode("secret");
+        assertThat(passwordHashingService.matches("secret", hash)).isTrue();
+        mockMvc.perform(get("/actuator/metrics/password.hashing.wait"))
+                .andExpect(status().isOk());
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("password.hashing.rejected").tag("reason", reason).counter().count();
+    }
+
+    private void awaitGauge(String name, double value) throws InterruptedException {
+        DoubleSupplier gauge = () -> meterRegistry.get(name).gauge().value();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge.getAsDouble() != value && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(gauge.getAsDouble()).isEqualTo(value);
+    }
+
+    private static String registrationJson() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        return "{\"firstName\":\"Busy\",\"lastName\":\"Patient\",\"email\":\"" + unique + "@patient.example.com\","
+                + "\"phoneNumber\":\"+18" + Math.abs(unique.hashCode()) + "\","
+                + "\"password\":\"SecurePassword123!\",\"confirmPassword\":\"SecurePassword123!\","
+                + "\"dateOfBirth\":\"1990-05-15\",\"gender\":\"FEMALE\","
+                + "\"address\":{\"street\":\"456 Test Street\",\"city\":\"Test City\",\"state\":\"TS\",\"zip\":\"12345\"}}";
+    }
+
+    @TestConfiguration
+    static class GatedEncoderConfig {
+        @Bean
+        @Primary
+        GatedPasswordEncoder gatedPasswordEncoder() {
+            return new GatedPasswordEncoder();
+        }
+    }
+
+    /**
+     * Cheap BCrypt that holds every hash while the gate is closed.
+     */
+    static class GatedPasswordEncoder implements PasswordEncoder {
+        private final PasswordEncoder delegate = new BCryptPasswordEncoder(4);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void close() {
+            gate = new CountDownLatch(1);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            pass();
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            pass();
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        private void pass() {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
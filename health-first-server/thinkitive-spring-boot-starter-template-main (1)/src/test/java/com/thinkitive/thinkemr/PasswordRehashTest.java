@@ -0,0 +1,140 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// A fixed, cheap strength instead of calibrating at startup
+@SpringBootTest(properties = "thinkemr.password-encoding.bcrypt.strength=5")
+@AutoConfigureMockMvc
+public class PasswordRehashTest {
+    private static final String PASSWORD = "SecurePassword123!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void encode_UsesConfiguredStrengthWithPrefix() {
+        String hash = passwordEncoder.encode(PASSWORD);
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void login_UpgradesLegacyWeakerHash() throws Exception {
+        Patient patient = patientRepository.save(TestFixtures.patient("Rehash", "Patient").passwordHash(new BCryptPasswordEncoder(4).encode(PASSWORD)).build());
+
+        login(patient.getEmail());
+
+        String rehashed = awaitRehash(patient);
+        assertThat(rehashed).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.matches(PASSWORD, rehashed)).isTrue();
+        login(patient.getEmail());
+    }
+
+    @Test
+    void login_UpgradesHashBelowFloorEvenWithinTolerance() throws Exception {
+        // The pinned strength 5 is below min-strength, so it is the floor
+        Patient patient = patientRepository.save(TestFixtures.patient("Rehash", "Patient").passwordHash("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD)).build());
+
+        login(patient.getEmail());
+
+        assertThat(awaitRehash(patient)).startsWith("{bcrypt}$2a$05$");
+    }
+
+    @Test
+    void login_DowngradesMuchStrongerHash() throws Exception {
+        Patient patient = patientRepository.save(TestFixtures.patient("Rehash", "Patient").passwordHash("{bcrypt}" + new BCryptPasswordEncoder(7).encode(PASSWORD)).build());
+
+        login(patient.getEmail());
+
+        assertThat(awaitRehash(patient)).startsWith("{bcrypt}$2a$05$");
+    }
+
+    @Test
+    void login_KeepsHashOneStepAway() throws Exception {
+        String neighbour = "{bcrypt}" + new BCryptPasswordEncoder(6).encode(PASSWORD);
+        Patient patient = patientRepository.save(TestFixtures.patient("Rehash", "Patient").passwordHash(neighbour).build());
+
+        login(patient.getEmail());
+
+        Thread.sleep(200);
+        assertThat(patientRepository.findById(patient.getId()).orElseThrow().getPasswordHash()).isEqualTo(neighbour);
+    }
+
+    @Test
+    void login_MigratesOtherEncodingToBCrypt() throws Exception {
+        String pbkdf2 = "{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode(PASSWORD);
+        Patient patient = patientRepository.save(TestFixtures.patient("Rehash", "Patient").passwordHash(pbkdf2).build());
+
+        login(patient.getEmail());
+
+        String rehashed = awaitRehash(patient);
+        assertThat(rehashed).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.matches(PASSWORD, rehashed)).isTrue();
+    }
+
+    @Test
+    void login_KeepsCurrentHash() throws Exception {
+        String current = passwordEncoder.encode(PASSWORD);
+        Patient patient = patientRepository.save(TestFixtures.patient("Rehash", "Patient").passwordHash(current).build());
+
+        login(patient.getEmail());
+
+        Thread.sleep(200);
+        assertThat(patientRepository.findById(patient.getId()).orElseThrow().getPasswordHash()).isEqualTo(current);
+    }
+
+    @Test
+    void updatePasswordHash_AppliesOnlyWhileHashUnchanged() {
+        Patient patient = patientRepository.save(TestFixtures.patient("Rehash", "Patient").passwordHash("{bcrypt}checked").build());
+        // Cached in the second-level cache
+        patientRepository.findById(patient.getId()).orElseThrow();
+
+        assertThat(patientRepository.updatePasswordHash(patient.getId(), "{bcrypt}changed-meanwhile", "{bcrypt}rehashed")).isFalse();
+        assertThat(patientRepository.findById(patient.getId()).orElseThrow().getPasswordHash()).isEqualTo("{bcrypt}checked");
+
+        assertThat(patientRepository.updatePasswordHash(patient.getId(), "{bcrypt}checked", "{bcrypt}rehashed")).isTrue();
+        assertThat(patientRepository.findById(patient.getId()).orElseThrow().getPasswordHash()).isEqualTo("{bcrypt}rehashed");
+    }
+
+    private void login(String email) throws Exception {
+        mockMvc.perform(post("/api/v1/patient/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
+    private String awaitRehash(Patient patient) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String hash = patient.getPasswordHash();
+        while (hash.equals(patient.getPasswordHash()) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            hash = patientRepository.findById(patient.getId()).orElseThrow().getPasswordHash();
+        }
+        assertThat(hash).isNotEqualTo(patient.getPasswordHash());
+        return hash;
+    }
+}
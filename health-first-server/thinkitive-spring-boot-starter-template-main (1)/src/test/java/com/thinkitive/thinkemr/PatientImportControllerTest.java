@@ -0,0 +1,194 @@
+package com.thinkitive.thinkemr;
+
+import com.jayway.jsonpath.JsonPath;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Batches of two, so duplicates are also caught across batches
+@SpringBootTest(properties = {
+        "thinkemr.patients.import.batch-size=2",
+        "thinkemr.patients.import.max-csv-record-length=1000"
+})
+@AutoConfigureMockMvc
+public class PatientImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void import_Ndjson_ReportsEveryRow() throws Exception {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        Patient existing = patientRepository.save(TestFixtures.patient("Existing", "Patient").email(unique + "-existing@patient.example.com").build());
+        String body = String.join("\n",
+                ndjsonRow(unique + "-a@patient.example.com", "+17" + Math.abs(unique.hashCode()) + "1", "1990-05-15"),
+                ndjsonRow(existing.getEmail(), "+17" + Math.abs(unique.hashCode()) + "2", "1990-05-15"),
+                "",
+                "{not json",
+                ndjsonRow(unique + "-b@patient.example.com", "+17" + Math.abs(unique.hashCode()) + "3", LocalDate.now().minusYears(10).toString()),
+                ndjsonRow(unique + "-a@patient.example.com", "+17" + Math.abs(unique.hashCode()) + "4", "1990-05-15"),
+                ndjsonRow(unique + "-c@patient.example.com", "+17" + Math.abs(unique.hashCode()) + "5", "1985-01-02"));
+
+        List<String> results = importPatients(body, "application/x-ndjson");
+
+        assertEquals(6, results.size());
+        assertImported(results.get(0), 1, unique + "-a@patient.example.com");
+        assertFailed(results.get(1), 2, "Email is already registered");
+        assertFailed(results.get(2), 3, "Malformed row: ");
+        assertFailed(results.get(3), 4, "Must be at least 13 years old");
+        assertFailed(results.get(4), 5, "Email is already registered");
+        assertImported(results.get(5), 6, unique + "-c@patient.example.com");
+
+        Patient imported = patientRepository.findByEmail(unique + "-c@patient.example.com").orElseThrow();
+        assertThat(passwordEncoder.matches("SecurePassword123!", imported.getPasswordHash())).isTrue();
+        assertThat(imported.isActive()).isTrue();
+        assertThat(imported.isEmailVerified()).isFalse();
+    }
+
+    @Test
+    void import_RejectedRowLeavesItsEmailAndPhoneForLaterRows() throws Exception {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        Patient existing = patientRepository.save(TestFixtures.patient("Existing", "Patient").email(unique + "-existing@patient.example.com").build());
+        String phone = "+17" + Math.abs(unique.hashCode()) + "8";
+        String body = String.join("\n",
+                ndjsonRow(unique + "-retry@patient.example.com", existing.getPhoneNumber(), "1990-05-15"),
+                ndjsonRow(unique + "-young@patient.example.com", phone, LocalDate.now().minusYears(10).toString()),
+                ndjsonRow(unique + "-retry@patient.example.com", phone, "1990-05-15"));
+
+        List<String> results = importPatients(body, "application/x-ndjson");
+
+        assertEquals(3, results.size());
+        assertFailed(results.get(0), 1, "Phone number is already registered");
+        assertFailed(results.get(1), 2, "Must be at least 13 years old");
+        assertImported(results.get(2), 3, unique + "-retry@patient.example.com");
+    }
+
+    @Test
+    void import_Ndjson_AppliesRegistrationValidation() throws Exception {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        String phone = "+17" + Math.abs(unique.hashCode());
+        String body = String.join("\n",
+                ndjsonRow("not-an-email", phone + "1", "1990-05-15"),
+                ndjsonRow("Import", unique + "-weak@patient.example.com", phone + "2", "a", "1990-05-15"),
+                ndjsonRow("N".repeat(51), unique + "-long@patient.example.com", phone + "3", "SecurePassword123!", "1990-05-15"),
+                ndjsonRow(unique + "-valid@patient.example.com", "not a phone", "1990-05-15"),
+                ndjsonRow(unique + "-valid@patient.example.com", phone + "5", "1990-05-15"));
+
+        List<String> results = importPatients(body, "application/x-ndjson");
+
+        assertEquals(5, results.size());
+        assertFailed(results.get(0), 1, "email: ");
+        assertFailed(results.get(1), 2, "password: ");
+        assertFailed(results.get(2), 3, "firstName: ");
+        assertFailed(results.get(3), 4, "phoneNumber: Invalid international phone number format");
+        // Rejected rows claim nothing, and a rejected row no longer sends its batch down the row-by-row retry
+        assertImported(results.get(4), 5, unique + "-valid@patient.example.com");
+        assertThat(patientRepository.findByEmail(unique + "-weak@patient.example.com")).isEmpty();
+    }
+
+    @Test
+    void import_Csv_MatchesColumnsByName() throws Exception {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        String body = "email,firstName,lastName,phoneNumber,password,dateOfBirth,gender,street,city,state,zip,medicalHistory\r\n"
+                + unique + "-csv@patient.example.com,Csv,Patient,+17" + Math.abs(unique.hashCode()) + "6,SecurePassword123!,1979-06-21,female,"
+                + "\"Unit 4, \"\"Harbour\"\" House\",Boston,MA,02101,Asthma|Hypertension\r\n"
+                + unique + "-bad@patient.example.com,Csv,Patient,+17" + Math.abs(unique.hashCode()) + "7,SecurePassword123!,21/06/1979,female,"
+                + "1 Main Street,Boston,MA,02101,\r\n";
+
+        List<String> results = importPatients(body, "text/csv");
+
+        assertEquals(2, results.size());
+        assertImported(results.get(0), 1, unique + "-csv@patient.example.com");
+        assertFailed(results.get(1), 2, "Malformed row: ");
+        Patient imported = patientRepository.findByEmail(unique + "-csv@patient.example.com").orElseThrow();
+        assertEquals("Unit 4, \"Harbour\" House", imported.getAddress().getStreet());
+        assertEquals(Gender.FEMALE, imported.getGender());
+        assertEquals(LocalDate.of(1979, 6, 21), imported.getDateOfBirth());
+    }
+
+    @Test
+    void import_Csv_ReportsOverlongAndUnterminatedRecordsAsFailedRows() throws Exception {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        String header = "email,firstName,lastName,phoneNumber,password,dateOfBirth,gender,street,city,state,zip\n";
+        String body = header
+                + "x".repeat(2000) + ",Csv,Patient\n"
+                + unique + "-after@patient.example.com,Csv,Patient,+17" + Math.abs(unique.hashCode()) + "9,SecurePassword123!,1979-06-21,female,"
+                + "1 Main Street,Boston,MA,02101\n"
+                + "\"never closed,Csv,Patient\n" + "y".repeat(2000) + "\n";
+
+        List<String> results = importPatients(body, "text/csv");
+
+        assertEquals(3, results.size());
+        assertFailed(results.get(0), 1, "Malformed row: CSV record is longer than 1000 characters");
+        assertImported(results.get(1), 2, unique + "-after@patient.example.com");
+        assertFailed(results.get(2), 3, "Malformed row: Unterminated quoted CSV field");
+    }
+
+    @Test
+    void import_Csv_RejectsMissingColumn() throws Exception {
+        mockMvc.perform(post("/api/v1/patient/import")
+                        .contentType("text/csv")
+                        .content("email,firstName\nsomeone@patient.example.com,Someone\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("CSV import is missing column: lastName"));
+    }
+
+    private List<String> importPatients(String body, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/v1/patient/import")
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        return List.of(response.split("\n"));
+    }
+
+    private static void assertImported(String result, int row, String email) {
+        assertEquals(row, (int) JsonPath.read(result, "$.row"));
+        assertEquals(true, JsonPath.read(result, "$.success"));
+        assertEquals(email, JsonPath.read(result, "$.email"));
+        assertThat((String) JsonPath.read(result, "$.patientId")).isNotBlank();
+    }
+
+    private static void assertFailed(String result, int row, String errorPrefix) {
+        assertEquals(row, (int) JsonPath.read(result, "$.row"));
+        assertEquals(false, JsonPath.read(result, "$.success"));
+        assertThat((String) JsonPath.read(result, "$.error")).startsWith(errorPrefix);
+    }
+
+    private static String ndjsonRow(String email, String phone, String dateOfBirth) {
+        return ndjsonRow("Import", email, phone, "SecurePassword123!", dateOfBirth);
+    }
+
+    private static String ndjsonRow(String firstName, String email, String phone, String password, String dateOfBirth) {
+        return "{\"firstName\":\"" + firstName + "\",\"lastName\":\"Patient\",\"email\":\"" + email + "\","
+                + "\"phoneNumber\":\"" + phone + "\",\"password\":\"" + password + "\","
+                + "\"dateOfBirth\":\"" + dateOfBirth + "\",\"gender\":\"FEMALE\","
+                + "\"address\":{\"street\":\"456 Test Street\",\"city\":\"Test City\",\"state\":\"TS\",\"zip\":\"12345\"}}";
+    }
+}
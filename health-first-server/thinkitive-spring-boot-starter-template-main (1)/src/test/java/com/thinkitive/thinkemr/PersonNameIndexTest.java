@@ -0,0 +1,68 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.cache.PersonNameIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PersonNameIndexTest {
+
+    @Test
+    void search_FallsBackToDatabaseUntilLoaded() {
+        PersonNameIndex index = new PersonNameIndex();
+        UUID id = UUID.randomUUID();
+        index.put(id, "Jane", "Smith");
+
+        assertThat(index.search("smi", 10)).isNull();
+
+        index.reload(() -> List.<Object[]>of(new Object[]{id, "Jane", "Smith"}));
+        assertThat(index.search("smi", 10)).containsExactly(id);
+    }
+
+    @Test
+    void reload_KeepsChangesMadeWhileReading() {
+        PersonNameIndex index = new PersonNameIndex();
+        UUID renamed = UUID.randomUUID();
+        UUID removed = UUID.randomUUID();
+        UUID registered = UUID.randomUUID();
+
+        index.reload(() -> {
+            List<Object[]> snapshot = new ArrayList<>();
+            snapshot.add(new Object[]{renamed, "Anna", "Old"});
+            snapshot.add(new Object[]{removed, "Omar", "Gone"});
+            // Committed after the snapshot was read
+            index.put(renamed, "Anna", "New");
+            index.remove(removed);
+            index.put(registered, "Rita", "Late");
+            return snapshot;
+        });
+
+        assertThat(index.search("anna new", 10)).containsExactly(renamed);
+        assertThat(index.search("anna old", 10)).isEmpty();
+        assertThat(index.search("gone", 10)).isEmpty();
+        assertThat(index.search("late", 10)).containsExactly(registered);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void reload_ReplacesContentsAndKeepsThemWhenLoadFails() {
+        PersonNameIndex index = new PersonNameIndex();
+        UUID kept = UUID.randomUUID();
+        index.reload(() -> List.<Object[]>of(new Object[]{kept, "Lena", "Stone"}));
+        UUID other = UUID.randomUUID();
+
+        assertThatThrownBy(() -> index.reload(() -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        index.put(other, "Mark", "Stone");
+
+        Set<UUID> matches = index.search("stone", 10);
+        assertThat(matches).containsExactlyInAnyOrder(kept, other);
+    }
+}
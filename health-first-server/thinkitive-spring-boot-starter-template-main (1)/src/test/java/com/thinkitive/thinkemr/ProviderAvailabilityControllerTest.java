@@ -0,0 +1,171 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProviderAvailabilityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private Patient patient;
+    private Provider provider;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Test", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Test", "Provider")
+                .specialization(Specialization.OPHTHALMOLOGY)
+                .build());
+        day = LocalDate.now().plusDays(3);
+    }
+
+    @Test
+    void providerAvailability_ExcludesSlotsNearExistingAppointments() throws Exception {
+        // 12:15 is within 30 minutes of the 12:00 and 12:30 slots
+        appointmentRepository.save(createAppointment(day.atTime(12, 15)));
+
+        mockMvc.perform(get("/api/v1/providers/" + provider.getId() + "/availability")
+                        .param("from", day.toString())
+                        .param("to", day.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.slotMinutes").value(30))
+                .andExpect(jsonPath("$.data.providers[0].providerName").value("Dr. Test Provider"))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", hasSize(14)))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots[0]").value(slot(9, 0)))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots[13]").value(slot(16, 30)))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", hasItem(slot(11, 30))))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", not(hasItem(slot(12, 0)))))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", not(hasItem(slot(12, 30)))));
+    }
+
+    @Test
+    void providerAvailability_BookingRemovesSlotsFromCachedResult() throws Exception {
+        mockMvc.perform(get("/api/v1/providers/" + provider.getId() + "/availability")
+                        .param("from", day.toString())
+                        .param("to", day.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", hasSize(32)));
+
+        appointmentService.bookAppointment(createRequest(day.atTime(10, 0)));
+
+        mockMvc.perform(get("/api/v1/providers/" + provider.getId() + "/availability")
+                        .param("from", day.toString())
+                        .param("to", day.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", hasSize(29)))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", not(hasItem(slot(9, 30)))))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", not(hasItem(slot(10, 0)))))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", not(hasItem(slot(10, 30)))))
+                .andExpect(jsonPath("$.data.providers[0].availableSlots", hasItem(slot(11, 0))));
+    }
+
+    @Test
+    void specializationAvailability_IncludesEveryActiveProvider() throws Exception {
+        appointmentService.bookAppointment(createRequest(day.atTime(9, 0)));
+        String path = "$.data.providers[?(@.providerId == '" + provider.getId() + "')]";
+
+        mockMvc.perform(get("/api/v1/providers/availability")
+                        .param("specialization", "OPHTHALMOLOGY")
+                        .param("from", day.toString())
+                        .param("to", day.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(path, hasSize(1)))
+                .andExpect(jsonPath(path + ".specialization").value("OPHTHALMOLOGY"))
+                .andExpect(jsonPath(path + ".availableSlots[0]").value(slot(10, 0)));
+    }
+
+    @Test
+    void providerAvailability_RejectsInvalidRange() throws Exception {
+        mockMvc.perform(get("/api/v1/providers/" + provider.getId() + "/availability")
+                        .param("from", day.toString())
+                        .param("to", day.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/providers/" + provider.getId() + "/availability")
+                        .param("from", day.toString())
+                        .param("to", day.plusDays(31).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Availability range cannot exceed 31 days"));
+    }
+
+    private String slot(int hour, int minute) {
+        return day.atTime(hour, minute) + ":00";
+    }
+
+    private AppointmentBookingRequest createRequest(LocalDateTime dateTime) {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(provider.getId());
+        request.setAppointmentType(AppointmentType.NEW);
+        request.setMode(AppointmentMode.IN_PERSON);
+        request.setDateTime(dateTime);
+        request.setReasonForVisit("Annual eye examination");
+        request.setEstimatedAmount(new BigDecimal("150.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+
+    private Appointment createAppointment(LocalDateTime dateTime) {
+        ClinicAddress clinicAddress = new ClinicAddress();
+        clinicAddress.setStreet("123 Main Street");
+        clinicAddress.setCity("Boston");
+        clinicAddress.setState("MA");
+        clinicAddress.setZip("02101");
+
+        return Appointment.builder()
+                .patient(patient)
+                .provider(provider)
+                .appointmentType(AppointmentType.FOLLOW_UP)
+                .mode(AppointmentMode.IN_PERSON)
+                .dateTime(dateTime)
+                .reasonForVisit("Follow-up examination")
+                .estimatedAmount(new BigDecimal("90.00"))
+                .clinicAddress(clinicAddress)
+                .status(AppointmentStatus.SCHEDULED)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.exception.ServiceOverloadedException;
+import com.thinkitive.thinkemr.util.ProviderBookingLocks;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProviderBookingLocksTest {
+
+    @Test
+    void withLock_TimesOutAsOverloadAndFreesTheProviderAfterwards() throws Exception {
+        ProviderBookingLocks locks = new ProviderBookingLocks(Duration.ofMillis(50));
+        UUID providerId = UUID.randomUUID();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> locks.withLock(providerId, () -> {
+            held.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> locks.withLock(providerId, () -> "booked"))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(locks.withLock(UUID.randomUUID(), () -> "other provider")).isEqualTo("other provider");
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(locks.withLock(providerId, () -> "booked")).isEqualTo("booked");
+    }
+}
@@ -0,0 +1,122 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProviderScheduleStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    private Patient patient;
+    private Provider provider;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Stream", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Stream", "Provider").build());
+        day = LocalDate.now().plusDays(4);
+    }
+
+    @Test
+    void stream_SendsAgendaThenDeltas() throws Exception {
+        UUID existing = appointmentService.bookAppointment(createRequest(day.atTime(9, 0)))
+                .getData().getAppointmentId();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/providers/" + provider.getId() + "/schedule/stream")
+                        .param("date", day.toString())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        String agenda = awaitContent(response, "event:agenda");
+        assertTrue(agenda.contains(existing.toString()));
+
+        UUID booked = appointmentService.bookAppointment(createRequest(day.atTime(11, 0)))
+                .getData().getAppointmentId();
+        assertTrue(awaitContent(response, "event:booked").contains(booked.toString()));
+
+        appointmentService.updateAppointmentStatus(booked, AppointmentStatus.CANCELLED);
+        awaitContent(response, "event:cancelled");
+
+        // Other days of the same provider are not part of this stream
+        UUID otherDay = appointmentService.bookAppointment(createRequest(day.plusDays(1).atTime(9, 0)))
+                .getData().getAppointmentId();
+        appointmentService.updateAppointmentStatus(existing, AppointmentStatus.CHECKED_IN);
+        assertFalse(awaitContent(response, "event:status_changed").contains(otherDay.toString()));
+    }
+
+    @Test
+    void stream_RejectsUnknownProvider() throws Exception {
+        mockMvc.perform(get("/api/v1/providers/" + UUID.randomUUID() + "/schedule/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Deltas are written on a writer thread, so wait for them to show up in the body.
+     */
+    private String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        assertTrue(content.contains(expected), "Expected " + expected + " in stream:\n" + content);
+        return content;
+    }
+
+    private AppointmentBookingRequest createRequest(LocalDateTime dateTime) {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(provider.getId());
+        request.setAppointmentType(AppointmentType.NEW);
+        request.setMode(AppointmentMode.IN_PERSON);
+        request.setDateTime(dateTime);
+        request.setReasonForVisit("Follow-up on lab results");
+        request.setEstimatedAmount(new BigDecimal("90.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+}
@@ -0,0 +1,160 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.dto.AppointmentBookingResponse;
+import com.thinkitive.thinkemr.dto.AppointmentListResponse;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.AppointmentListEntryRepository;
+import com.thinkitive.thinkemr.repository.AppointmentRepository;
+import com.thinkitive.thinkemr.repository.OutboxMessageRepository;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+public class ReactiveAppointmentControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentListEntryRepository listEntryRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    private Patient patient;
+    private Provider provider;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Reactive", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Reactive", "Provider").build());
+        day = LocalDate.now().plusDays(4);
+    }
+
+    @Test
+    void book_WritesAppointmentEntryAndConfirmation() {
+        AppointmentBookingResponse response = book(day.atTime(10, 0))
+                .expectStatus().isCreated()
+                .expectBody(AppointmentBookingResponse.class)
+                .returnResult().getResponseBody();
+
+        UUID appointmentId = response.getData().getAppointmentId();
+        assertThat(response.getData().getStatus()).isEqualTo("scheduled");
+        assertThat(appointmentRepository.findById(appointmentId)).isPresent();
+        AppointmentListEntry entry = listEntryRepository.findById(appointmentId).orElseThrow();
+        assertThat(entry.getPatient().getName()).isEqualTo("Reactive Patient");
+        assertThat(entry.getProvider().getName()).isEqualTo("Dr. Reactive Provider");
+        assertThat(outboxRepository.findAll())
+                .anySatisfy(message -> {
+                    assertThat(message.getAggregateId()).isEqualTo(appointmentId);
+                    assertThat(message.getType()).isEqualTo(OutboxMessageType.APPOINTMENT_CONFIRMATION);
+                    assertThat(message.getRecipient()).isEqualTo(patient.getEmail());
+                });
+    }
+
+    @Test
+    void book_RejectsConflictsAndUnknownPatients() {
+        book(day.atTime(9, 0)).expectStatus().isCreated();
+
+        book(day.atTime(9, 20))
+                .expectStatus().isEqualTo(409)
+                .expectBody().jsonPath("$.error").isEqualTo("Appointment time conflicts with existing appointment for this provider");
+
+        AppointmentBookingRequest unknownPatient = createRequest(day.atTime(15, 0));
+        unknownPatient.setPatientId(UUID.randomUUID());
+        webTestClient.post().uri("/api/v1/appointments/book")
+                .bodyValue(unknownPatient)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void list_StreamsMatchingAppointmentsAsNdjson() {
+        book(day.atTime(14, 0)).expectStatus().isCreated();
+        book(day.atTime(8, 0)).expectStatus().isCreated();
+        book(day.plusDays(1).atTime(8, 0)).expectStatus().isCreated();
+
+        List<AppointmentListResponse.AppointmentItem> items = webTestClient.get()
+                .uri(uri -> uri.path("/api/v1/appointments/list")
+                        .queryParam("providerId", provider.getId())
+                        .queryParam("startDate", day)
+                        .queryParam("endDate", day)
+                        .queryParam("sortDirection", "asc")
+                        .build())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(AppointmentListResponse.AppointmentItem.class)
+                .returnResult().getResponseBody();
+
+        assertThat(items).extracting(AppointmentListResponse.AppointmentItem::getDateTime)
+                .containsExactly(day.atTime(8, 0), day.atTime(14, 0));
+        assertThat(items).allSatisfy(item -> {
+            assertThat(item.getPatientName()).isEqualTo("Reactive Patient");
+            assertThat(item.getPatientAge()).isNotNull();
+            assertThat(item.isCanStart()).isTrue();
+        });
+    }
+
+    @Test
+    void servletEndpoints_AreNotServed() {
+        webTestClient.get().uri("/api/v1/appointments/simple-list")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private WebTestClient.ResponseSpec book(LocalDateTime dateTime) {
+        return webTestClient.post().uri("/api/v1/appointments/book")
+                .bodyValue(createRequest(dateTime))
+                .exchange();
+    }
+
+    private AppointmentBookingRequest createRequest(LocalDateTime dateTime) {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(provider.getId());
+        request.setAppointmentType(AppointmentType.FOLLOW_UP);
+        request.setMode(AppointmentMode.IN_PERSON);
+        request.setDateTime(dateTime);
+        request.setReasonForVisit("Medication review");
+        request.setEstimatedAmount(new BigDecimal("75.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+}
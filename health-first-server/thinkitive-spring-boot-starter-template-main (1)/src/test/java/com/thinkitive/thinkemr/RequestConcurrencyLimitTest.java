@@ -0,0 +1,79 @@
+package com.thinkitive.thinkemr;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// A small pool (Flyway needs two connections at startup) and room for one request
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=500",
+        "thinkemr.virtual-threads.max-concurrent-requests=1",
+        "thinkemr.virtual-threads.max-queue-wait=PT0.2S"
+})
+@ActiveProfiles("virtual-threads")
+@AutoConfigureMockMvc
+public class RequestConcurrencyLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void exhaustedPool_IsAnswered503() throws Exception {
+        try (Connection held = dataSource.getConnection(); Connection alsoHeld = dataSource.getConnection()) {
+            mockMvc.perform(get("/api/users/1"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.error").value("Too many requests, please retry shortly"));
+        }
+    }
+
+    @Test
+    void requestBeyondLimit_IsTurnedAwayWithoutReachingThePool() throws Exception {
+        double rejectedBefore = meterRegistry.get("http.server.requests.rejected").counter().count();
+        CompletableFuture<Integer> inFlight;
+        try (Connection held = dataSource.getConnection(); Connection alsoHeld = dataSource.getConnection()) {
+            // Admitted, then waits for a held connection
+            inFlight = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return mockMvc.perform(get("/api/users/1")).andReturn().getResponse().getStatus();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(100);
+
+            mockMvc.perform(get("/api/v1/appointments/test"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.error").value("Too many requests, please retry shortly"));
+            // Admitted regardless; it reports the database down itself
+            mockMvc.perform(get("/actuator/health"))
+                    .andExpect(jsonPath("$.status").exists());
+        }
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).isIn(200, 404, 400, 503);
+        assertThat(meterRegistry.get("http.server.requests.rejected").counter().count()).isEqualTo(rejectedBefore + 1);
+
+        mockMvc.perform(get("/api/v1/appointments/test"))
+                .andExpect(status().isOk());
+    }
+}
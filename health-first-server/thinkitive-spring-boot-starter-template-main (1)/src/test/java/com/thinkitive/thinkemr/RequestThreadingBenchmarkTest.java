@@ -0,0 +1,128 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.entity.User;
+import com.thinkitive.thinkemr.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput and tail latency of a JDBC-backed read ({@code GET /api/users/{id}}) under
+ * 5,000 concurrent clients, with requests on Tomcat's platform thread pool and then on
+ * virtual threads. Each client sends its requests one after another. The virtual-thread run
+ * needs Java 21 and is skipped before that; it also admits only as many requests at a time
+ * as the connection pool holds, so requests turned away with a 503 are counted, not failed.
+ * H2 in memory never blocks, so point {@code DB_URL} at PostgreSQL for numbers that reflect
+ * real connection waits.
+ * Opt-in: {@code mvn test -Dtest=RequestThreadingBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class RequestThreadingBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(RequestThreadingBenchmarkTest.class);
+    private static final int CLIENTS = 5000;
+    private static final int WARMUP_REQUESTS_PER_CLIENT = 1;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    @Test
+    void userLookup_PlatformVersusVirtualThreads() {
+        Result platform = run("platform threads");
+        if (Runtime.version().feature() < 21) {
+            logger.info("Java {}: skipping the virtual-thread run", Runtime.version().feature());
+            return;
+        }
+        Result virtual = run("virtual threads", "virtual-threads");
+        logger.info("{} clients: platform {} req/s, p99 {} ms; virtual {} req/s, p99 {} ms, {} rejected",
+                CLIENTS, platform.requestsPerSecond(), platform.p99Millis(),
+                virtual.requestsPerSecond(), virtual.p99Millis(), virtual.rejected());
+    }
+
+    private Result run(String mode, String... profiles) {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(ThinkEMRApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0", "spring.jpa.show-sql=false")
+                .run()) {
+            User user = app.getBean(UserRepository.class).save(User.builder()
+                    .email(UUID.randomUUID() + "@benchmark.example.com")
+                    .firstName("Bench")
+                    .lastName("Mark")
+                    .password("hashedPassword")
+                    .createdAt(Instant.now())
+                    .build());
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/" + user.getId()))
+                    .GET()
+                    .build();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            load(client, request, WARMUP_REQUESTS_PER_CLIENT);
+            Result result = load(client, request, REQUESTS_PER_CLIENT);
+            logger.info("{}: {} requests at {} req/s, p50 {} ms, p99 {} ms, max {} ms, {} rejected", mode,
+                    CLIENTS * REQUESTS_PER_CLIENT, result.requestsPerSecond(), result.p50Millis(),
+                    result.p99Millis(), result.maxMillis(), result.rejected());
+            return result;
+        }
+    }
+
+    private Result load(HttpClient client, HttpRequest request, int requestsPerClient) {
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long started = System.nanoTime();
+        CompletableFuture<?>[] clients = new CompletableFuture<?>[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = sendSequentially(client, request, requestsPerClient, latencies, recorded, rejected, failures);
+        }
+        CompletableFuture.allOf(clients).join();
+        long elapsed = System.nanoTime() - started;
+        assertEquals(0, failures.get(), "failed requests");
+
+        Arrays.sort(latencies);
+        return new Result(
+                latencies.length * 1_000_000_000L / elapsed,
+                latencies[latencies.length / 2] / 1_000_000,
+                latencies[(int) Math.ceil(latencies.length * 0.99) - 1] / 1_000_000,
+                latencies[latencies.length - 1] / 1_000_000,
+                rejected.get()
+        );
+    }
+
+    private CompletableFuture<Void> sendSequentially(HttpClient client, HttpRequest request, int remaining,
+                                                     long[] latencies, AtomicInteger recorded,
+                                                     AtomicInteger rejected, AtomicInteger failures) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    latencies[recorded.getAndIncrement()] = System.nanoTime() - sent;
+                    if (error == null && response.statusCode() == 503) {
+                        rejected.incrementAndGet();
+                    } else if (error != null || response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> sendSequentially(client, request, remaining - 1, latencies, recorded, rejected, failures));
+    }
+
+    private record Result(long requestsPerSecond, long p50Millis, long p99Millis, long maxMillis, int rejected) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.dto.AppointmentBookingRequest;
+import com.thinkitive.thinkemr.entity.*;
+import com.thinkitive.thinkemr.repository.PatientRepository;
+import com.thinkitive.thinkemr.repository.ProviderRepository;
+import com.thinkitive.thinkemr.service.AppointmentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Patient patient;
+    private Provider provider;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(TestFixtures.patient("Cached", "Patient").build());
+        provider = providerRepository.save(TestFixtures.provider("Cached", "Provider").build());
+    }
+
+    @Test
+    void findById_IsServedFromCacheAndFollowsUpdates() {
+        long hits = region("patients").getHitCount();
+        long misses = region("patients").getMissCount();
+
+        assertThat(patientRepository.findById(patient.getId())).isPresent();
+        assertThat(patientRepository.findById(patient.getId())).isPresent();
+        assertThat(region("patients").getHitCount()).isEqualTo(hits + 2);
+        assertThat(region("patients").getMissCount()).isEqualTo(misses);
+
+        patient.setActive(false);
+        patientRepository.save(patient);
+
+        assertThat(patientRepository.findById(patient.getId()).orElseThrow().isActive()).isFalse();
+        assertThatThrownBy(() -> appointmentService.bookAppointment(createRequest()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Patient is not active");
+        assertThat(region("patients").getMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    void findByEmail_ResolvesThroughNaturalIdCacheAndFollowsEmailChanges() {
+        String email = provider.getEmail();
+        assertThat(providerRepository.findByEmail(email)).map(Provider::getId).contains(provider.getId());
+        long hits = region("provider-emails").getHitCount();
+
+        assertThat(providerRepository.findByEmail(email)).map(Provider::getId).contains(provider.getId());
+        assertThat(region("provider-emails").getHitCount()).isGreaterThan(hits);
+
+        provider.setEmail("moved." + email);
+        providerRepository.save(provider);
+
+        assertThat(providerRepository.findByEmail(email)).isEmpty();
+        assertThat(providerRepository.findByEmail("moved." + email)).map(Provider::getId).contains(provider.getId());
+        assertThat(providerRepository.findByEmail("unknown." + email)).isEmpty();
+    }
+
+    @Test
+    void regionStatistics_AreExposedAsMetrics() throws Exception {
+        patientRepository.findById(patient.getId());
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                        .param("tag", "cache:patients")
+                        .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").isNumber());
+        mockMvc.perform(get("/actuator/metrics/cache.hit.ratio")
+                        .param("tag", "cache:patients"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").isNumber());
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getDomainDataRegionStatistics(name);
+    }
+
+    private AppointmentBookingRequest createRequest() {
+        AppointmentBookingRequest request = new AppointmentBookingRequest();
+        request.setPatientId(patient.getId());
+        request.setProviderId(provider.getId());
+        request.setAppointmentType(AppointmentType.NEW);
+        request.setMode(AppointmentMode.VIDEO_CALL);
+        request.setDateTime(LocalDate.now().plusDays(2).atTime(11, 0));
+        request.setReasonForVisit("Sleep consultation");
+        request.setEstimatedAmount(new BigDecimal("90.00"));
+
+        AppointmentBookingRequest.ClinicAddressDto address = new AppointmentBookingRequest.ClinicAddressDto();
+        address.setStreet("123 Main Street");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        request.setClinicAddress(address);
+        return request;
+    }
+}
@@ -0,0 +1,64 @@
+package com.thinkitive.thinkemr;
+
+import com.thinkitive.thinkemr.entity.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Patients and providers ready to save, with unique email, phone and license numbers so
+ * test classes sharing a context never collide. Tests set whatever they assert on through
+ * the returned builder.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static Patient.PatientBuilder patient(String firstName, String lastName) {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        Address address = new Address();
+        address.setStreet("456 Test Street");
+        address.setCity("Test City");
+        address.setState("TS");
+        address.setZip("12345");
+
+        return Patient.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(unique + "@patient.example.com")
+                .phoneNumber(phoneNumber())
+                .passwordHash("hashedPassword")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .gender(Gender.FEMALE)
+                .address(address)
+                .isActive(true);
+    }
+
+    public static Provider.ProviderBuilder provider(String firstName, String lastName) {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        ClinicAddress clinicAddress = new ClinicAddress();
+        clinicAddress.setStreet("789 Provider Street");
+        clinicAddress.setCity("Provider City");
+        clinicAddress.setState("PC");
+        clinicAddress.setZip("54321");
+
+        return Provider.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(unique + "@provider.example.com")
+                .phoneNumber(phoneNumber())
+                .passwordHash("hashedPassword")
+                .specialization(Specialization.CARDIOLOGY)
+                .licenseNumber("LIC" + unique)
+                .yearsOfExperience(10)
+                .clinicAddress(clinicAddress)
+                .verificationStatus(VerificationStatus.VERIFIED)
+                .isActive(true);
+    }
+
+    private static String phoneNumber() {
+        return "+1" + ThreadLocalRandom.current().nextLong(1_000_000_000L, 10_000_000_000L);
+    }
+}